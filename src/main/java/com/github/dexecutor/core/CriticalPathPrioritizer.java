@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+import com.github.dexecutor.core.graph.Node;
+
+/**
+ * Prioritizes nodes by their bottom level, the costliest path from the node to any leaf node including the node itself.
+ * Running the nodes with highest bottom level first keeps the critical path moving, which shortens the makespan when
+ * there are more ready nodes than workers.
+ * <p>
+ * Bottom levels are computed lazily and memoized by the dense node index, hence the graph should not change after the
+ * execution has started. Nodes added while running, are prioritized by their own cost only.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class CriticalPathPrioritizer<T, R> implements ToLongFunction<T> {
+
+	private static final long UNKNOWN = -1;
+
+	private final DexecutorState<T, R> state;
+	private final CostModel<T> costModel;
+	private volatile AtomicLongArray bottomLevels;
+
+	public CriticalPathPrioritizer(final DexecutorState<T, R> state, final CostModel<T> costModel) {
+		checkNotNull(state, "State should not be null");
+		checkNotNull(costModel, "Cost Model should not be null");
+		this.state = state;
+		this.costModel = costModel;
+	}
+
+	@Override
+	public long applyAsLong(final T id) {
+		return bottomLevel(id);
+	}
+	/**
+	 * 
+	 * @param id of the node
+	 * @return cost of the costliest path from the node to a leaf node
+	 */
+	public long bottomLevel(final T id) {
+		Node<T, R> node = this.state.getGraphNode(id);
+		if (node == null) {
+			return 0;
+		}
+		AtomicLongArray levels = levels();
+		if (node.getIndex() >= levels.length()) {
+			return cost(node);
+		}
+		long level = levels.get(node.getIndex());
+		if (level == UNKNOWN) {
+			level = compute(node, levels);
+		}
+		return level;
+	}
+
+	private AtomicLongArray levels() {
+		AtomicLongArray levels = this.bottomLevels;
+		if (levels == null) {
+			synchronized (this) {
+				levels = this.bottomLevels;
+				if (levels == null) {
+					levels = new AtomicLongArray(this.state.graphSize());
+					for (int i = 0; i < levels.length(); i++) {
+						levels.set(i, UNKNOWN);
+					}
+					this.bottomLevels = levels;
+				}
+			}
+		}
+		return levels;
+	}
+
+	// iterative post order traversal, deep chains must not overflow the stack
+	private long compute(final Node<T, R> root, final AtomicLongArray levels) {
+		Deque<Node<T, R>> stack = new ArrayDeque<>();
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			Node<T, R> node = stack.peek();
+			if (levels.get(node.getIndex()) != UNKNOWN) {
+				stack.pop();
+				continue;
+			}
+			boolean childrenKnown = true;
+			long max = 0;
+			for (Node<T, R> child : node.getOutGoingNodes()) {
+				if (child.getIndex() >= levels.length()) {
+					max = Math.max(max, cost(child));
+					continue;
+				}
+				long childLevel = levels.get(child.getIndex());
+				if (childLevel == UNKNOWN) {
+					childrenKnown = false;
+					stack.push(child);
+				} else {
+					max = Math.max(max, childLevel);
+				}
+			}
+			if (childrenKnown) {
+				levels.set(node.getIndex(), cost(node) + max);
+				stack.pop();
+			}
+		}
+		return levels.get(root.getIndex());
+	}
+
+	private long cost(final Node<T, R> node) {
+		return Math.max(0, this.costModel.estimateCost(node.getValue()));
+	}
+}
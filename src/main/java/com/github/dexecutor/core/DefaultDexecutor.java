@@ -17,25 +17,46 @@
 
 package com.github.dexecutor.core;
 
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.dexecutor.core.graph.LinearChainDetector;
 import com.github.dexecutor.core.graph.Node;
 import com.github.dexecutor.core.graph.Traversar;
 import com.github.dexecutor.core.graph.TraversarAction;
 import com.github.dexecutor.core.graph.Validator;
+import com.github.dexecutor.core.support.VirtualThreads;
 import com.github.dexecutor.core.task.ExecutionResult;
 import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.RetryPolicy;
+import com.github.dexecutor.core.task.SubGraph;
 import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskExecutionException;
 import com.github.dexecutor.core.task.TaskFactory;
 import com.github.dexecutor.core.task.TaskProvider;
 
@@ -56,12 +77,69 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 	private final Validator<T, R> validator;
 	private final TaskProvider<T, R> taskProvider;
 	private final ExecutionEngine<T, R> executionEngine;
-	private final ExecutorService immediatelyRetryExecutor;
-	private final ScheduledExecutorService scheduledRetryExecutor;
-	private final ScheduledExecutorService timeoutExecutor;
+	private final SchedulingContext schedulingContext;
+	private final boolean sharedSchedulingContext;
 
 	private final DexecutorState<T, R> state;
 
+	private final boolean chainFusion;
+	private final ExecutionListener<T, R> executionListener;
+	private volatile Map<T, List<Node<T, R>>> chains = Collections.emptyMap();
+	private final Map<T, FusedChainTask> fusedChainsInFlight = new ConcurrentHashMap<>();
+
+	private final int maxInFlight;
+	private final AtomicInteger inFlight = new AtomicInteger(0);
+	private final Queue<Node<T, R>> readyNodes = new ConcurrentLinkedQueue<>();
+	// tasks which got their resources back, while waiting for a slot
+	private final Queue<Task<T, R>> admittedTasks = new ConcurrentLinkedQueue<>();
+	private final ResourceLimiter<T, R> resourceLimiter;
+	private final Map<T, RetryState> retryStates = new ConcurrentHashMap<>();
+	// policies of the tasks in flight, which have their own, till their results are processed
+	private final Map<T, RetryPolicy> taskRetryPolicies = new ConcurrentHashMap<>();
+	private final ResultCache<T, R> resultCache;
+	private final ResultHasher<R> resultHasher;
+	private final Map<T, String> fingerprintsInFlight = new ConcurrentHashMap<>();
+	private final boolean releaseConsumedResults;
+
+	// duplicate attempts take a slot and the permits of their resources, like any other task
+	private final SpeculationGuard<T, R> speculationGuard = new SpeculationGuard<T, R>() {
+
+		@Override
+		public boolean tryAcquire(final Task<T, R> task) {
+			if (!tryAcquireSlot()) {
+				return false;
+			}
+			if (!resourceLimiter.tryAcquireDuplicate(task)) {
+				releaseSlot();
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public void release(final Task<T, R> task) {
+			admittedTasks.addAll(resourceLimiter.releaseDuplicate(task));
+			releaseSlot();
+		}
+	};
+
+	private final ExecutionResultHandler<T, R> workerResultHandler = new ExecutionResultHandler<T, R>() {
+		@Override
+		public void onResult(final ExecutionResult<T, R> executionResult) {
+			doAfterExecutionDoneByWorker(executionResult);
+		}
+	};
+	private volatile boolean decentralizedScheduling;
+	private final Object completionMonitor = new Object();
+	private final AtomicReference<RuntimeException> schedulingFailure = new AtomicReference<>();
+	private final AtomicReference<CompletableFuture<ExecutionResults<T, R>>> asyncCompletion = new AtomicReference<>();
+	private volatile ExecutionConfig executionConfig;
+	private volatile long asyncStartTime;
+	private volatile ExecutionResultStream<T, R> resultStream;
+	private final Object graphLock = new Object();
+	private volatile boolean dynamicGraph;
+	private volatile boolean sealed;
+
 	/**
 	 * Creates the Executor with Config
 	 * @param config based on which dexecutor would  be constructed
@@ -69,15 +147,40 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 	public DefaultDexecutor(final DexecutorConfig<T, R> config) {
 		config.validate();
 
-		this.immediatelyRetryExecutor = Executors.newFixedThreadPool(config.getImmediateRetryPoolThreadsCount());
-		this.scheduledRetryExecutor = Executors.newScheduledThreadPool(config.getScheduledRetryPoolThreadsCount());
-		this.timeoutExecutor = Executors.newScheduledThreadPool(config.getTimeoutSchedulerPoolThreadsCount());
+		this.sharedSchedulingContext = config.getSchedulingContext() != null;
+		if (this.sharedSchedulingContext) {
+			this.schedulingContext = config.getSchedulingContext();
+		} else {
+			this.schedulingContext = new SchedulingContext(config.getSchedulerThreadFactory(), config.getImmediateRetryPoolThreadsCount());
+		}
 
 		this.executionEngine = config.getExecutorEngine();
 		this.validator = config.getValidator();
 		this.taskProvider = config.getTaskProvider();
 		this.state = config.getDexecutorState();
-		this.executionEngine.setTimeoutScheduler(timeoutExecutor);
+		this.executionEngine.setTimeoutTimer(this.schedulingContext.getTimeoutTimer());
+		this.chainFusion = config.isChainFusion() && !this.executionEngine.isDistributed();
+		this.executionListener = config.getExecutionListener();
+		this.maxInFlight = config.getMaxInFlight();
+		this.resourceLimiter = new ResourceLimiter<>(config.getResourcePermits());
+		this.resultCache = config.getResultCache();
+		this.resultHasher = config.getResultHasher();
+		this.releaseConsumedResults = config.isReleaseConsumedResults();
+		if (config.getSpeculationPolicy() != null) {
+			this.executionEngine.setSpeculationPolicy(config.getSpeculationPolicy());
+			this.executionEngine.setSpeculationGuard(this.speculationGuard);
+		}
+
+		if (config.isDecentralizedScheduling()) {
+			enableDecentralizedScheduling();
+		}
+	}
+
+	private void enableDecentralizedScheduling() {
+		if (!this.decentralizedScheduling) {
+			this.executionEngine.setResultHandler(this.workerResultHandler);
+			this.decentralizedScheduling = true;
+		}
 	}
 
 	public void print(final Traversar<T, R> traversar, final TraversarAction<T, R> action) {
@@ -85,33 +188,211 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 	}
 
 	public void addIndependent(final T nodeValue) {
+		if (this.dynamicGraph) {
+			addDependenciesWhileRunning(Collections.<T>emptyList(), nodeValue);
+			return;
+		}
 		checkValidPhase();
 		this.state.addIndependent(nodeValue);
 	}
 
 	public void addDependency(final T evalFirstNode, final T evalLaterNode) {
+		if (this.dynamicGraph) {
+			addDependenciesWhileRunning(Collections.singletonList(evalFirstNode), evalLaterNode);
+			return;
+		}
 		checkValidPhase();
 		this.state.addDependency(evalFirstNode, evalLaterNode);
 	}
 
+	@Override
+	public void addDependencies(final Collection<T> evalFirstValues, final T evalAfterValue) {
+		checkNotNull(evalFirstValues, "First values should not be null");
+		if (this.dynamicGraph) {
+			addDependenciesWhileRunning(evalFirstValues, evalAfterValue);
+			return;
+		}
+		if (evalFirstValues.isEmpty()) {
+			addIndependent(evalAfterValue);
+		}
+		for (T evalFirstValue : evalFirstValues) {
+			addDependency(evalFirstValue, evalAfterValue);
+		}
+	}
+
 	public void addAsDependentOnAllLeafNodes(final T nodeValue) {
+		if (this.dynamicGraph) {
+			addDependenciesWhileRunning(null, nodeValue);
+			return;
+		}
 		checkValidPhase();
 		this.state.addAsDependentOnAllLeafNodes(nodeValue);		
 	}
 
 	@Override
 	public void addAsDependencyToAllInitialNodes(final T nodeValue) {
+		if (this.dynamicGraph) {
+			// initial nodes are already scheduled
+			throw new IllegalStateException("Dependencies can't be added to the initial nodes, while running");
+		}
 		checkValidPhase();
 		this.state.addAsDependencyToAllInitialNodes(nodeValue);				
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>Results are processed and ready nodes are submitted by the threads which finish the tasks, as in
+	 * {@link #executeAsync(ExecutionConfig)}. Nodes and dependencies may be added from any thread till sealed, linear
+	 * chains are not fused.</p>
+	 */
+	@Override
+	public CompletionStage<ExecutionResults<T, R>> executeDynamically(final ExecutionConfig config) {
+		validate(config);
+		enableDecentralizedScheduling();
+		this.chains = Collections.emptyMap();
+		// nodes added from now on are scheduled with this config
+		beforeExecution(config);
+		// holds the run open, until sealed
+		this.state.incrementUnProcessedNodesCount();
+		this.state.enableConcurrentReads();
+		this.dynamicGraph = true;
+		return doExecuteAsync(config);
+	}
+
+	@Override
+	public void seal() {
+		if (!this.dynamicGraph) {
+			throw new IllegalStateException("Dexecutor is not executing dynamically");
+		}
+		synchronized (this.graphLock) {
+			checkNotSealed();
+			this.sealed = true;
+		}
+		logger.debug("Graph sealed with {} nodes", this.state.graphSize());
+		this.state.decrementUnProcessedNodesCount();
+		onExecutionProgress();
+	}
+
+	/**
+	 * Edges from all the first nodes (or from all the leaf nodes if {@code null}) are added at once, so that the later
+	 * node is not scheduled in between
+	 */
+	private void addDependenciesWhileRunning(final Collection<T> evalFirstNodes, final T evalLaterNode) {
+		List<Node<T, R>> firstNodes = new ArrayList<>();
+		Node<T, R> afterNode;
+		synchronized (this.graphLock) {
+			checkNotSealed();
+			List<T> firstValues = new ArrayList<>();
+			if (evalFirstNodes != null) {
+				firstValues.addAll(evalFirstNodes);
+			} else {
+				for (Node<T, R> leafNode : this.state.getLeafNodes()) {
+					firstValues.add(leafNode.getValue());
+				}
+			}
+			// self dependencies are ignored by the graph
+			firstValues.remove(evalLaterNode);
+			afterNode = this.state.getGraphNode(evalLaterNode);
+			for (T evalFirstNode : firstValues) {
+				Node<T, R> firstNode = this.state.getGraphNode(evalFirstNode);
+				if (afterNode == null || (firstNode != null && afterNode.getInComingNodes().contains(firstNode))) {
+					continue;
+				}
+				if (afterNode.isClaimed()) {
+					throw new IllegalStateException("Node " + evalLaterNode + " is already scheduled, it can't depend on " + evalFirstNode);
+				}
+				if (firstNode != null) {
+					checkNoCycle(firstNode, afterNode);
+				}
+			}
+			if (firstValues.isEmpty()) {
+				this.state.addIndependent(evalLaterNode);
+			}
+			for (T evalFirstNode : firstValues) {
+				Node<T, R> firstNode = this.state.getGraphNode(evalFirstNode);
+				boolean added = afterNode == null || firstNode == null || !afterNode.getInComingNodes().contains(firstNode);
+				this.state.addDependency(evalFirstNode, evalLaterNode);
+				firstNode = this.state.getGraphNode(evalFirstNode);
+				afterNode = this.state.getGraphNode(evalLaterNode);
+				if (added && this.state.isProcessed(firstNode)) {
+					// the first node would not notify the later one
+					afterNode.onParentProcessed();
+				}
+				firstNodes.add(firstNode);
+			}
+			afterNode = this.state.getGraphNode(evalLaterNode);
+		}
+		for (Node<T, R> firstNode : firstNodes) {
+			scheduleWhileRunning(firstNode);
+		}
+		scheduleWhileRunning(afterNode);
+	}
+
+	/**
+	 * Adding an edge closes a cycle, if the first node is reachable from the later one
+	 */
+	private void checkNoCycle(final Node<T, R> firstNode, final Node<T, R> afterNode) {
+		Set<Node<T, R>> visited = new HashSet<>();
+		Deque<Node<T, R>> walk = new ArrayDeque<>();
+		walk.add(afterNode);
+		while (!walk.isEmpty()) {
+			Node<T, R> node = walk.poll();
+			if (node.equals(firstNode)) {
+				throw new IllegalArgumentException("Cycle Detected " + firstNode + " With " + afterNode);
+			}
+			if (visited.add(node)) {
+				walk.addAll(node.getOutGoingNodes());
+			}
+		}
+	}
+
+	private void scheduleWhileRunning(final Node<T, R> node) {
+		if (this.state.shouldProcess(node)) {
+			// holds the run open, while scheduling from the caller thread
+			this.state.incrementUnProcessedNodesCount();
+			try {
+				doExecute(Collections.singleton(node), this.executionConfig);
+			} finally {
+				this.state.decrementUnProcessedNodesCount();
+				onExecutionProgress();
+			}
+		}
+	}
+
+	private void checkNotSealed() {
+		if (this.sealed) {
+			throw new IllegalStateException("Graph is sealed, nodes can't be added");
+		}
+	}
+
+	private Collection<Node<T, R>> children(final Node<T, R> node) {
+		if (!this.dynamicGraph) {
+			return node.getOutGoingNodes();
+		}
+		synchronized (this.graphLock) {
+			return new ArrayList<>(node.getOutGoingNodes());
+		}
+	}
+
+	private boolean tryClaim(final Node<T, R> node) {
+		if (!this.dynamicGraph) {
+			return node.tryClaim();
+		}
+		// dependencies are added to unclaimed nodes only, under the same lock
+		synchronized (this.graphLock) {
+			return this.state.shouldProcess(node) && node.tryClaim();
+		}
+	}
+
 	@Override
 	public ExecutionResults<T, R> recoverExecution(final ExecutionConfig config) {
 		if (Phase.TERMINATED.equals(this.state.getCurrentPhase())) {
 			throw new IllegalStateException("Can't recover terminated dexecutor");		
 		} else {	
 			logger.debug("Recovering Dexecutor.");
+			dropWaitingNodes();
 			this.state.onRecover();
+			beforeExecution(config);
 			long start = new Date().getTime();
 			doWaitForExecution(config);
 			doExecute(this.state.getNonProcessedRootNodes(), config);
@@ -129,9 +410,31 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 		return this.state.getExecutionResults();
 	}
 
+	// nodes waiting for a slot or for resources are scheduled again, once their claims are released
+	private void dropWaitingNodes() {
+		Node<T, R> node;
+		while ((node = this.readyNodes.poll()) != null) {
+			logger.debug("Dropping queued node {}", node.getValue());
+			this.state.decrementUnProcessedNodesCount();
+		}
+		for (Task<T, R> task : this.resourceLimiter.drainParked()) {
+			logger.debug("Dropping node {} waiting for resources", task.getId());
+			this.state.decrementUnProcessedNodesCount();
+		}
+		Task<T, R> task;
+		while ((task = this.admittedTasks.poll()) != null) {
+			logger.debug("Dropping node {} waiting for a slot", task.getId());
+			this.resourceLimiter.release(task.getId());
+			this.state.decrementUnProcessedNodesCount();
+		}
+	}
+
 	public ExecutionResults<T, R> execute(final ExecutionConfig config) {
 		validate(config);
+		return doExecuteSync(config);
+	}
 
+	private ExecutionResults<T, R> doExecuteSync(final ExecutionConfig config) {
 		//state 里面初始化了graph
 		this.state.setCurrentPhase(Phase.RUNNING);
 
@@ -140,7 +443,173 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 
 		long start = new Date().getTime();
 
+		beforeExecution(config);
 		doProcessNodes(config, initialNodes);
+
+		return terminate(start);
+	}
+
+	@Override
+	public ExecutionResults<T, R> executeIncrementally(final ExecutionResults<T, R> previousResults, final Set<T> changedNodes, final ExecutionConfig config) {
+		checkNotNull(previousResults, "Previous results should not be null");
+		checkNotNull(changedNodes, "Changed nodes should not be null");
+		validate(config);
+
+		this.state.setCurrentPhase(Phase.RUNNING);
+		long start = new Date().getTime();
+
+		int dirty = reusePreviousResults(previousResults, changedNodes);
+		logger.debug("Re-executing {} of {} nodes", dirty, this.state.graphSize());
+
+		beforeExecution(config);
+		// just like recovery, the reused nodes are processed already
+		doProcessNodes(config, this.state.getNonProcessedRootNodes());
+
+		return terminate(start);
+	}
+
+	private int reusePreviousResults(final ExecutionResults<T, R> previousResults, final Set<T> changedNodes) {
+		Map<T, ExecutionResult<T, R>> previous = new HashMap<>();
+		for (ExecutionResult<T, R> result : previousResults.getAll()) {
+			previous.put(result.getId(), result);
+		}
+
+		Deque<Node<T, R>> dirtyRoots = new ArrayDeque<>();
+		for (T id : changedNodes) {
+			Node<T, R> node = this.state.getGraphNode(id);
+			if (node != null) {
+				dirtyRoots.add(node);
+			}
+		}
+		List<Node<T, R>> allNodes = new ArrayList<>(this.state.graphSize());
+		Set<Node<T, R>> visited = new HashSet<>();
+		Deque<Node<T, R>> walk = new ArrayDeque<>(this.state.getInitialNodes());
+		while (!walk.isEmpty()) {
+			Node<T, R> node = walk.poll();
+			if (visited.add(node)) {
+				allNodes.add(node);
+				if (!isReusable(previous.get(node.getValue()))) {
+					dirtyRoots.add(node);
+				}
+				walk.addAll(node.getOutGoingNodes());
+			}
+		}
+
+		Set<Node<T, R>> dirty = new HashSet<>();
+		while (!dirtyRoots.isEmpty()) {
+			Node<T, R> node = dirtyRoots.poll();
+			if (dirty.add(node)) {
+				dirtyRoots.addAll(node.getOutGoingNodes());
+			}
+		}
+
+		for (Node<T, R> node : allNodes) {
+			if (!dirty.contains(node)) {
+				reuse(node, previous.get(node.getValue()));
+			}
+		}
+		return dirty.size();
+	}
+
+	private boolean isReusable(final ExecutionResult<T, R> result) {
+		return result != null && (result.isSuccess() || result.isSkipped());
+	}
+
+	private void reuse(final Node<T, R> node, final ExecutionResult<T, R> result) {
+		node.tryClaim();
+		node.setResult(result.getResult());
+		if (result.isSkipped()) {
+			node.setSkipped();
+		} else {
+			node.setSuccess();
+		}
+		this.state.removeErrored(result);
+		markProcessingDone(node);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>Results are processed and ready nodes are submitted by the threads which finish the tasks, hence the execution engine
+	 * should support {@link ExecutionEngine#setResultHandler(ExecutionResultHandler)}. The returned stage is completed by
+	 * the thread which processes the last result.</p>
+	 */
+	@Override
+	public CompletionStage<ExecutionResults<T, R>> executeAsync(final ExecutionConfig config) {
+		validate(config);
+		enableDecentralizedScheduling();
+		return doExecuteAsync(config);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The execution is driven by a thread of its own. Results are streamed by the thread which processes them, the
+	 * driver (or the threads which finish the tasks, if scheduling is decentralized), which waits while the buffer is
+	 * full, hence no more nodes are submitted meanwhile.</p>
+	 */
+	@Override
+	public ExecutionResultStream<T, R> executeStreaming(final ExecutionConfig config, final int bufferSize, final boolean retainResults) {
+		ExecutionResultStream<T, R> stream = new ExecutionResultStream<>(bufferSize);
+		validate(config);
+		this.state.setResultsRetained(retainResults);
+		this.resultStream = stream;
+		VirtualThreads.newThreadFactory("dexecutor-stream-").newThread(() -> {
+			try {
+				doExecuteSync(config);
+				stream.complete(null);
+			} catch (Throwable e) {
+				stream.complete(e);
+			}
+		}).start();
+		return stream;
+	}
+
+	private CompletableFuture<ExecutionResults<T, R>> doExecuteAsync(final ExecutionConfig config) {
+		this.state.setCurrentPhase(Phase.RUNNING);
+		Set<Node<T, R>> initialNodes;
+		synchronized (this.graphLock) {
+			initialNodes = this.state.getInitialNodes();
+		}
+
+		CompletableFuture<ExecutionResults<T, R>> completion = new CompletableFuture<>();
+		this.asyncCompletion.set(completion);
+		this.asyncStartTime = new Date().getTime();
+		beforeExecution(config);
+
+		// holds the run open, until all the initial nodes are submitted
+		this.state.incrementUnProcessedNodesCount();
+		try {
+			doExecute(initialNodes, config);
+		} catch (RuntimeException e) {
+			this.schedulingFailure.compareAndSet(null, e);
+		} finally {
+			this.state.decrementUnProcessedNodesCount();
+			onExecutionProgress();
+		}
+		return completion;
+	}
+
+	private void onExecutionProgress() {
+		RuntimeException failure = this.schedulingFailure.get();
+		if (this.state.getUnProcessedNodesCount() > 0 && failure == null) {
+			return;
+		}
+		CompletableFuture<ExecutionResults<T, R>> completion = this.asyncCompletion.getAndSet(null);
+		if (completion == null) {
+			synchronized (this.completionMonitor) {
+				this.completionMonitor.notifyAll();
+			}
+		} else if (failure != null) {
+			completion.completeExceptionally(failure);
+		} else {
+			try {
+				completion.complete(terminate(this.asyncStartTime));
+			} catch (RuntimeException e) {
+				completion.completeExceptionally(e);
+			}
+		}
+	}
+
+	private ExecutionResults<T, R> terminate(final long start) {
 		shutdownExecutors();
 
 		long end = new Date().getTime();
@@ -155,23 +624,27 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 	}
 
 	private void shutdownExecutors() {
-		this.immediatelyRetryExecutor.shutdown();
-		this.scheduledRetryExecutor.shutdown();
-		this.timeoutExecutor.shutdown();
+		// a shared context outlives this instance
+		if (!this.sharedSchedulingContext) {
+			this.schedulingContext.shutdown();
+		}
+	}
 
-		try {
-			this.immediatelyRetryExecutor.awaitTermination(1, TimeUnit.NANOSECONDS);
-			this.scheduledRetryExecutor.awaitTermination(1, TimeUnit.NANOSECONDS);
-			this.timeoutExecutor.awaitTermination(1, TimeUnit.NANOSECONDS);
-		} catch (InterruptedException e) {
-			logger.error("Error Shuting down Executor", e);
-		}		
+	private void beforeExecution(final ExecutionConfig config) {
+		this.executionConfig = config;
+		this.schedulingFailure.set(null);
 	}
 
 	private void validate(final ExecutionConfig config) {
 		config.validate();
 		checkValidPhase();
 		this.state.validate(this.validator);
+		if (this.chainFusion) {
+			LinearChainDetector<T, R> chainDetector = new LinearChainDetector<>();
+			this.state.validate(chainDetector);
+			this.chains = chainDetector.getChains();
+			logger.debug("Fusing {} linear chains", this.chains.size());
+		}
 	}
 
 	private void checkValidPhase() {
@@ -204,26 +677,162 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 	private void doExecute(final Collection<Node<T, R>> nodes, final ExecutionConfig config) {
 		for (Node<T, R> node : nodes) {
 			forceStopIfRequired();
-			if (this.state.shouldProcess(node)) {				
-				Task<T, R> task = newTask(config, node);
-				ExecutionResults<T, R> parentResults = parentResults(task, node);
-				task.setParentResults(parentResults);
-				task.setNodeProvider(new DefaultNodeProvider<T, R>(state));
-				if (node.isNotProcessed() && task.shouldExecute(parentResults)) {					
+			if (this.state.shouldProcess(node)) {
+				if (!tryClaim(node)) {
+					logger.debug("node {} already claimed", node.getValue());
+					continue;
+				}
+				if (tryAcquireSlot()) {
+					doExecute(node, config, false);
+				} else {
+					// counted as unprocessed while queued, so that the run does not complete meanwhile
 					this.state.incrementUnProcessedNodesCount();
-					logger.debug("Submitting {} node for execution", node.getValue());
-					this.executionEngine.submit(task);
-				} else if (node.isNotProcessed()){
-					//节点被跳过
-					node.setSkipped();
-					logger.debug("Execution Skipped for node # {} ", node.getValue());
-					this.state.markProcessingDone(node);
-					doExecute(node.getOutGoingNodes(), config);
+					logger.debug("Queuing {} node, {} tasks in flight", node.getValue(), this.maxInFlight);
+					this.readyNodes.add(node);
+					// the slot may have been released, before the node was queued
+					admitReadyNodes(config);
 				}
 			} else {
 				logger.debug("node {} depends on {}", node.getValue(), node.getInComingNodes());
 			}
 		}
+		if (!this.admittedTasks.isEmpty() || !this.readyNodes.isEmpty()) {
+			// slots of the nodes parked for resources are free again
+			admitReadyNodes(config);
+		}
+	}
+
+	private void doExecute(final Node<T, R> node, final ExecutionConfig config, final boolean counted) {
+		Task<T, R> task = newTask(config, node);
+		ExecutionResults<T, R> parentResults = parentResults(task, node);
+		task.setParentResults(parentResults);
+		task.setNodeProvider(new DefaultNodeProvider<T, R>(state));
+		// errored nodes are queued again, only when retried
+		if ((node.isNotProcessed() || node.isErrored()) && task.shouldExecute(parentResults)) {
+			if (!counted) {
+				this.state.incrementUnProcessedNodesCount();
+			}
+			ExecutionResult<T, R> cachedResult = cachedResult(node, task);
+			if (cachedResult != null) {
+				logger.debug("Result of node {} is cached", node.getValue());
+				releaseSlot();
+				doAfterResultReceived(config, cachedResult);
+				return;
+			}
+			submit(fuseIfChainHead(config, node, task));
+			return;
+		}
+		if (!this.taskRetryPolicies.isEmpty()) {
+			// never executed, hence never failed
+			this.taskRetryPolicies.remove(node.getValue());
+		}
+		releaseSlot();
+		try {
+			if (node.isNotProcessed()) {
+				//节点被跳过
+				node.setSkipped();
+				logger.debug("Execution Skipped for node # {} ", node.getValue());
+				markProcessingDone(node);
+				doExecute(children(node), config);
+			}
+			admitReadyNodes(config);
+		} finally {
+			if (counted) {
+				this.state.decrementUnProcessedNodesCount();
+			}
+		}
+	}
+
+	private ExecutionResult<T, R> cachedResult(final Node<T, R> node, final Task<T, R> task) {
+		if (this.resultCache == null) {
+			return null;
+		}
+		String inputsFingerprint = task.getInputsFingerprint();
+		if (inputsFingerprint == null) {
+			return null;
+		}
+		String fingerprint = ResultFingerprint.of(node, task, inputsFingerprint, this.resultHasher);
+		if (fingerprint == null) {
+			logger.debug("Results of the parents of node {} can not be digested, not caching it", node.getValue());
+			return null;
+		}
+		R cached = this.resultCache.get(node.getValue(), fingerprint);
+		if (cached == null) {
+			// cached once the result is processed
+			this.fingerprintsInFlight.put(node.getValue(), fingerprint);
+			return null;
+		}
+		ExecutionResult<T, R> result = ExecutionResult.success(node.getValue(), cached);
+		LocalDateTime now = LocalDateTime.now();
+		result.setTimes(now, now);
+		this.state.removeErrored(result);
+		return result;
+	}
+
+	private void cacheResult(final ExecutionResult<T, R> executionResult) {
+		String fingerprint = this.fingerprintsInFlight.remove(executionResult.getId());
+		// nodes spawned by the execution would be lost on a cache hit
+		if (fingerprint != null && executionResult.isSuccess() && !isSpawning(executionResult)) {
+			this.resultCache.put(executionResult.getId(), fingerprint, executionResult.getResult());
+		}
+	}
+
+	private boolean isSpawning(final ExecutionResult<T, R> executionResult) {
+		return executionResult.getSpawned() != null && !executionResult.getSpawned().isEmpty();
+	}
+
+	private void submit(final Task<T, R> task) {
+		if (this.resourceLimiter.tryAcquire(task)) {
+			doSubmit(task);
+		} else {
+			logger.debug("Node {} waiting for resources {}", task.getId(), task.getResourceTags());
+			// parked tasks do not hold a slot, they get one again once admitted
+			releaseSlot();
+		}
+	}
+
+	private void doSubmit(final Task<T, R> task) {
+		logger.debug("Submitting {} node for execution", task.getId());
+		// the parents of the node are durable, before it starts
+		this.state.syncProcessedNodes();
+		this.executionEngine.submit(task);
+	}
+
+	// tasks which already hold their resources go first
+	private void admitReadyNodes(final ExecutionConfig config) {
+		while ((!this.admittedTasks.isEmpty() || !this.readyNodes.isEmpty()) && tryAcquireSlot()) {
+			Task<T, R> task = this.admittedTasks.poll();
+			if (task != null) {
+				doSubmit(task);
+				continue;
+			}
+			Node<T, R> node = this.readyNodes.poll();
+			if (node == null) {
+				releaseSlot();
+				return;
+			}
+			doExecute(node, config, true);
+		}
+	}
+
+	private boolean tryAcquireSlot() {
+		if (this.maxInFlight <= 0) {
+			return true;
+		}
+		int current;
+		do {
+			current = this.inFlight.get();
+			if (current >= this.maxInFlight) {
+				return false;
+			}
+		} while (!this.inFlight.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private void releaseSlot() {
+		if (this.maxInFlight > 0) {
+			this.inFlight.decrementAndGet();
+		}
 	}
 
 	private ExecutionResults<T, R> parentResults(Task<T, R> task, final Node<T, R> node) {
@@ -235,6 +844,10 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 	}
 
 	private void doWaitForExecution(final ExecutionConfig config) {
+		if (this.decentralizedScheduling) {
+			awaitCompletion();
+			return;
+		}
 		while (state.getUnProcessedNodesCount() > 0) {
 			forceStopIfRequired();
 			//获取节点执行状态,从队列中获取执行完成的task,获取到说明task已经执行结束了 ExecutionResult保存了当前节点的node信息
@@ -243,106 +856,304 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 		}
 	}
 
-	//Check if it can run in separate thread
+	private void awaitCompletion() {
+		synchronized (this.completionMonitor) {
+			while (this.state.getUnProcessedNodesCount() > 0 && this.schedulingFailure.get() == null) {
+				try {
+					this.completionMonitor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new TaskExecutionException("Interrupted waiting for execution to complete", e);
+				}
+			}
+		}
+		RuntimeException failure = this.schedulingFailure.get();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void doAfterExecutionDoneByWorker(final ExecutionResult<T, R> executionResult) {
+		try {
+			doAfterExecutionDone(this.executionConfig, executionResult);
+		} catch (RuntimeException e) {
+			this.schedulingFailure.compareAndSet(null, e);
+		} catch (Error e) {
+			this.schedulingFailure.compareAndSet(null, new TaskExecutionException(executionResult.getId() + " Result processing ", e));
+			throw e;
+		} finally {
+			onExecutionProgress();
+		}
+	}
+
+	//Runs on the worker thread, when scheduling is decentralized, the count is decremented only after the ready children are submitted
 	private void doAfterExecutionDone(final ExecutionConfig config, final ExecutionResult<T, R> executionResult) {
+		for (Task<T, R> task : this.resourceLimiter.release(executionResult.getId())) {
+			logger.debug("Node {} got its resources", task.getId());
+			this.admittedTasks.add(task);
+		}
+		releaseSlot();
+		if (!this.admittedTasks.isEmpty() || !this.readyNodes.isEmpty()) {
+			// queued nodes were ready before the children of this one
+			admitReadyNodes(config);
+		}
+		doAfterResultReceived(config, executionResult);
+	}
+
+	private void doAfterResultReceived(final ExecutionConfig config, final ExecutionResult<T, R> executionResult) {
 		logger.debug("Processing of node {} done, with status {}", executionResult.getId(), executionResult.getStatus());
-		state.decrementUnProcessedNodesCount();
+		FusedChainTask fusedChain = this.fusedChainsInFlight.isEmpty() ? null : this.fusedChainsInFlight.remove(executionResult.getId());
+		if (fusedChain != null) {
+			// member results are yet to be processed, the run should not be considered done meanwhile
+			for (int i = 0; i < fusedChain.memberResults.size(); i++) {
+				this.state.incrementUnProcessedNodesCount();
+			}
+		}
+		try {
+			ExecutionResultStream<T, R> stream = this.resultStream;
+			if (stream != null) {
+				// streamed before the children are submitted, hence after the results of all the parents
+				stream.emit(executionResult);
+			}
+			doProcessExecutionResult(config, executionResult);
+		} finally {
+			state.decrementUnProcessedNodesCount();
+		}
+		if (fusedChain != null) {
+			doAfterFusedChainDone(config, fusedChain, executionResult);
+		}
+	}
 
+	private void doAfterFusedChainDone(final ExecutionConfig config, final FusedChainTask fusedChain, final ExecutionResult<T, R> headResult) {
+		if (fusedChain.headEnd != null) {
+			headResult.setTimes(headResult.getStartTime(), fusedChain.headEnd);
+		}
+		int replayed = 0;
+		try {
+			for (ExecutionResult<T, R> memberResult : fusedChain.memberResults) {
+				replayed++;
+				if (memberResult.isSuccess()) {
+					state.removeErrored(memberResult);
+				} else {
+					state.addErrored(memberResult);
+				}
+				doAfterResultReceived(config, memberResult);
+			}
+		} finally {
+			// on failure, member results which would never be processed should not be awaited
+			for (int i = replayed; i < fusedChain.memberResults.size(); i++) {
+				this.state.decrementUnProcessedNodesCount();
+			}
+		}
+	}
+
+	private Task<T, R> fuseIfChainHead(final ExecutionConfig config, final Node<T, R> node, final Task<T, R> task) {
+		List<Node<T, R>> chain = this.chains.get(node.getValue());
+		if (chain == null || task.isAsync() || task.getTimeout() != null) {
+			return task;
+		}
+		FusedChainTask fusedChain = new FusedChainTask(config, chain, task);
+		this.fusedChainsInFlight.put(node.getValue(), fusedChain);
+		return fusedChain;
+	}
+
+	private void doProcessExecutionResult(final ExecutionConfig config, final ExecutionResult<T, R> executionResult) {
 		final Node<T, R> processedNode = state.getGraphNode(executionResult.getId());
 		updateNode(executionResult, processedNode);
+		if (!this.fingerprintsInFlight.isEmpty()) {
+			cacheResult(executionResult);
+		}
+
+		if (executionResult.isSuccess() && isSpawning(executionResult)) {
+			splice(processedNode, executionResult.getSpawned());
+		}
 
 		if (executionResult.isSuccess() || executionResult.isCancelled()) {
-			state.markProcessingDone(processedNode);
+			markProcessingDone(processedNode);
 		}
 
-		if (executionResult.isSuccess() && !executionEngine.isAnyTaskInError() && state.isDiscontinuedNodesNotEmpty()) {
-			Collection<Node<T, R>> recover = new HashSet<>(state.getDiscontinuedNodes());	
-			state.markDiscontinuedNodesProcessed();
-			doExecute(recover, config);
+		if (executionResult.isSuccess() && !executionEngine.isAnyTaskInError()) {
+			resumeDiscontinuedNodes(config);
 		}
 
 		//提交后续的node节点
 		if (config.isNonTerminating() || !executionEngine.isAnyTaskInError()) {
-			doExecute(processedNode.getOutGoingNodes(), config);				
+			doExecute(children(processedNode), config);
 		} else if (executionEngine.isAnyTaskInError() && executionResult.isSuccess()) { 
-			state.processAfterNoError(processedNode.getOutGoingNodes());
-		} else if (shouldDoImmediateRetry(config, executionResult, processedNode)) {
-			logger.debug("Submitting for Immediate retry, node {}", executionResult.getId());
-			submitForImmediateRetry(config, processedNode);
-		} else if (shouldScheduleRetry(config, executionResult, processedNode)) {
-			logger.debug("Submitting for Scheduled retry, node {}", executionResult.getId());
-			submitForScheduledRetry(config, processedNode);
+			state.processAfterNoError(children(processedNode));
+			// the errors may have been removed meanwhile, by a retry which found no discontinued nodes
+			if (!executionEngine.isAnyTaskInError()) {
+				resumeDiscontinuedNodes(config);
+			}
+		} else if (executionResult.isErrored()) {
+			retryIfRequired(config, processedNode);
 		}
 	}
 
-	private boolean shouldScheduleRetry(final ExecutionConfig config, final ExecutionResult<T, R> executionResult,
-			final Node<T, R> processedNode) {
-		return executionResult.isErrored() && config.isScheduledRetrying() && config.shouldRetry(getExecutionCount(processedNode));
+	private void resumeDiscontinuedNodes(final ExecutionConfig config) {
+		if (this.state.isDiscontinuedNodesNotEmpty()) {
+			doExecute(this.state.drainDiscontinuedNodes(), config);
+		}
 	}
 
-	private boolean shouldDoImmediateRetry(final ExecutionConfig config, final ExecutionResult<T, R> executionResult,
-			final Node<T, R> processedNode) {
-		return executionResult.isErrored() && config.isImmediatelyRetrying() && config.shouldRetry(getExecutionCount(processedNode));
+	/**
+	 * Spawned nodes are added before the node is marked processed, hence they are scheduled as its children
+	 */
+	private void splice(final Node<T, R> node, final SubGraph<T> spawned) {
+		synchronized (this.graphLock) {
+			checkSpawned(spawned);
+			// tasks may read the graph meanwhile
+			this.state.enableConcurrentReads();
+			for (T nodeValue : spawned.getNodes()) {
+				Collection<T> firstValues = spawned.getDependencies(nodeValue);
+				if (firstValues.isEmpty()) {
+					this.state.addDependency(node.getValue(), nodeValue);
+				}
+				for (T firstValue : firstValues) {
+					this.state.addDependency(firstValue, nodeValue);
+				}
+			}
+		}
+		logger.debug("Node {} spawned {} nodes", node.getValue(), spawned.getNodes().size());
 	}
 
-	private void submitForImmediateRetry(final ExecutionConfig config, final Node<T, R> node) {
-		Task<T, R> task = newTask(config, node);		
-		this.immediatelyRetryExecutor.submit(retryingTask(task));
+	// spawned nodes should be new and acyclic, checked by removing the nodes whose dependencies are removed
+	private void checkSpawned(final SubGraph<T> spawned) {
+		Map<T, Integer> remaining = new HashMap<>();
+		Map<T, List<T>> dependents = new HashMap<>();
+		Deque<T> removable = new ArrayDeque<>();
+		for (T nodeValue : spawned.getNodes()) {
+			if (this.state.getGraphNode(nodeValue) != null) {
+				throw new IllegalArgumentException("Spawned node " + nodeValue + " is already in the graph");
+			}
+			Collection<T> firstValues = spawned.getDependencies(nodeValue);
+			remaining.put(nodeValue, firstValues.size());
+			if (firstValues.isEmpty()) {
+				removable.add(nodeValue);
+			}
+			for (T firstValue : firstValues) {
+				dependents.computeIfAbsent(firstValue, value -> new ArrayList<>()).add(nodeValue);
+			}
+		}
+		int removed = 0;
+		while (!removable.isEmpty()) {
+			T nodeValue = removable.poll();
+			removed++;
+			for (T dependent : dependents.getOrDefault(nodeValue, Collections.<T>emptyList())) {
+				if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+					removable.add(dependent);
+				}
+			}
+		}
+		if (removed != remaining.size()) {
+			throw new IllegalArgumentException("Cycle Detected in the nodes spawned " + spawned);
+		}
 	}
 
-	private void submitForScheduledRetry(final ExecutionConfig config, final Node<T, R> node) {
-		Task<T, R> task = newTask(config, node);
-		this.scheduledRetryExecutor.schedule(retryingTask(task), config.getRetryDelay().getDuration(), config.getRetryDelay().getTimeUnit());
+	private void markProcessingDone(final Node<T, R> node) {
+		// results are consumed only once, not on a repeated call
+		// while nodes are being added, a consumed result may get another child
+		boolean consumed = this.releaseConsumedResults && (!this.dynamicGraph || this.sealed) && !this.state.isProcessed(node);
+		if (this.dynamicGraph) {
+			// children may be added meanwhile
+			synchronized (this.graphLock) {
+				this.state.markProcessingDone(node);
+			}
+		} else {
+			this.state.markProcessingDone(node);
+		}
+		if (consumed) {
+			releaseConsumedResults(node);
+		}
 	}
 
-	private Task<T, R> newTask(final ExecutionConfig config, final Node<T, R> node) {
-		Task<T, R> task = this.taskProvider.provideTask(node.getValue());
-		task.setId(node.getValue());
-		updateConsiderExecutionStatus(config, task);
-		return TaskFactory.newWorker(task);
+	private void releaseConsumedResults(final Node<T, R> node) {
+		for (Node<T, R> parent : node.getInComingNodes()) {
+			if (parent.onChildConsumed() == 0 && !parent.isRetainedOutput()) {
+				logger.debug("Releasing result of node {}", parent.getValue());
+				parent.setResult(null);
+				this.state.releaseResult(parent.getValue());
+			}
+		}
 	}
 
-	private void updateConsiderExecutionStatus(final ExecutionConfig config, final Task<T, R> task) {
-		if (config.isImmediatelyRetrying() || config.isScheduledRetrying()) {
-			Node<T, R> node = this.state.getGraphNode(task.getId());
-			Integer currentCount = getExecutionCount(node);
-			if (currentCount < config.getRetryCount()) {
-				task.setConsiderExecutionError(false);
-			} else {
-				task.setConsiderExecutionError(true);
-			}
+	private void retryIfRequired(final ExecutionConfig config, final Node<T, R> node) {
+		RetryState retryState = this.retryStates.get(node.getValue());
+		if (retryState == null) {
+			return;
+		}
+		// the policy of the task which failed, the task is provided again only if retried
+		RetryPolicy retryPolicy = retryPolicy(config, retryState.taskRetryPolicy);
+		if (retryPolicy == null) {
+			return;
+		}
+		Duration delay = retryState.nextDelay(retryPolicy);
+		if (delay == null) {
+			logger.debug("Not retrying node {}, after {} failures", node.getValue(), retryState.failures);
+			return;
+		}
+		Runnable retry = retry(config, node);
+		if (delay.isZero()) {
+			logger.debug("Submitting for Immediate retry, node {}", node.getValue());
+			this.schedulingContext.getImmediateRetryExecutor().execute(retry);
+		} else {
+			logger.debug("Submitting for Scheduled retry, node {} in {}", node.getValue(), delay);
+			final ExecutorService retryExecutor = this.schedulingContext.getImmediateRetryExecutor();
+			// the timer thread is shared by all the deadlines, it only hands the retry over
+			this.schedulingContext.getTimeoutTimer().newTimeout(() -> retryExecutor.execute(retry), delay.toNanos(), TimeUnit.NANOSECONDS);
 		}
 	}
 
-	private Runnable retryingTask(final Task<T, R> task) {
+	/**
+	 * The node is queued again as a ready node, hence admitted within the in flight limit
+	 */
+	private Runnable retry(final ExecutionConfig config, final Node<T, R> node) {
+		// counted as unprocessed till it is queued and admitted, so that the run does not complete meanwhile
 		this.state.incrementUnProcessedNodesCount();
 		return new Runnable() {
 			@Override
 			public void run() {
-				executionEngine.submit(task);
+				readyNodes.add(node);
+				admitReadyNodes(config);
 			}
 		};
 	}
 
-	private void updateExecutionCount(final Node<T, R> node) {
-		Integer count = getExecutionCount(node);
-		count++;
-		node.setData(count);
+	private RetryPolicy retryPolicy(final ExecutionConfig config, final RetryPolicy taskRetryPolicy) {
+		if (config.isNonTerminating()) {
+			return null;
+		}
+		return taskRetryPolicy != null ? taskRetryPolicy : config.getRetryPolicy();
+	}
+
+	private Task<T, R> newTask(final ExecutionConfig config, final Node<T, R> node) {
+		Task<T, R> task = this.taskProvider.provideTask(node.getValue());
+		task.setId(node.getValue());
+		node.setRetainedOutput(task.isRetainedOutput());
+		if (task.getRetryPolicy() != null) {
+			this.taskRetryPolicies.put(node.getValue(), task.getRetryPolicy());
+		}
+		updateConsiderExecutionStatus(config, task);
+		return TaskFactory.newWorker(task);
 	}
 
-	private Integer getExecutionCount(final Node<T, R> node) {
-		Integer count = (Integer) node.getData();
-		if (count == null) {
-			count = 0;
+	private void updateConsiderExecutionStatus(final ExecutionConfig config, final Task<T, R> task) {
+		RetryPolicy retryPolicy = retryPolicy(config, task.getRetryPolicy());
+		if (retryPolicy != null) {
+			RetryState retryState = this.retryStates.get(task.getId());
+			// the error is considered, if this execution would be the last one on failure
+			boolean lastExecution = retryState == null ? retryPolicy.nextDelay(1, Duration.ZERO, null) == null
+					: retryState.isExhausted(retryPolicy);
+			task.setConsiderExecutionError(lastExecution);
 		}
-		return count;
 	}
 
 	private void updateNode(final ExecutionResult<T, R> executionResult, final Node<T, R> processedNode) {
-		updateExecutionCount(processedNode);
 		processedNode.setResult(executionResult.getResult());
+		RetryPolicy taskRetryPolicy = this.taskRetryPolicies.isEmpty() ? null : this.taskRetryPolicies.remove(processedNode.getValue());
 		if (executionResult.isErrored()) {
 			processedNode.setErrored();
+			recordFailure(processedNode, taskRetryPolicy);
 		} else if (executionResult.isCancelled()) { 
 			processedNode.setCancelled();
 		} else {
@@ -350,16 +1161,149 @@ public class DefaultDexecutor <T, R> implements Dexecutor<T, R> {
 		}
 	}
 
+	private void recordFailure(final Node<T, R> node, final RetryPolicy taskRetryPolicy) {
+		RetryState retryState = this.retryStates.get(node.getValue());
+		if (retryState == null) {
+			retryState = new RetryState();
+			RetryState existing = this.retryStates.putIfAbsent(node.getValue(), retryState);
+			if (existing != null) {
+				retryState = existing;
+			}
+		}
+		retryState.recordFailure(taskRetryPolicy);
+	}
+
 	private void forceStopIfRequired() {
 		if (!shouldContinueProcessingNodes()) {
 			logger.debug("Force Stopping dexecutor");
 			this.state.forcedStop();
-			//this.immediatelyRetryExecutor.shutdownNow();
-			//this.scheduledRetryExecutor.shutdownNow();
-			//this.timeoutExecutor.shutdownNow();
+			//this.schedulingContext.shutdown();
 			throw new IllegalStateException("Forced to Stop the instance of Dexecutor!");
 		}		
 	}
+	/**
+	 * Executes the first node of a linear chain, and then as many of the following nodes as possible back to back on the
+	 * same worker. Results of the following nodes are replayed once the result of the first node is processed, a node
+	 * which should be skipped, is timeout based or async, or an error ends the fused execution and rest of the chain
+	 * proceeds as usual.
+	 */
+	private final class FusedChainTask extends Task<T, R> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ExecutionConfig config;
+		private final List<Node<T, R>> chain;
+		private final Task<T, R> head;
+		private final List<ExecutionResult<T, R>> memberResults = new ArrayList<>();
+		private volatile LocalDateTime headEnd;
+
+		FusedChainTask(final ExecutionConfig config, final List<Node<T, R>> chain, final Task<T, R> head) {
+			this.config = config;
+			this.chain = chain;
+			this.head = head;
+			setId(head.getId());
+		}
+
+		@Override
+		public Set<String> getResourceTags() {
+			return this.head.getResourceTags();
+		}
+
+		@Override
+		public SubGraph<T> getSpawned() {
+			return this.head.getSpawned();
+		}
+
+		@Override
+		public R execute() {
+			R result = this.head.execute();
+			this.headEnd = LocalDateTime.now();
+			R previous = result;
+			for (int i = 1; i < this.chain.size() && canContinue(); i++) {
+				// makes the result visible to the next node, before the previous result is processed
+				this.chain.get(i - 1).setResult(previous);
+				Node<T, R> node = this.chain.get(i);
+				Task<T, R> task = newTask(this.config, node);
+				ExecutionResults<T, R> parentResults = parentResults(task, node);
+				task.setParentResults(parentResults);
+				task.setNodeProvider(new DefaultNodeProvider<T, R>(state));
+				if (task.isAsync() || task.getTimeout() != null || resourceLimiter.isLimited(task)
+						|| !task.shouldExecute(parentResults) || !node.tryClaim()) {
+					break;
+				}
+				ExecutionResult<T, R> memberResult = executeMember(task);
+				this.memberResults.add(memberResult);
+				if (!memberResult.isSuccess()) {
+					break;
+				}
+				previous = memberResult.getResult();
+			}
+			return result;
+		}
+
+		// the same listener as the head, which the engine notified
+		private ExecutionListener<T, R> memberListener() {
+			ExecutionListener<T, R> listener = executionEngine.getExecutionListener();
+			return listener == null ? executionListener : listener;
+		}
+
+		private boolean canContinue() {
+			return this.config.isNonTerminating() || !executionEngine.isAnyTaskInError();
+		}
+
+		private ExecutionResult<T, R> executeMember(final Task<T, R> task) {
+			ExecutionResult<T, R> result;
+			task.markStart();
+			try {
+				R r = task.execute();
+				task.markEnd();
+				result = ExecutionResult.success(task.getId(), r);
+				result.setSpawned(task.getSpawned());
+				memberListener().onSuccess(task);
+			} catch (Exception e) {
+				task.markEnd();
+				result = ExecutionResult.errored(task.getId(), null, e.getMessage());
+				memberListener().onError(task, e);
+				logger.error("Error Execution Task # {}", task.getId(), e);
+			}
+			result.setTimes(task.getStartTime(), task.getEndTime());
+			return result;
+		}
+	}
+
+	/**
+	 * Failures of a node so far, and the policy of the task which failed last, if it had its own. Created with the
+	 * first failure, so that nodes which never fail cost nothing
+	 */
+	private static final class RetryState {
+
+		private final long firstFailure = System.nanoTime();
+		private int failures;
+		private Duration previousDelay;
+		private volatile RetryPolicy taskRetryPolicy;
+
+		synchronized void recordFailure(final RetryPolicy taskRetryPolicy) {
+			this.failures++;
+			this.taskRetryPolicy = taskRetryPolicy;
+		}
+
+		synchronized Duration nextDelay(final RetryPolicy retryPolicy) {
+			Duration delay = retryPolicy.nextDelay(this.failures, elapsed(), this.previousDelay);
+			if (delay != null) {
+				this.previousDelay = delay;
+			}
+			return delay;
+		}
+
+		synchronized boolean isExhausted(final RetryPolicy retryPolicy) {
+			return retryPolicy.nextDelay(this.failures + 1, elapsed(), this.previousDelay) == null;
+		}
+
+		private Duration elapsed() {
+			return Duration.ofNanos(System.nanoTime() - this.firstFailure);
+		}
+	}
+
 	/**
 	 * Override this method if force stop is required
 	 * 
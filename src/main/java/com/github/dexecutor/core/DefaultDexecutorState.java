@@ -16,13 +16,22 @@
  */
 package com.github.dexecutor.core;
 
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.github.dexecutor.core.concurrent.AppendOnlyLog;
+import com.github.dexecutor.core.concurrent.GrowableBitSet;
+import com.github.dexecutor.core.graph.CompactDag;
 import com.github.dexecutor.core.graph.Dag;
 import com.github.dexecutor.core.graph.DefaultDag;
 import com.github.dexecutor.core.graph.Node;
@@ -38,20 +47,50 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 	private final Dag<T, R> graph;
 	private final AtomicInteger nodesCount;
 
-	//已经执行node的集合
-	private final Collection<Node<T, R>> processedNodes;
-	private final Collection<Node<T, R>> discontinuedNodes;
-	private final Collection<ExecutionResult<T, R>> erroredTasks;
-	private final Collection<ExecutionResult<T, R>> executionResults;
+	//已经执行node的集合, 按执行完成的顺序
+	private final AppendOnlyLog<Node<T, R>> processedNodes;
+	private final Queue<Node<T, R>> discontinuedNodes;
+	/**
+	 * membership of processed/discontinued nodes, indexed by {@link Node#getIndex()}, nodes may be added while running
+	 */
+	private final GrowableBitSet processedMarks;
+	private final GrowableBitSet discontinuedMarks;
+	private final Set<ExecutionResult<T, R>> erroredTasks;
+	/**
+	 * latest result of each node, along with the order in which results were recorded
+	 */
+	private final ConcurrentMap<T, ExecutionResult<T, R>> executionResults;
+	private final AppendOnlyLog<ExecutionResult<T, R>> executionResultsOrder;
+	private volatile boolean resultsRetained = true;
 
 	public DefaultDexecutorState() {
-		this.graph =  new DefaultDag<>();
+		this(new DefaultDag<T, R>());
+	}
+
+	/**
+	 * 
+	 * @param graph which should hold the nodes, {@link CompactDag} for large graphs, it should index its nodes (see
+	 * {@link Node#getIndex()}) as the graphs of {@code com.github.dexecutor.core.graph} do
+	 */
+	public DefaultDexecutorState(final Dag<T, R> graph) {
+		checkNotNull(graph, "Graph should not be null");
+		this.graph = graph;
 		this.currentPhase = Phase.BUILDING;
 		this.nodesCount = new AtomicInteger(0);
-		this.processedNodes = new CopyOnWriteArrayList<Node<T, R>>();
-		this.discontinuedNodes = new CopyOnWriteArrayList<Node<T, R>>();
-		this.erroredTasks = new CopyOnWriteArraySet<ExecutionResult<T, R>>();
-		this.executionResults = new CopyOnWriteArraySet<ExecutionResult<T, R>>();
+		this.processedNodes = new AppendOnlyLog<Node<T, R>>();
+		this.discontinuedNodes = new ConcurrentLinkedQueue<Node<T, R>>();
+		this.erroredTasks = ConcurrentHashMap.newKeySet();
+		this.executionResults = new ConcurrentHashMap<T, ExecutionResult<T, R>>();
+		this.executionResultsOrder = new AppendOnlyLog<ExecutionResult<T, R>>();
+		this.processedMarks = new GrowableBitSet();
+		this.discontinuedMarks = new GrowableBitSet();
+	}
+
+	// checked on use, reading the nodes of the graph up front would compact a CompactDag
+	private int indexOf(final Node<T, R> node) {
+		int index = node.getIndex();
+		checkArgument(index >= 0, "Node " + node.getValue() + " is not indexed by its graph");
+		return index;
 	}
 
 	public void addIndependent(final T nodeValue) {
@@ -85,6 +124,11 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 	public Set<Node<T, R>> getNonProcessedRootNodes() {
 		return this.graph.getNonProcessedRootNodes();
 	}
+
+	@Override
+	public Set<Node<T, R>> getLeafNodes() {
+		return this.graph.getLeafNodes();
+	}
 	
 	public int graphSize() {
 		return this.graph.size();
@@ -106,30 +150,29 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 	}
 	
 	public boolean shouldProcess(final Node<T, R> node) {
-		return !isAlreadyProcessed(node) && allIncomingNodesProcessed(node);
+		return !isProcessed(node) && allIncomingNodesProcessed(node);
 	}
 
-	private boolean isAlreadyProcessed(final Node<T, R> node) {
-		return this.processedNodes.contains(node);
+	@Override
+	public boolean isProcessed(final Node<T, R> node) {
+		return this.processedMarks.get(indexOf(node));
 	}
 
 	private boolean allIncomingNodesProcessed(final Node<T, R> node) {
-		if (node.getInComingNodes().isEmpty() || areAlreadyProcessed(node.getInComingNodes())) {
-			return true;
-		}
-		return false;
+		return node.getUnProcessedParentsCount() == 0;
 	}
 
-	private boolean areAlreadyProcessed(final Set<Node<T, R>> nodes) {
-        return this.processedNodes.containsAll(nodes);
-    }
-	
 	public void markProcessingDone(final Node<T, R> node) {
-		this.processedNodes.add(node);
+		if (this.processedMarks.set(indexOf(node))) {
+			this.processedNodes.add(node);
+			for (Node<T, R> child : node.getOutGoingNodes()) {
+				child.onParentProcessed();
+			}
+		}
 	}
 
 	public Collection<Node<T, R>> getProcessedNodes() {
-		return new ArrayList<>(this.processedNodes);
+		return this.processedNodes.toList();
 	}
 	
 	public boolean isDiscontinuedNodesNotEmpty() {
@@ -142,10 +185,27 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 	
 	public void markDiscontinuedNodesProcessed() {
 		this.discontinuedNodes.clear();
+		this.discontinuedMarks.clear();
+	}
+
+	@Override
+	public Collection<Node<T, R>> drainDiscontinuedNodes() {
+		Collection<Node<T, R>> drained = new ArrayList<>();
+		Node<T, R> node;
+		while ((node = this.discontinuedNodes.poll()) != null) {
+			// cleared once taken, so that the node can be discontinued again
+			this.discontinuedMarks.clear(indexOf(node));
+			drained.add(node);
+		}
+		return drained;
 	}
 
 	public void processAfterNoError(final Collection<Node<T, R>> nodes) {
-		this.discontinuedNodes.addAll(nodes);
+		for (Node<T, R> node : nodes) {
+			if (this.discontinuedMarks.set(indexOf(node))) {
+				this.discontinuedNodes.add(node);
+			}
+		}
 	}
 
 	public void print(final Traversar<T, R> traversar, final TraversarAction<T, R> action) {
@@ -159,16 +219,33 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 	@Override
 	public void addErrored(final ExecutionResult<T, R> task) {
 		this.erroredTasks.add(task);
-		this.executionResults.add(task);
+		if (this.resultsRetained && this.executionResults.putIfAbsent(task.getId(), task) == null) {
+			this.executionResultsOrder.add(task);
+		}
 	}
 
 	@Override
 	public void removeErrored(final ExecutionResult<T, R> task) {
-		this.executionResults.remove(task);
-		this.executionResults.add(task);
+		if (this.resultsRetained) {
+			this.executionResults.put(task.getId(), task);
+			this.executionResultsOrder.add(task);
+		}
 		this.erroredTasks.remove(task);
 	}
 
+	@Override
+	public void setResultsRetained(final boolean retained) {
+		this.resultsRetained = retained;
+	}
+
+	@Override
+	public void releaseResult(final T id) {
+		ExecutionResult<T, R> result = this.executionResults.get(id);
+		if (result != null) {
+			result.release();
+		}
+	}
+
 	@Override
 	public int erroredCount() {
 		return this.erroredTasks.size();
@@ -177,8 +254,11 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 	@Override
 	public ExecutionResults<T, R> getExecutionResults() {
 		ExecutionResults<T, R> result = new ExecutionResults<>();
-		for (ExecutionResult<T, R> r : this.executionResults) {
-			result.add(r);
+		Set<T> added = new HashSet<T>();
+		for (ExecutionResult<T, R> r : this.executionResultsOrder.toList()) {
+			if (this.executionResults.get(r.getId()) == r && added.add(r.getId())) {
+				result.add(r);
+			}
 		}
 		return result;
 	}
@@ -193,8 +273,19 @@ public class DefaultDexecutorState<T, R> implements DexecutorState <T, R> {
 		this.currentPhase = Phase.TERMINATED;
 	}
 
+	@Override
+	public void enableConcurrentReads() {
+		this.graph.enableConcurrentReads();
+	}
+
 	@Override
 	public void onRecover() {
 		this.currentPhase = Phase.RECOVERED;
+		// nodes claimed before a stop, but never completed, are scheduled again
+		for (Node<T, R> node : this.graph.allNodes()) {
+			if (node.isNotProcessed() && !isProcessed(node)) {
+				node.releaseClaim();
+			}
+		}
 	}	
 }
\ No newline at end of file
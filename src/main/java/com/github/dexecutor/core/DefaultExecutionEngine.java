@@ -19,17 +19,28 @@ package com.github.dexecutor.core;
 
 import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
 
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.dexecutor.core.concurrent.ExecutorCompletionService;
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
 import com.github.dexecutor.core.concurrent.IdentifiableRunnableFuture;
+import com.github.dexecutor.core.task.AsyncTask;
 import com.github.dexecutor.core.task.ExecutionResult;
 import com.github.dexecutor.core.task.Task;
 import com.github.dexecutor.core.task.TaskExecutionException;
@@ -49,9 +60,15 @@ public final class DefaultExecutionEngine<T, R> implements ExecutionEngine<T, R>
 
 	private ExecutionListener<T, R> executionListener = new QuiteExecutionListener<>();
 	private final ExecutorService executorService;
+	private final BlockingQueue<Future<ExecutionResult<T, R>>> completionQueue;
 	private final ExecutorCompletionService<T, ExecutionResult<T, R>> completionService;
 
-	private ScheduledExecutorService timeoutExecutor;
+	private volatile HashedWheelTimer timeoutTimer;
+
+	private volatile ExecutionResultHandler<T, R> resultHandler;
+
+	private volatile SpeculationPolicy speculationPolicy;
+	private volatile SpeculationGuard<T, R> speculationGuard;
 
 	public DefaultExecutionEngine(final DexecutorState<T, R> state, final ExecutorService executorService) {
 		this(state, executorService, null);
@@ -67,7 +84,8 @@ public final class DefaultExecutionEngine<T, R> implements ExecutionEngine<T, R>
 		checkNotNull(executorService, "Executer Service should not be null");
 		this.state = state;
 		this.executorService = executorService;
-		this.completionService = new ExecutorCompletionService<T, ExecutionResult<T, R>>(executorService);
+		this.completionQueue = new LinkedBlockingQueue<Future<ExecutionResult<T, R>>>();
+		this.completionService = new ExecutorCompletionService<T, ExecutionResult<T, R>>(executorService, this.completionQueue);
 		if (listener != null) {
 			this.executionListener = listener;
 		}
@@ -84,70 +102,74 @@ public final class DefaultExecutionEngine<T, R> implements ExecutionEngine<T, R>
 			@SuppressWarnings("unchecked")
 			IdentifiableRunnableFuture<T, ExecutionResult<T, R>> future = (IdentifiableRunnableFuture<T, ExecutionResult<T, R>>) this.completionService.take();
 			identifier = future.getIdentifier();
-			if (future.isCancelled()) {
-				ExecutionResult<T, R> result = ExecutionResult.cancelled(future.getIdentifier(), "Task cancelled");
-				state.removeErrored(result);
-				return result;
-			} else {
-				return future.get();
-			}
+			return executionResult(future);
 		} catch (Exception e) {
 			throw new TaskExecutionException(identifier + " Task execution ", e);
 		}
 	}
 
+	private ExecutionResult<T, R> executionResult(final IdentifiableRunnableFuture<T, ExecutionResult<T, R>> future) throws Exception {
+		if (future.isCancelled()) {
+			ExecutionResult<T, R> result = ExecutionResult.cancelled(future.getIdentifier(), "Task cancelled");
+			state.removeErrored(result);
+			return result;
+		} else {
+			return future.get();
+		}
+	}
+
 	@Override
 	public void submit(final Task<T, R> task) {
 		logger.debug("Received Task {} ", task.getId());
-		Future<ExecutionResult<T, R>> future = this.completionService.submit(newCallable(task));
-
-		if (this.timeoutExecutor != null && task.getTimeout() != null) {
-			logger.trace("Task # {}, Is Timeout based", task.getId());
-			addTimeOut(task, future);
+		Future<ExecutionResult<T, R>> future;
+		ExecutionResultHandler<T, R> handler = this.resultHandler;
+		TaskDeadline<T, R> deadline = TaskDeadline.of(this.timeoutTimer, task);
+		if (task.isAsync()) {
+			AsyncTaskFuture asyncFuture = new AsyncTaskFuture(task, handler, deadline);
+			this.executorService.execute(asyncFuture);
+			future = asyncFuture;
+		} else if (isSpeculative(task)) {
+			SpeculativeTaskFuture speculativeFuture = new SpeculativeTaskFuture(task, handler, deadline);
+			this.executorService.execute(speculativeFuture);
+			future = speculativeFuture;
+		} else if (handler == null) {
+			future = this.completionService.submit(newCallable(task, deadline));
+		} else {
+			NotifyingFuture notifyingFuture = new NotifyingFuture(task.getId(), newCallable(task, deadline), handler);
+			this.executorService.execute(notifyingFuture);
+			future = notifyingFuture;
 		}
-	}
-
-	private void addTimeOut(Task<T, R> task, Future<ExecutionResult<T, R>> future) {
 
-		timeoutExecutor.schedule(new Runnable() {
-			public void run() {
-				if (task.isCompleted()) {
-					logger.trace("Task already completed {}", task);
-				} else if (task.isTimedOut()) {					
-					boolean result = future.cancel(true);
+		if (deadline != null) {
+			final Future<ExecutionResult<T, R>> timedFuture = future;
+			deadline.arm(new Runnable() {
+				public void run() {
+					boolean result = timedFuture.cancel(true);
 					logger.trace("Task timed out {}, cancelled it? : {}", task, result);
-				} else {
-					logger.trace("Task Not timed out {}, adding it back", task);
-					addTimeOut(task, future);
 				}
-			}
-		}, task.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+			});
+		}
 	}
 
-	private Callable<ExecutionResult<T, R>> newCallable(final Task<T, R> task) {
+	private boolean isSpeculative(final Task<T, R> task) {
+		return this.speculationPolicy != null && this.timeoutTimer != null && task.isIdempotent();
+	}
+
+	private Callable<ExecutionResult<T, R>> newCallable(final Task<T, R> task, final TaskDeadline<T, R> deadline) {
 		return new IdentifiableCallable<T, ExecutionResult<T,R>>() {
 
 			@Override
 			public ExecutionResult<T, R> call() throws Exception {
-				R r = null;
-				ExecutionResult<T, R> result = null;
 				try {
 					task.markStart();
-					r = task.execute();
-					result = ExecutionResult.success(task.getId(), r);
-					state.removeErrored(result);
-					task.markEnd();
-					executionListener.onSuccess(task);
+					return success(task, task.execute());
 				} catch (Exception e) {
-					result = ExecutionResult.errored(task.getId(), r, e.getMessage());
-					state.addErrored(result);
-					task.markEnd();
-					executionListener.onError(task, e);
-					logger.error("Error Execution Task # {}", task.getId(), e);
-				} finally {					
-					result.setTimes(task.getStartTime(), task.getEndTime());
+					return errored(task, e);
+				} finally {
+					if (deadline != null) {
+						deadline.finish();
+					}
 				}
-				return result;
 			}
 
 			@Override
@@ -157,6 +179,53 @@ public final class DefaultExecutionEngine<T, R> implements ExecutionEngine<T, R>
 		};
 	}
 
+	private ExecutionResult<T, R> success(final Task<T, R> task, final R r) {
+		ExecutionResult<T, R> result = ExecutionResult.success(task.getId(), r);
+		result.setSpawned(task.getSpawned());
+		state.removeErrored(result);
+		task.markEnd();
+		executionListener.onSuccess(task);
+		result.setTimes(task.getStartTime(), task.getEndTime());
+		return result;
+	}
+
+	private ExecutionResult<T, R> errored(final Task<T, R> task, final Exception e) {
+		ExecutionResult<T, R> result = ExecutionResult.errored(task.getId(), null, e.getMessage());
+		state.addErrored(result);
+		task.markEnd();
+		executionListener.onError(task, e);
+		logger.error("Error Execution Task # {}", task.getId(), e);
+		result.setTimes(task.getStartTime(), task.getEndTime());
+		return result;
+	}
+
+	/**
+	 * Pushes the result of a done future to the handler. A future cancelled on time out is done on the timer thread,
+	 * which is shared by all the deadlines, hence the result is pushed from the task executor instead.
+	 */
+	private void pushResult(final ExecutionResultHandler<T, R> handler, final IdentifiableRunnableFuture<T, ExecutionResult<T, R>> future) {
+		if (future.isCancelled()) {
+			try {
+				this.executorService.execute(() -> handler.onResult(doneResult(future)));
+				return;
+			} catch (RejectedExecutionException e) {
+				logger.debug("Executor rejected the result of cancelled Task {}, pushing it from this thread", future.getIdentifier());
+			}
+		}
+		handler.onResult(doneResult(future));
+	}
+
+	private ExecutionResult<T, R> doneResult(final IdentifiableRunnableFuture<T, ExecutionResult<T, R>> future) {
+		try {
+			return executionResult(future);
+		} catch (Exception e) {
+			logger.error("Error Execution Task # {}", future.getIdentifier(), e);
+			ExecutionResult<T, R> result = ExecutionResult.errored(future.getIdentifier(), null, e.getMessage());
+			state.addErrored(result);
+			return result;
+		}
+	}
+
 	@Override
 	public boolean isDistributed() {
 		return false;
@@ -178,7 +247,297 @@ public final class DefaultExecutionEngine<T, R> implements ExecutionEngine<T, R>
 	}
 
 	@Override
-	public void setTimeoutScheduler(ScheduledExecutorService timeoutExecutor) {
-		this.timeoutExecutor = timeoutExecutor;		
+	public ExecutionListener<T, R> getExecutionListener() {
+		return this.executionListener;
+	}
+
+	@Override
+	public void setTimeoutTimer(HashedWheelTimer timeoutTimer) {
+		this.timeoutTimer = timeoutTimer;
+	}
+
+	@Override
+	public void setResultHandler(ExecutionResultHandler<T, R> resultHandler) {
+		this.resultHandler = resultHandler;
+	}
+
+	@Override
+	public void setSpeculationPolicy(SpeculationPolicy speculationPolicy) {
+		this.speculationPolicy = speculationPolicy;
+	}
+
+	@Override
+	public void setSpeculationGuard(SpeculationGuard<T, R> speculationGuard) {
+		this.speculationGuard = speculationGuard;
+	}
+
+	/**
+	 * Pushes the result to the handler as soon as the task is done (or cancelled), skipping the completion queue
+	 */
+	private final class NotifyingFuture extends IdentifiableRunnableFuture<T, ExecutionResult<T, R>> {
+
+		private final ExecutionResultHandler<T, R> handler;
+
+		NotifyingFuture(final T identifier, final Callable<ExecutionResult<T, R>> callable, final ExecutionResultHandler<T, R> handler) {
+			super(identifier, callable);
+			this.handler = handler;
+		}
+
+		@Override
+		protected void done() {
+			pushResult(this.handler, this);
+		}
+	}
+
+	/**
+	 * Runs only to start an {@link AsyncTask}, the future completes when the stage returned by the task does,
+	 * no thread is held meanwhile
+	 */
+	private final class AsyncTaskFuture extends IdentifiableRunnableFuture<T, ExecutionResult<T, R>> {
+
+		private final Task<T, R> task;
+		private final ExecutionResultHandler<T, R> handler;
+		private final TaskDeadline<T, R> deadline;
+		private volatile CompletionStage<R> stage;
+
+		AsyncTaskFuture(final Task<T, R> task, final ExecutionResultHandler<T, R> handler, final TaskDeadline<T, R> deadline) {
+			super(task.getId(), new Callable<ExecutionResult<T, R>>() {
+				@Override
+				public ExecutionResult<T, R> call() {
+					throw new IllegalStateException("Async Task " + task.getId() + " should be started, not called");
+				}
+			});
+			this.task = task;
+			this.handler = handler;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public void run() {
+			if (isDone()) {
+				return;
+			}
+			try {
+				this.task.markStart();
+				this.stage = this.task.executeAsync();
+			} catch (Exception e) {
+				set(errored(this.task, e));
+				return;
+			}
+			this.stage.whenComplete((r, error) -> {
+				if (isDone()) {
+					logger.trace("Task {} already cancelled", this.task.getId());
+				} else if (error == null) {
+					set(success(this.task, r));
+				} else {
+					set(errored(this.task, AsyncTask.unwrap(error)));
+				}
+			});
+		}
+
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			CompletionStage<R> current = this.stage;
+			if (cancelled && current != null) {
+				try {
+					current.toCompletableFuture().cancel(mayInterruptIfRunning);
+				} catch (UnsupportedOperationException e) {
+					logger.trace("Stage of Task {} can not be cancelled", this.task.getId());
+				}
+			}
+			return cancelled;
+		}
+
+		@Override
+		protected void done() {
+			if (this.deadline != null) {
+				this.deadline.finish();
+			}
+			if (this.handler == null) {
+				completionQueue.add(this);
+				return;
+			}
+			pushResult(this.handler, this);
+		}
+	}
+
+	/**
+	 * Runs the first attempt of an idempotent task, and a duplicate attempt if the first one straggles, the future
+	 * completes with whichever attempt succeeds first (or with the error of the last failed attempt), and the other
+	 * attempt is cancelled
+	 */
+	private final class SpeculativeTaskFuture extends IdentifiableRunnableFuture<T, ExecutionResult<T, R>> {
+
+		private final Task<T, R> task;
+		private final ExecutionResultHandler<T, R> handler;
+		private final TaskDeadline<T, R> deadline;
+		private final SpeculationPolicy policy;
+		private final SpeculationGuard<T, R> guard;
+		// guards the grant of the duplicate attempt, which is handed back in done()
+		private boolean duplicateGranted;
+		private final Queue<Attempt> attempts = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger runningAttempts = new AtomicInteger(1);
+		private final AtomicReference<Attempt> winner = new AtomicReference<>();
+		private volatile HashedWheelTimer.Timeout speculation;
+		private volatile Exception lastError;
+
+		SpeculativeTaskFuture(final Task<T, R> task, final ExecutionResultHandler<T, R> handler, final TaskDeadline<T, R> deadline) {
+			super(task.getId(), new Callable<ExecutionResult<T, R>>() {
+				@Override
+				public ExecutionResult<T, R> call() {
+					throw new IllegalStateException("Speculative Task " + task.getId() + " should be run, not called");
+				}
+			});
+			this.task = task;
+			this.handler = handler;
+			this.deadline = deadline;
+			this.policy = speculationPolicy;
+			this.guard = speculationGuard;
+		}
+
+		@Override
+		public void run() {
+			if (isDone()) {
+				return;
+			}
+			this.task.markStart();
+			Duration threshold = this.policy.threshold(this.task.getType());
+			if (threshold != null) {
+				this.speculation = timeoutTimer.newTimeout(new Runnable() {
+					public void run() {
+						speculate();
+					}
+				}, threshold.toNanos(), TimeUnit.NANOSECONDS);
+			}
+			Attempt first = new Attempt(false);
+			this.attempts.add(first);
+			first.future.run();
+		}
+
+		private void speculate() {
+			// a single duplicate, only while the first attempt is still running
+			if (isDone() || !this.runningAttempts.compareAndSet(1, 2)) {
+				return;
+			}
+			if (!tryGrantDuplicate()) {
+				logger.debug("Task {} is straggling, no room for a speculative attempt", getIdentifier());
+				this.runningAttempts.decrementAndGet();
+				return;
+			}
+			logger.debug("Task {} is straggling, launching a speculative attempt", getIdentifier());
+			Attempt duplicate = new Attempt(true);
+			this.attempts.add(duplicate);
+			try {
+				executorService.execute(duplicate.future);
+			} catch (RejectedExecutionException e) {
+				logger.debug("Speculative attempt of Task {} rejected", getIdentifier());
+				onAttemptFailed(duplicate, this.lastError);
+			}
+		}
+
+		private void runAttempt(final Attempt attempt) {
+			if (isDone()) {
+				return;
+			}
+			long start = System.nanoTime();
+			R r;
+			try {
+				r = this.task.execute();
+			} catch (Exception e) {
+				onAttemptFailed(attempt, e);
+				return;
+			}
+			if (this.winner.compareAndSet(null, attempt)) {
+				this.policy.record(this.task.getType(), System.nanoTime() - start);
+				if (attempt.speculative) {
+					logger.debug("Speculative attempt of Task {} finished first", getIdentifier());
+				}
+				set(success(this.task, r));
+			}
+		}
+
+		private void onAttemptFailed(final Attempt attempt, final Exception e) {
+			if (e != null) {
+				this.lastError = e;
+			}
+			if (this.runningAttempts.decrementAndGet() == 0 && this.winner.compareAndSet(null, attempt)) {
+				set(errored(this.task, this.lastError));
+			}
+		}
+
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				cancelAttempts(null, mayInterruptIfRunning);
+			}
+			return cancelled;
+		}
+
+		private void cancelAttempts(final Attempt except, final boolean mayInterruptIfRunning) {
+			for (Attempt attempt : this.attempts) {
+				if (attempt != except && attempt.future.cancel(mayInterruptIfRunning)) {
+					logger.trace("Cancelled an attempt of Task {}", getIdentifier());
+				}
+			}
+		}
+
+		@Override
+		protected void done() {
+			HashedWheelTimer.Timeout current = this.speculation;
+			if (current != null) {
+				current.cancel();
+			}
+			Attempt won = this.winner.get();
+			if (won != null) {
+				// the losers, through the same path as timeouts
+				cancelAttempts(won, true);
+			}
+			// handed back before the result, which may be waited on to admit the next tasks
+			releaseDuplicate();
+			if (this.deadline != null) {
+				this.deadline.finish();
+			}
+			if (this.handler == null) {
+				completionQueue.add(this);
+				return;
+			}
+			pushResult(this.handler, this);
+		}
+
+		private synchronized boolean tryGrantDuplicate() {
+			if (this.guard == null) {
+				return true;
+			}
+			// once done, the grant would never be handed back
+			if (isDone() || !this.guard.tryAcquire(this.task)) {
+				return false;
+			}
+			this.duplicateGranted = true;
+			return true;
+		}
+
+		private synchronized void releaseDuplicate() {
+			if (this.duplicateGranted) {
+				this.duplicateGranted = false;
+				this.guard.release(this.task);
+			}
+		}
+
+		private final class Attempt implements Runnable {
+
+			private final boolean speculative;
+			private final FutureTask<Void> future = new FutureTask<>(this, null);
+
+			Attempt(final boolean speculative) {
+				this.speculative = speculative;
+			}
+
+			@Override
+			public void run() {
+				runAttempt(this);
+			}
+		}
 	}
 }
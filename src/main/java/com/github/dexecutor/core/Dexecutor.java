@@ -17,6 +17,10 @@
 
 package com.github.dexecutor.core;
 
+import java.util.Set;
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+
 import com.github.dexecutor.core.graph.DependencyAware;
 import com.github.dexecutor.core.graph.Traversar;
 import com.github.dexecutor.core.graph.TraversarAction;
@@ -42,6 +46,90 @@ public interface Dexecutor<T, R> extends DependencyAware<T> {
 	 */
 	ExecutionResults<T, R> execute(final ExecutionConfig config);
 
+	/**
+	 * Kicks off the execution of the nodes, just like {@link #execute(ExecutionConfig)}, but returns immediately
+	 * without blocking the calling thread
+	 * 
+	 * @param config based on which execution should proceed.
+	 * 
+	 * @return stage which completes with the results, once all the nodes are processed
+	 * @throws UnsupportedOperationException if this dexecutor can only execute synchronously
+	 */
+	default CompletionStage<ExecutionResults<T, R>> executeAsync(final ExecutionConfig config) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support asynchronous execution");
+	}
+
+	/**
+	 * Kicks off the execution of the nodes without waiting for it, as {@link #execute(ExecutionConfig)} would on another
+	 * thread, and streams each result as soon as it is processed. Results of a node which is retried are streamed for
+	 * every execution.
+	 * 
+	 * @param config based on which execution should proceed.
+	 * @param bufferSize number of results which may wait for the consumer, before the execution waits for it
+	 * @param retainResults {@code false} if the results should not be retained in the state as well, once streamed
+	 * 
+	 * @return the stream of the results, which ends once all the nodes are processed
+	 * @throws UnsupportedOperationException if this dexecutor can not stream the results
+	 */
+	default ExecutionResultStream<T, R> executeStreaming(final ExecutionConfig config, final int bufferSize, final boolean retainResults) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support streaming the results");
+	}
+
+	/**
+	 * Kicks off the execution of the nodes added so far, and keeps accepting nodes and dependencies while running, a
+	 * node is executed as soon as it is ready. A dependency can't be added to a node which is already scheduled, nor
+	 * one which would form a cycle.
+	 * 
+	 * @param config based on which execution should proceed.
+	 * 
+	 * @return stage which completes with the results, once sealed and all the nodes are processed
+	 * @throws UnsupportedOperationException if nodes can't be added to this dexecutor while running
+	 */
+	default CompletionStage<ExecutionResults<T, R>> executeDynamically(final ExecutionConfig config) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support dynamic execution");
+	}
+
+	/**
+	 * Adds the dependencies of the later node on all the first nodes at once, while executing dynamically the later
+	 * node is not scheduled before all of them are in place
+	 * 
+	 * @param evalFirstValues values of the nodes which should be evaluated first
+	 * @param evalAfterValue value of the node which should be evaluated after all of them
+	 */
+	default void addDependencies(final Collection<T> evalFirstValues, final T evalAfterValue) {
+		if (evalFirstValues.isEmpty()) {
+			addIndependent(evalAfterValue);
+		}
+		for (T evalFirstValue : evalFirstValues) {
+			addDependency(evalFirstValue, evalAfterValue);
+		}
+	}
+
+	/**
+	 * Signals that no more nodes would be added, to a graph being executed dynamically
+	 * 
+	 * @throws IllegalStateException if the graph is not being executed dynamically, or is already sealed
+	 */
+	default void seal() {
+		throw new IllegalStateException(getClass().getSimpleName() + " is not executing dynamically");
+	}
+
+	/**
+	 * Executes only the changed nodes and their descendants, the rest of the nodes are considered processed with
+	 * their results of a previous run (and are parent results for the re-executed ones). Nodes which did not succeed
+	 * (or were not skipped) in the previous run are re-executed as well, along with their descendants. Defaults to
+	 * executing all the nodes.
+	 * 
+	 * @param previousResults results of a previous run of the same graph
+	 * @param changedNodes ids of the nodes whose inputs have changed
+	 * @param config based on which execution should proceed.
+	 * 
+	 * @return {@link ExecutionResults} the results of all the nodes, reused or re-executed
+	 */
+	default ExecutionResults<T, R> executeIncrementally(final ExecutionResults<T, R> previousResults, final Set<T> changedNodes, final ExecutionConfig config) {
+		return execute(config);
+	}
+
 	/**
 	 * After a dexecutor crash, create a new instance of dexecutor and call this method for recovery
 	 * @param config based on which execution would recover
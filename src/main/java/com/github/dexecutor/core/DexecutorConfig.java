@@ -17,12 +17,25 @@
 
 package com.github.dexecutor.core;
 
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
 import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
 
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+import com.github.dexecutor.core.concurrent.PrioritizedExecutorService;
+import com.github.dexecutor.core.graph.CompactDag;
 import com.github.dexecutor.core.graph.CyclicValidator;
+import com.github.dexecutor.core.graph.LongDag;
 import com.github.dexecutor.core.graph.Validator;
+import com.github.dexecutor.core.support.VirtualThreads;
+import com.github.dexecutor.core.task.Task;
 import com.github.dexecutor.core.task.TaskProvider;
 
 /**
@@ -42,15 +55,71 @@ public class DexecutorConfig<T, R> {
 	private int immediateRetryPoolThreadsCount = 1;
 	
 	/**
-	 * Number of threads that should handle the immediate retry.
+	 * Number of threads that should handle the scheduled retry, no longer used
 	 */
 	private int scheduledRetryPoolThreadsCount = 1;
 	
 	/**
-	 * Number of threads that should handle the timeout scheduler.
+	 * Number of threads that should handle the timeout scheduler, no longer used
 	 */
 	private int timeoutSchedulerPoolThreadsCount = 2;
 
+	/**
+	 * When enabled, the worker thread which finishes a task updates the state and schedules the ready children itself,
+	 * instead of handing the result over to the thread which called execute. 
+	 */
+	private boolean decentralizedScheduling = false;
+
+	/**
+	 * Thread factory for the retry schedulers and the timeout timer
+	 */
+	private ThreadFactory schedulerThreadFactory = Executors.defaultThreadFactory();
+
+	/**
+	 * When enabled, linear chains of nodes are executed back to back on one worker
+	 */
+	private boolean chainFusion = false;
+
+	/**
+	 * When enabled, result of a node is dropped once all its children consumed it
+	 */
+	private boolean releaseConsumedResults = false;
+
+	/**
+	 * Maximum number of tasks submitted to the execution engine at a time, zero for no limit
+	 */
+	private int maxInFlight = 0;
+
+	/**
+	 * Number of tasks which can use a resource at the same time, by resource tag
+	 */
+	private final Map<String, Integer> resourcePermits = new HashMap<>();
+
+	/**
+	 * When set, straggling idempotent tasks are speculatively executed
+	 */
+	private SpeculationPolicy speculationPolicy;
+
+	/**
+	 * When set, results of the tasks are looked up before they are executed
+	 */
+	private ResultCache<T, R> resultCache;
+
+	/**
+	 * Digests the parent results, into the fingerprints by which the results are cached
+	 */
+	private ResultHasher<R> resultHasher = new SerializingResultHasher<>();
+
+	/**
+	 * Listener, which was given to the execution engine
+	 */
+	private ExecutionListener<T, R> executionListener = new QuiteExecutionListener<>();
+
+	/**
+	 * Retry executors and timeout timer, shared across instances, if set
+	 */
+	private SchedulingContext schedulingContext;
+
 	/**
 	 * executor is the main platform on which tasks are executed
 	 */
@@ -81,6 +150,9 @@ public class DexecutorConfig<T, R> {
 		checkNotNull(taskProvider, "Task Provider should not be null");
 		this.executionEngine = new DefaultExecutionEngine<>(this.dexecutorState, executorService, listener);
 		this.taskProvider = taskProvider;
+		if (listener != null) {
+			this.executionListener = listener;
+		}
 	}
 
 	/**
@@ -101,11 +173,97 @@ public class DexecutorConfig<T, R> {
 		this.dexecutorState = dexecutorState;
 	}
 
+	/**
+	 * Creates the config, which executes every task on its own virtual thread and runs the retry and timeout schedulers
+	 * on virtual threads as well, see {@link VirtualThreadExecutionEngine}
+	 * 
+	 * @param taskProvider provided task provider
+	 * @param maxConcurrency maximum number of tasks executing at the same time, during a run
+	 * @param <T> Type of Node/Task ID
+	 * @param <R> Type of Node/Task result
+	 * @return the config
+	 */
+	public static <T, R> DexecutorConfig<T, R> newVirtualThreadConfig(final TaskProvider<T, R> taskProvider, final int maxConcurrency) {
+		DexecutorState<T, R> state = new DefaultDexecutorState<>();
+		DexecutorConfig<T, R> config = new DexecutorConfig<>(state, new VirtualThreadExecutionEngine<>(state, maxConcurrency), taskProvider);
+		config.setSchedulerThreadFactory(VirtualThreads.newThreadFactory("dexecutor-scheduler-"));
+		return config;
+	}
+
+	/**
+	 * Creates the config, which hands the ready nodes over to the executor service in the order of their bottom level
+	 * (costliest remaining path), instead of the order in which they became ready, see {@link CriticalPathPrioritizer}
+	 * 
+	 * @param executorService provided executor service
+	 * @param taskProvider provided task provider
+	 * @param costModel estimates the cost of the nodes
+	 * @param <T> Type of Node/Task ID
+	 * @param <R> Type of Node/Task result
+	 * @return the config
+	 */
+	public static <T, R> DexecutorConfig<T, R> newCriticalPathConfig(final ExecutorService executorService, final TaskProvider<T, R> taskProvider, final CostModel<T> costModel) {
+		checkNotNull(executorService, "Executer Service should not be null");
+		DexecutorState<T, R> state = new DefaultDexecutorState<>();
+		ExecutorService prioritized = new PrioritizedExecutorService<T>(executorService, new CriticalPathPrioritizer<>(state, costModel));
+		return new DexecutorConfig<>(state, new DefaultExecutionEngine<>(state, prioritized), taskProvider);
+	}
+
+	/**
+	 * Creates the config, which journals the result of every successful node into the file, so that
+	 * {@link Dexecutor#recoverExecution(ExecutionConfig)} resumes after a restart of the process, see
+	 * {@link JournalingDexecutorState}
+	 * 
+	 * @param executorService provided executor service
+	 * @param taskProvider provided task provider
+	 * @param journalFile where the node results are journaled
+	 * @param <T> Type of Node/Task ID
+	 * @param <R> Type of Node/Task result
+	 * @return the config
+	 */
+	public static <T, R> DexecutorConfig<T, R> newJournalingConfig(final ExecutorService executorService, final TaskProvider<T, R> taskProvider, final Path journalFile) {
+		checkNotNull(executorService, "Executer Service should not be null");
+		DexecutorState<T, R> state = new JournalingDexecutorState<>(journalFile);
+		return new DexecutorConfig<>(state, new DefaultExecutionEngine<>(state, executorService), taskProvider);
+	}
+
+	/**
+	 * Creates the config, which keeps the graph in compressed sparse row form, see {@link CompactDag}
+	 * 
+	 * @param executorService provided executor service
+	 * @param taskProvider provided task provider
+	 * @param <T> Type of Node/Task ID
+	 * @param <R> Type of Node/Task result
+	 * @return the config
+	 */
+	public static <T, R> DexecutorConfig<T, R> newCompactConfig(final ExecutorService executorService, final TaskProvider<T, R> taskProvider) {
+		checkNotNull(executorService, "Executer Service should not be null");
+		DexecutorState<T, R> state = new DefaultDexecutorState<>(new CompactDag<T, R>());
+		return new DexecutorConfig<>(state, new DefaultExecutionEngine<>(state, executorService), taskProvider);
+	}
+
+	/**
+	 * Creates the config, which executes the given graph of nodes with {@code long} ids, see {@link LongDag}
+	 * 
+	 * @param executorService provided executor service
+	 * @param taskProvider provided task provider
+	 * @param graph the nodes, which may be added to the graph directly without boxing the ids
+	 * @param <R> Type of Node/Task result
+	 * @return the config
+	 */
+	public static <R> DexecutorConfig<Long, R> newLongConfig(final ExecutorService executorService, final TaskProvider<Long, R> taskProvider, final LongDag<R> graph) {
+		checkNotNull(executorService, "Executer Service should not be null");
+		DexecutorState<Long, R> state = new DefaultDexecutorState<>(graph);
+		return new DexecutorConfig<>(state, new DefaultExecutionEngine<>(state, executorService), taskProvider);
+	}
+
 	void validate() {
 		checkNotNull(this.executionEngine, "Execution Engine should not be null");
 		checkNotNull(this.taskProvider, "Task Provider should not be null");
 		checkNotNull(this.validator, "Validator should not be null");
 		checkNotNull(this.dexecutorState, "Dexecutor State should not be null");		
+		checkNotNull(this.schedulerThreadFactory, "Scheduler Thread Factory should not be null");
+		checkArgument(this.maxInFlight >= 0, "Max in flight should not be negative");
+		checkNotNull(this.resultHasher, "Result Hasher should not be null");
 	}
 
 	ExecutionEngine<T, R> getExecutorEngine() {
@@ -144,26 +302,96 @@ public class DexecutorConfig<T, R> {
 	/**
 	 * 
 	 * @return the scheduled retry thread pool size
+	 * @deprecated retries are scheduled on the timeout timer, see {@link HashedWheelTimer}
 	 */
+	@Deprecated
 	public int getScheduledRetryPoolThreadsCount() {
 		return scheduledRetryPoolThreadsCount;
 	}
 	/**
 	 * sets the scheduled thread pool size to that of specified
-	 * @param scheduledRetryPoolThreadsCount Number of threads that should process retry immediately 
+	 * @param scheduledRetryPoolThreadsCount ignored
+	 * @deprecated retries are scheduled on the timeout timer, see {@link HashedWheelTimer}
 	 */
+	@Deprecated
 	public void setScheduledRetryPoolThreadsCount(int scheduledRetryPoolThreadsCount) {
 		this.scheduledRetryPoolThreadsCount = scheduledRetryPoolThreadsCount;
 	}
 	
+	/**
+	 * 
+	 * @return the timeout scheduler pool size
+	 * @deprecated timeouts are tracked by a single timer thread, see {@link HashedWheelTimer}
+	 */
+	@Deprecated
 	public int getTimeoutSchedulerPoolThreadsCount() {
 		return timeoutSchedulerPoolThreadsCount;
 	}
 
+	/**
+	 * 
+	 * @param timeoutSchedulerPoolThreadsCount ignored
+	 * @deprecated timeouts are tracked by a single timer thread, see {@link HashedWheelTimer}
+	 */
+	@Deprecated
 	public void setTimeoutSchedulerPoolThreadsCount(int timeoutSchedulerPoolThreadsCount) {
 		this.timeoutSchedulerPoolThreadsCount = timeoutSchedulerPoolThreadsCount;
 	}
 
+	/**
+	 * 
+	 * @return thread factory for the retry and timeout schedulers
+	 */
+	public ThreadFactory getSchedulerThreadFactory() {
+		return schedulerThreadFactory;
+	}
+
+	/**
+	 * sets the thread factory for the retry and timeout schedulers
+	 * @param schedulerThreadFactory the thread factory
+	 */
+	public void setSchedulerThreadFactory(ThreadFactory schedulerThreadFactory) {
+		this.schedulerThreadFactory = schedulerThreadFactory;
+	}
+
+	/**
+	 * 
+	 * @return {@code true} if worker threads schedule the ready nodes themselves
+	 */
+	public boolean isDecentralizedScheduling() {
+		return decentralizedScheduling;
+	}
+
+	/**
+	 * Enables the coordinator free scheduling, where in the worker thread which finishes a task processes its result and
+	 * submits the newly ready nodes, while the calling thread just waits for the execution to complete.
+	 * The execution engine should support {@link ExecutionEngine#setResultHandler(ExecutionResultHandler)}
+	 * 
+	 * @param decentralizedScheduling {@code true} to enable
+	 */
+	public void setDecentralizedScheduling(boolean decentralizedScheduling) {
+		this.decentralizedScheduling = decentralizedScheduling;
+	}
+
+	/**
+	 * 
+	 * @return the shared scheduling context, null if each instance creates its own
+	 */
+	public SchedulingContext getSchedulingContext() {
+		return schedulingContext;
+	}
+
+	/**
+	 * Sets the context, whose retry executors and timeout timer are used instead of the ones each instance would
+	 * create and shut down, thread pool counts and thread factory of this config are then ignored. Useful when many
+	 * small graphs are executed, the context should be shut down by the caller once done.
+	 * 
+	 * @param schedulingContext the shared context
+	 */
+	public void setSchedulingContext(final SchedulingContext schedulingContext) {
+		this.schedulingContext = schedulingContext;
+	}
+
 	/**
 	 * 
 	 * @return the dexecutor state
@@ -183,6 +411,152 @@ public class DexecutorConfig<T, R> {
 	public void setExecutionListener(ExecutionListener<T, R> listener) {
 		if (listener != null) {
 			this.executionEngine.setExecutionListener(listener);
+			this.executionListener = listener;
 		}
 	}
+
+	ExecutionListener<T, R> getExecutionListener() {
+		return this.executionListener;
+	}
+
+	/**
+	 * 
+	 * @return {@code true} if linear chains are fused
+	 */
+	public boolean isChainFusion() {
+		return chainFusion;
+	}
+
+	/**
+	 * Enables fusing of linear chains, every maximal chain of nodes where in each node has a single child which has no
+	 * other parent, is submitted as one unit and its nodes are executed back to back on one worker. Each node still
+	 * gets its own result, skipped, errored and timeout based nodes end the fused execution and proceed as usual.
+	 * Chain members notify the listener of the execution engine (see {@link ExecutionEngine#getExecutionListener()}), as
+	 * the first node does, or the listener set through this config if the engine does not expose its own.
+	 * Ignored for distributed execution engines.
+	 * 
+	 * @param chainFusion {@code true} to enable
+	 */
+	public void setChainFusion(boolean chainFusion) {
+		this.chainFusion = chainFusion;
+	}
+
+	/**
+	 * 
+	 * @return {@code true} if results are released once consumed
+	 */
+	public boolean isReleaseConsumedResults() {
+		return releaseConsumedResults;
+	}
+
+	/**
+	 * Enables releasing the result of a node, once all its children are processed, so that the peak memory is bound by
+	 * the results in use rather than by all the results of the run. Results of leaf nodes and of tasks which are
+	 * {@link Task#isRetainedOutput()} are kept, released results are {@code null} in the returned execution results.
+	 * 
+	 * @param releaseConsumedResults {@code true} to enable
+	 */
+	public void setReleaseConsumedResults(boolean releaseConsumedResults) {
+		this.releaseConsumedResults = releaseConsumedResults;
+	}
+
+	/**
+	 * 
+	 * @return maximum number of tasks submitted to the execution engine at a time, zero if there is no limit
+	 */
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	/**
+	 * Bounds the number of tasks submitted to the execution engine at a time. Nodes which become ready while the limit
+	 * is reached are queued, and the {@link TaskProvider} is asked for their tasks only when a running task finishes,
+	 * keeping the memory bounded for wide graphs. Retries are queued as ready nodes as well, and admitted within the
+	 * limit.
+	 * 
+	 * @param maxInFlight the limit, zero for no limit
+	 */
+	public void setMaxInFlight(int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Limits the number of tasks, tagged with the given resource (see {@link Task#getResourceTags()}), executing at
+	 * the same time. A ready node whose resources are all in use waits without occupying a worker, while other ready
+	 * nodes keep executing.
+	 * 
+	 * @param resourceTag the resource tag
+	 * @param permits number of tasks which can use the resource at the same time
+	 */
+	public void setResourcePermits(final String resourceTag, final int permits) {
+		checkNotNull(resourceTag, "Resource tag should not be null");
+		checkArgument(permits > 0, "Resource permits should be positive");
+		this.resourcePermits.put(resourceTag, permits);
+	}
+
+	/**
+	 * 
+	 * @return permits by resource tag
+	 */
+	public Map<String, Integer> getResourcePermits() {
+		return Collections.unmodifiableMap(this.resourcePermits);
+	}
+
+	/**
+	 * 
+	 * @return the speculation policy, null if speculation is disabled
+	 */
+	public SpeculationPolicy getSpeculationPolicy() {
+		return speculationPolicy;
+	}
+
+	/**
+	 * Enables speculative execution, a duplicate attempt of an idempotent task (see {@link Task#isIdempotent()}) is
+	 * launched once the task runs longer than the policy allows for its type, whichever attempt finishes first is taken
+	 * and the other is cancelled. The execution engine should support {@link ExecutionEngine#setSpeculationPolicy(SpeculationPolicy)}.
+	 * The duplicate attempt takes an in flight slot and the permits of its resources, it is not launched when they are
+	 * not free.
+	 * 
+	 * @param speculationPolicy the policy, null to disable speculation
+	 */
+	public void setSpeculationPolicy(final SpeculationPolicy speculationPolicy) {
+		this.speculationPolicy = speculationPolicy;
+	}
+
+	/**
+	 * 
+	 * @return the result cache, null if results are not cached
+	 */
+	public ResultCache<T, R> getResultCache() {
+		return resultCache;
+	}
+
+	/**
+	 * Caches the results of the tasks which declare their inputs (see {@link Task#getInputsFingerprint()}), by node id
+	 * and the fingerprint of the inputs and the parent results. A node whose result is cached is marked successful
+	 * without occupying a worker, see {@link LruResultCache} and {@link DiskResultCache}.
+	 * 
+	 * @param resultCache the cache, null to disable caching
+	 */
+	public void setResultCache(final ResultCache<T, R> resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * 
+	 * @return the result hasher
+	 */
+	public ResultHasher<R> getResultHasher() {
+		return resultHasher;
+	}
+
+	/**
+	 * Digests the parent results, into the fingerprints by which the results are cached, defaults to
+	 * {@link SerializingResultHasher}
+	 * 
+	 * @param resultHasher the hasher
+	 */
+	public void setResultHasher(final ResultHasher<R> resultHasher) {
+		this.resultHasher = resultHasher;
+	}
 }
@@ -16,7 +16,11 @@
  */
 package com.github.dexecutor.core;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import com.github.dexecutor.core.graph.DependencyAware;
@@ -62,6 +66,26 @@ public interface DexecutorState<T, R> extends DependencyAware<T>, NodeProvider<T
 	 */
 	Set<Node<T, R>> getNonProcessedRootNodes();
 
+	/**
+	 * Returns the Set of nodes for which there is no outgoing dependencies.
+	 * @return set of leaf nodes
+	 */
+	default Set<Node<T, R>> getLeafNodes() {
+		Set<Node<T, R>> leafNodes = new LinkedHashSet<Node<T, R>>();
+		Set<Node<T, R>> visited = new HashSet<Node<T, R>>();
+		Deque<Node<T, R>> walk = new ArrayDeque<Node<T, R>>(getInitialNodes());
+		while (!walk.isEmpty()) {
+			Node<T, R> node = walk.poll();
+			if (visited.add(node)) {
+				if (node.getOutGoingNodes().isEmpty()) {
+					leafNodes.add(node);
+				}
+				walk.addAll(node.getOutGoingNodes());
+			}
+		}
+		return leafNodes;
+	}
+
 	/**
 	 * Prints the graph into the writer using the Traversar
 	 * 
@@ -106,11 +130,26 @@ public interface DexecutorState<T, R> extends DependencyAware<T>, NodeProvider<T
 	 * @return weather the {@code node} should be processed by dexecutor or not
 	 */
 	boolean shouldProcess(final Node<T, R> node);
+	/**
+	 * 
+	 * @param node on which test should happen
+	 * @return {@code true} if the {@code node} is marked processed
+	 */
+	default boolean isProcessed(final Node<T, R> node) {
+		return node.getUnProcessedParentsCount() == 0 && !shouldProcess(node);
+	}
 	/**
 	 * 
 	 * @param node Mark the {@code node} as processed.
 	 */
 	void markProcessingDone(final Node<T, R> node);
+	/**
+	 * Called before the tasks of the ready nodes are submitted, states which make the processed nodes durable should
+	 * have done so by now, states which do not need not override this
+	 */
+	default void syncProcessedNodes() {
+
+	}
 	
 	/**
 	 * 
@@ -133,6 +172,17 @@ public interface DexecutorState<T, R> extends DependencyAware<T>, NodeProvider<T
 	 * clear (or marks) all the discontinued nodes till this point as processed
 	 */
 	void markDiscontinuedNodesProcessed();
+	/**
+	 * Takes out the discontinued nodes, nodes discontinued meanwhile are either taken or kept for the next drain.
+	 * States which are updated by a single thread need not override this.
+	 * 
+	 * @return the nodes taken out, to be processed now
+	 */
+	default Collection<Node<T, R>> drainDiscontinuedNodes() {
+		Collection<Node<T, R>> nodes = getDiscontinuedNodes();
+		markDiscontinuedNodesProcessed();
+		return nodes;
+	}
 	/**
 	 * Add to existing collection of discontinued nodes to be processed later, if system come to valid state.
 	 * @param nodes which should be processed after retry success
@@ -148,6 +198,31 @@ public interface DexecutorState<T, R> extends DependencyAware<T>, NodeProvider<T
 	 * @param task to remove from errored collection
 	 */
 	void removeErrored(ExecutionResult<T, R> task);
+	/**
+	 * Drops the result of the node, once all its children consumed it, states which do not hold the results need not
+	 * override this
+	 * 
+	 * @param id of the node
+	 */
+	default void releaseResult(final T id) {
+
+	}
+	/**
+	 * Results are retained by default, so that they are part of {@link #getExecutionResults()}, states which do not hold
+	 * the results need not override this
+	 * 
+	 * @param retained {@code false} if the results should not be retained
+	 */
+	default void setResultsRetained(final boolean retained) {
+
+	}
+	/**
+	 * Called before nodes are added while running, see {@link com.github.dexecutor.core.graph.Dag#enableConcurrentReads()}, states which do not hold
+	 * the graph need not override this
+	 */
+	default void enableConcurrentReads() {
+
+	}
 	/**
 	 * @return Number of errors at this instance of time
 	 */
@@ -167,7 +242,7 @@ public interface DexecutorState<T, R> extends DependencyAware<T>, NodeProvider<T
 	 */
 	void onTerminate();
 	/**
-	 * called where Dexecutor is Recovered
+	 * called where Dexecutor is Recovered, claims of the nodes which were not completed should be released
 	 */
 	void onRecover();
 }
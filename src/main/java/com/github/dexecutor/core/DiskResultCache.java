@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ResultCache} which serializes the results into a local directory, one file per node id and fingerprint, so
+ * that the results survive restarts. Results which are not {@link Serializable} are not cached, and a file which can
+ * not be read is treated as a miss.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class DiskResultCache<T, R> implements ResultCache<T, R> {
+
+	private static final Logger logger = LoggerFactory.getLogger(DiskResultCache.class);
+
+	private final Path directory;
+
+	/**
+	 * 
+	 * @param directory where the results are stored, created if missing
+	 */
+	public DiskResultCache(final Path directory) {
+		checkNotNull(directory, "Directory should not be null");
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not create result cache directory " + directory, e);
+		}
+		this.directory = directory;
+	}
+
+	@Override
+	public R get(final T id, final String fingerprint) {
+		Path file = file(id, fingerprint);
+		try (InputStream in = Files.newInputStream(file); ObjectInputStream objects = new ObjectInputStream(in)) {
+			@SuppressWarnings("unchecked")
+			R result = (R) objects.readObject();
+			return result;
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			logger.warn("Can not read cached result of node {} from {}", id, file, e);
+			return null;
+		}
+	}
+
+	@Override
+	public void put(final T id, final String fingerprint, final R result) {
+		if (!(result instanceof Serializable)) {
+			logger.debug("Result of node {} is not serializable, not caching it", id);
+			return;
+		}
+		Path file = file(id, fingerprint);
+		try {
+			// readers never see a partially written file
+			Path temp = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+			try {
+				try (OutputStream out = Files.newOutputStream(temp); ObjectOutputStream objects = new ObjectOutputStream(out)) {
+					objects.writeObject(result);
+				}
+				move(temp, file);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			logger.warn("Can not cache result of node {} to {}", id, file, e);
+		}
+	}
+
+	private void move(final Path source, final Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private Path file(final T id, final String fingerprint) {
+		return this.directory.resolve(ResultFingerprint.digest(String.valueOf(id) + '\u0000' + fingerprint) + ".result");
+	}
+}
@@ -2,11 +2,15 @@ package com.github.dexecutor.core;
 
 import static com.github.dexecutor.core.support.Preconditions.*;
 
+import com.github.dexecutor.core.task.BackoffRetryPolicy;
+import com.github.dexecutor.core.task.RetryPolicy;
+
 public class ExecutionConfig {
 
 	private ExecutionBehavior executionBehavior;
 	private int retryCount = 0;
 	private Duration retryDelay = Duration.MINIMAL_DURATION; 
+	private RetryPolicy retryPolicy;
 
 	public static final ExecutionConfig TERMINATING = new ExecutionConfig().terminating();
 	public static final ExecutionConfig NON_TERMINATING = new ExecutionConfig().nonTerminating();
@@ -17,7 +21,7 @@ public class ExecutionConfig {
 	 */
 	public ExecutionConfig nonTerminating() {
 		this.executionBehavior = ExecutionBehavior.NON_TERMINATING;
-		return this;
+		return notRetrying();
 	}
 	
 	/**
@@ -26,6 +30,13 @@ public class ExecutionConfig {
 	 */
 	public ExecutionConfig terminating() {
 		this.executionBehavior = ExecutionBehavior.TERMINATING;
+		return notRetrying();
+	}
+
+	private ExecutionConfig notRetrying() {
+		this.retryCount = 0;
+		this.retryDelay = Duration.MINIMAL_DURATION;
+		this.retryPolicy = null;
 		return this;
 	}
 	
@@ -36,6 +47,7 @@ public class ExecutionConfig {
 	public ExecutionConfig immediateRetrying(int count) {
 		this.executionBehavior = ExecutionBehavior.IMMEDIATE_RETRY_TERMINATING;
 		this.retryCount = count;
+		this.retryPolicy = BackoffRetryPolicy.fixed(count, java.time.Duration.ZERO);
 		return this;
 	}
 	
@@ -49,6 +61,20 @@ public class ExecutionConfig {
 		this.executionBehavior = ExecutionBehavior.SCHEDULED_RETRY_TERMINATING;
 		this.retryCount = count;
 		this.retryDelay = delay;
+		this.retryPolicy = delay == null ? null : BackoffRetryPolicy.fixed(count, java.time.Duration.ofNanos(delay.getTimeUnit().toNanos(delay.getDuration())));
+		return this;
+	}
+
+	/**
+	 * 
+	 * @param retryPolicy decides whether and when the failed nodes are retried, unless their tasks have their own policy
+	 * @return {@code ExecutionConfig} representing scheduled retry terminating execution behaivor
+	 */
+	public ExecutionConfig retrying(RetryPolicy retryPolicy) {
+		this.executionBehavior = ExecutionBehavior.SCHEDULED_RETRY_TERMINATING;
+		this.retryCount = 0;
+		this.retryDelay = Duration.MINIMAL_DURATION;
+		this.retryPolicy = retryPolicy;
 		return this;
 	}
 	/**
@@ -60,14 +86,23 @@ public class ExecutionConfig {
 	}
 	/**
 	 * 
-	 * @return the retry count
+	 * @return the retry policy, {@code null} if not retrying
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+	/**
+	 * 
+	 * @return the retry count, of the count based retrying, zero when retrying with a {@link RetryPolicy}
+	 * @deprecated retries are decided by {@link #getRetryPolicy()}
 	 */
+	@Deprecated
 	public int getRetryCount() {
 		return retryCount;
 	}
 	/**
 	 * 
-	 * @return the retry delay
+	 * @return the retry delay, of the count based scheduled retrying
 	 */
 	public Duration getRetryDelay() {
 		return retryDelay;
@@ -111,7 +146,9 @@ public class ExecutionConfig {
 	 * @param currentCount the current count
 	 * @return {@code true} if a retry should be attempted, based on current retries already happened.
 	 * 			{@code false} otherwise
+	 * @deprecated only reflects the count based retrying, retries are decided by {@link #getRetryPolicy()}
 	 */
+	@Deprecated
 	public boolean shouldRetry(int currentCount) {
 		return this.retryCount != 0 && this.retryCount >= currentCount;
 	}
@@ -122,6 +159,7 @@ public class ExecutionConfig {
 		if (isScheduledRetrying()) {
 			checkNotNull(this.retryDelay, "retryDelay should be specified for " + ExecutionBehavior.SCHEDULED_RETRY_TERMINATING);
 			checkArgument(this.getRetryDelay().getDuration() > 0, "Retry delay duration should be greater than ZERO");
+			checkNotNull(this.retryPolicy, "retryPolicy should be specified for " + ExecutionBehavior.SCHEDULED_RETRY_TERMINATING);
 		}
 	}
 }
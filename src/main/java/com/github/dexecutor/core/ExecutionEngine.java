@@ -19,6 +19,8 @@ package com.github.dexecutor.core;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+import com.github.dexecutor.core.concurrent.TimerScheduledExecutorService;
 import com.github.dexecutor.core.task.ExecutionResult;
 import com.github.dexecutor.core.task.Task;
 import com.github.dexecutor.core.task.TaskExecutionException;
@@ -63,6 +65,62 @@ public interface ExecutionEngine<T, R> {
      * @param listener to notify
      */
     void setExecutionListener(ExecutionListener<T, R> listener);
+    /**
+     * Tasks executed on behalf of the engine, such as the members of fused chains, notify this listener as well
+     * 
+     * @return the listener of this engine, {@code null} if it is not known
+     */
+    default ExecutionListener<T, R> getExecutionListener() {
+    	return null;
+    }
 
-    void setTimeoutScheduler(ScheduledExecutorService timeoutExecutor);
+    /**
+     * Sets the timer, on which deadlines of the timeout based tasks are armed. Engines which predate the timer get a
+     * scheduler backed by it, through {@link #setTimeoutScheduler(ScheduledExecutorService)}.
+     * 
+     * @param timeoutTimer the timer
+     */
+    default void setTimeoutTimer(HashedWheelTimer timeoutTimer) {
+    	setTimeoutScheduler(new TimerScheduledExecutorService(timeoutTimer));
+    }
+    /**
+     * Sets the scheduler, on which timeouts of the tasks are checked
+     * 
+     * @param timeoutExecutor the scheduler
+     * @deprecated deadlines are armed on a {@link HashedWheelTimer}, override {@link #setTimeoutTimer(HashedWheelTimer)}
+     *             instead, engines which do ignore the scheduler
+     */
+    @Deprecated
+    default void setTimeoutScheduler(ScheduledExecutorService timeoutExecutor) {
+    	// the timer is set instead
+    }
+    /**
+     * Sets the handler to which results are pushed, on the thread which finished the task. Once set, results are no longer
+     * available through {@link #processResult()}.
+     * 
+     * @param resultHandler to push the results to
+     * @throws UnsupportedOperationException if this engine can only deliver results through {@link #processResult()}
+     */
+    default void setResultHandler(ExecutionResultHandler<T, R> resultHandler) {
+    	throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support pushing execution results");
+    }
+    /**
+     * Enables speculative execution of the straggling idempotent tasks, duplicate attempts are launched once the timer
+     * is set.
+     * 
+     * @param speculationPolicy decides when a task is straggling
+     * @throws UnsupportedOperationException if this engine can not execute a task more than once at the same time
+     */
+    default void setSpeculationPolicy(SpeculationPolicy speculationPolicy) {
+    	throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support speculative execution");
+    }
+    /**
+     * Sets the guard, which should grant a duplicate attempt before it is launched. Engines which do not speculate
+     * ignore it.
+     * 
+     * @param speculationGuard to ask for the duplicate attempts
+     */
+    default void setSpeculationGuard(SpeculationGuard<T, R> speculationGuard) {
+    	// nothing is speculated
+    }
 }
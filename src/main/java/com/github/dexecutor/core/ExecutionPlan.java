@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dexecutor.core.graph.CyclicValidator;
+import com.github.dexecutor.core.graph.Dag;
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.graph.Validator;
+import com.github.dexecutor.core.task.AsyncTask;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.ExecutionStatus;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskFactory;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * Graph validated and frozen once into an index based structure, parents and children of the nodes are kept in
+ * compressed sparse row form. A plan is immutable, hence any number of executions may run against it concurrently,
+ * each with its own arrays of pending parent counts and results.
+ * <p>
+ * A plan execution runs each node once, in dependency order. Skipped nodes are processed as in {@link Dexecutor},
+ * with a terminating config no node is started after the first error, with a non terminating one the children of
+ * failed nodes are executed too. Retries and the features of {@link DexecutorConfig} are not applied, no
+ * {@link ExecutionListener} is notified, {@link Task#getResult(Object)} is not supported, and tasks with a timeout fail
+ * the execution.
+ *
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class ExecutionPlan<T, R> {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExecutionPlan.class);
+
+	private final List<T> values;
+	private final Map<T, Integer> indexes;
+	private final int[] parentOffsets;
+	private final int[] parents;
+	private final int[] childOffsets;
+	private final int[] children;
+	private final int[] roots;
+
+	private ExecutionPlan(final Dag<T, R> graph) {
+		Collection<Node<T, R>> nodes = graph.allNodes();
+		List<T> nodeValues = new ArrayList<>(nodes.size());
+		Map<T, Integer> nodeIndexes = new HashMap<>();
+		for (Node<T, R> node : nodes) {
+			nodeIndexes.put(node.getValue(), nodeValues.size());
+			nodeValues.add(node.getValue());
+		}
+		this.values = Collections.unmodifiableList(nodeValues);
+		this.indexes = Collections.unmodifiableMap(nodeIndexes);
+		this.parentOffsets = new int[nodes.size() + 1];
+		this.childOffsets = new int[nodes.size() + 1];
+		int parentCount = 0;
+		int childCount = 0;
+		int index = 0;
+		for (Node<T, R> node : nodes) {
+			parentCount += node.getInComingNodes().size();
+			childCount += node.getOutGoingNodes().size();
+			this.parentOffsets[++index] = parentCount;
+			this.childOffsets[index] = childCount;
+		}
+		this.parents = new int[parentCount];
+		this.children = new int[childCount];
+		List<Integer> rootIndexes = new ArrayList<>();
+		index = 0;
+		for (Node<T, R> node : nodes) {
+			fill(this.parents, this.parentOffsets[index], node.getInComingNodes());
+			fill(this.children, this.childOffsets[index], node.getOutGoingNodes());
+			if (node.getInComingNodes().isEmpty()) {
+				rootIndexes.add(index);
+			}
+			index++;
+		}
+		this.roots = new int[rootIndexes.size()];
+		for (int i = 0; i < this.roots.length; i++) {
+			this.roots[i] = rootIndexes.get(i);
+		}
+	}
+
+	private void fill(final int[] targets, final int offset, final Collection<Node<T, R>> nodes) {
+		int i = offset;
+		for (Node<T, R> node : nodes) {
+			targets[i++] = this.indexes.get(node.getValue());
+		}
+	}
+
+	/**
+	 * Validates the graph for cycles and compiles it, the graph may be changed or discarded afterwards
+	 *
+	 * @param graph to be compiled
+	 * @return the plan
+	 */
+	public static <T, R> ExecutionPlan<T, R> compile(final Dag<T, R> graph) {
+		return compile(graph, new CyclicValidator<T, R>());
+	}
+
+	/**
+	 * Validates the graph with the given validator and compiles it, the graph may be changed or discarded afterwards
+	 *
+	 * @param graph to be compiled
+	 * @param validator to validate the graph with
+	 * @return the plan
+	 */
+	public static <T, R> ExecutionPlan<T, R> compile(final Dag<T, R> graph, final Validator<T, R> validator) {
+		checkNotNull(graph, "Graph should not be null");
+		checkNotNull(validator, "Validator should not be null");
+		validator.validate(graph);
+		return new ExecutionPlan<T, R>(graph);
+	}
+
+	/**
+	 *
+	 * @return number of nodes in the plan
+	 */
+	public int size() {
+		return this.values.size();
+	}
+
+	/**
+	 *
+	 * @return number of dependencies in the plan
+	 */
+	public int dependencyCount() {
+		return this.children.length;
+	}
+
+	/**
+	 *
+	 * @param id of the node
+	 * @return {@code true} if the plan has a node with the given id
+	 */
+	public boolean contains(final T id) {
+		return this.indexes.containsKey(id);
+	}
+
+	/**
+	 * Kicks off an execution of the plan, independent of any other execution of it
+	 *
+	 * @param executor on which the tasks are executed
+	 * @param taskProvider provides the tasks of this execution
+	 * @param config terminating or non terminating, without retries
+	 * @return stage which completes with the results, once all the nodes are processed
+	 */
+	public CompletionStage<ExecutionResults<T, R>> execute(final Executor executor, final TaskProvider<T, R> taskProvider,
+			final ExecutionConfig config) {
+		checkNotNull(executor, "Executor should not be null");
+		checkNotNull(taskProvider, "Task Provider should not be null");
+		checkNotNull(config, "Execution Config should not be null");
+		config.validate();
+		checkArgument(config.getRetryPolicy() == null, "Retries are not supported by execution plans");
+		return new PlanExecution(executor, taskProvider, config).start();
+	}
+
+	/**
+	 * State of a single execution, indexed like the plan
+	 */
+	private final class PlanExecution {
+
+		private final Executor executor;
+		private final TaskProvider<T, R> taskProvider;
+		private final boolean terminating;
+		private final AtomicIntegerArray pendingParents;
+		private final AtomicReferenceArray<ExecutionResult<T, R>> results;
+		private final AtomicInteger unProcessed;
+		private final CompletableFuture<ExecutionResults<T, R>> completion = new CompletableFuture<>();
+		private volatile boolean errored;
+
+		PlanExecution(final Executor executor, final TaskProvider<T, R> taskProvider, final ExecutionConfig config) {
+			this.executor = executor;
+			this.taskProvider = taskProvider;
+			this.terminating = config.isTerminating();
+			this.pendingParents = new AtomicIntegerArray(size());
+			for (int index = 0; index < size(); index++) {
+				this.pendingParents.set(index, parentOffsets[index + 1] - parentOffsets[index]);
+			}
+			this.results = new AtomicReferenceArray<>(size());
+			this.unProcessed = new AtomicInteger(size());
+		}
+
+		CompletionStage<ExecutionResults<T, R>> start() {
+			if (size() == 0) {
+				complete();
+			}
+			for (int root : roots) {
+				if (isAbandoned()) {
+					processed(root);
+				} else {
+					schedule(root);
+				}
+			}
+			return this.completion;
+		}
+
+		private boolean isAbandoned() {
+			return this.terminating && this.errored;
+		}
+
+		private void schedule(final int index) {
+			if (this.completion.isDone()) {
+				return;
+			}
+			try {
+				this.executor.execute(() -> run(index));
+			} catch (RuntimeException e) {
+				this.completion.completeExceptionally(e);
+			}
+		}
+
+		private void run(final int index) {
+			try {
+				Task<T, R> task = newTask(index);
+				checkArgument(task.getTimeout() == null, "Timeouts are not supported by execution plans, task # " + task.getId());
+				if (isAbandoned()) {
+					processed(index);
+				} else if (!task.shouldExecute(task.getParentResults())) {
+					logger.debug("Execution Skipped for node # {} ", task.getId());
+					done(index, new ExecutionResult<T, R>(task.getId(), null, ExecutionStatus.SKIPPED));
+				} else if (task.isAsync()) {
+					task.markStart();
+					CompletionStage<R> stage;
+					try {
+						stage = task.executeAsync();
+					} catch (RuntimeException e) {
+						done(index, errored(task, e));
+						return;
+					}
+					stage.whenComplete((r, error) -> {
+						done(index, error == null ? success(task, r) : errored(task, AsyncTask.unwrap(error)));
+					});
+				} else {
+					task.markStart();
+					ExecutionResult<T, R> result;
+					try {
+						result = success(task, task.execute());
+					} catch (RuntimeException e) {
+						result = errored(task, e);
+					}
+					done(index, result);
+				}
+			} catch (Throwable t) {
+				this.completion.completeExceptionally(t);
+				throw t;
+			}
+		}
+
+		private Task<T, R> newTask(final int index) {
+			T id = values.get(index);
+			Task<T, R> task = this.taskProvider.provideTask(id);
+			task.setId(id);
+			ExecutionResults<T, R> parentResults = new ExecutionResults<T, R>();
+			for (int i = parentOffsets[index]; i < parentOffsets[index + 1]; i++) {
+				ExecutionResult<T, R> parentResult = this.results.get(parents[i]);
+				if (parentResult != null) {
+					parentResults.add(parentResult);
+				}
+			}
+			task.setParentResults(parentResults);
+			return TaskFactory.newWorker(task);
+		}
+
+		private ExecutionResult<T, R> success(final Task<T, R> task, final R r) {
+			task.markEnd();
+			ExecutionResult<T, R> result = ExecutionResult.success(task.getId(), r);
+			result.setTimes(task.getStartTime(), task.getEndTime());
+			return result;
+		}
+
+		private ExecutionResult<T, R> errored(final Task<T, R> task, final Throwable e) {
+			task.markEnd();
+			logger.error("Error Execution Task # {}", task.getId(), e);
+			ExecutionResult<T, R> result = ExecutionResult.errored(task.getId(), null, e.getMessage());
+			result.setTimes(task.getStartTime(), task.getEndTime() == null ? LocalDateTime.now() : task.getEndTime());
+			return result;
+		}
+
+		private void done(final int index, final ExecutionResult<T, R> result) {
+			if (result.isErrored()) {
+				this.errored = true;
+			}
+			this.results.set(index, result);
+			processed(index);
+		}
+
+		// nodes which become ready after the first error are not started, nor their descendants, walked iteratively
+		private void processed(final int processedIndex) {
+			Deque<Integer> abandoned = null;
+			int index = processedIndex;
+			while (true) {
+				for (int i = childOffsets[index]; i < childOffsets[index + 1]; i++) {
+					int child = children[i];
+					if (this.pendingParents.decrementAndGet(child) != 0) {
+						continue;
+					}
+					if (isAbandoned()) {
+						if (abandoned == null) {
+							abandoned = new ArrayDeque<>();
+						}
+						abandoned.push(child);
+					} else {
+						schedule(child);
+					}
+				}
+				if (this.unProcessed.decrementAndGet() == 0) {
+					complete();
+				}
+				if (abandoned == null || abandoned.isEmpty()) {
+					return;
+				}
+				index = abandoned.pop();
+			}
+		}
+
+		private void complete() {
+			ExecutionResults<T, R> executionResults = new ExecutionResults<T, R>();
+			for (int index = 0; index < size(); index++) {
+				ExecutionResult<T, R> result = this.results.get(index);
+				if (result != null) {
+					executionResults.add(result);
+				}
+			}
+			this.completion.complete(executionResults);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ExecutionPlan [nodes=" + size() + ", dependencies=" + dependencyCount() + "]";
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.TaskExecutionException;
+
+/**
+ * Blocking iterator over the results of a run, in the order they are processed, see
+ * {@link Dexecutor#executeStreaming(ExecutionConfig, int, boolean)}. Results are buffered up to a capacity, once the
+ * buffer is full the threads processing the results wait for the consumer, hence a slow consumer slows down the run
+ * rather than growing the memory.
+ * <p>
+ * The iterator ends once the run completes, if the run failed the failure is thrown by {@link #hasNext()}. Closing
+ * the stream before that drops the remaining results, and lets the run complete without a consumer.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class ExecutionResultStream<T, R> implements Iterator<ExecutionResult<T, R>>, AutoCloseable {
+
+	private static final Object END = new Object();
+	private static final long OFFER_MILLIS = 10;
+
+	private final BlockingQueue<Object> buffer;
+	private volatile boolean closed;
+	private volatile RuntimeException failure;
+	// accessed only by the consumer
+	private Object next;
+
+	/**
+	 * 
+	 * @param capacity maximum number of results, which are processed but not yet consumed
+	 */
+	public ExecutionResultStream(final int capacity) {
+		checkArgument(capacity > 0, "Capacity should be positive");
+		this.buffer = new ArrayBlockingQueue<>(capacity);
+	}
+
+	/**
+	 * Waits for the next result, or for the end of the run
+	 * 
+	 * @return {@code true} if there is another result
+	 * @throws RuntimeException the failure of the run, once all the results before it are consumed
+	 */
+	@Override
+	public boolean hasNext() {
+		if (this.next == null) {
+			if (this.closed) {
+				return false;
+			}
+			try {
+				this.next = this.buffer.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new TaskExecutionException("Interrupted waiting for the next result", e);
+			}
+		}
+		if (this.closed) {
+			this.next = null;
+			return false;
+		}
+		if (this.next == END) {
+			RuntimeException error = this.failure;
+			if (error != null) {
+				throw error;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ExecutionResult<T, R> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		ExecutionResult<T, R> result = (ExecutionResult<T, R>) this.next;
+		this.next = null;
+		return result;
+	}
+
+	/**
+	 * Stops consuming, the results not yet consumed and the ones processed later are dropped
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		this.next = null;
+		this.buffer.clear();
+		// wakes up the consumer, if it waits on another thread
+		this.buffer.offer(END);
+	}
+
+	/**
+	 * 
+	 * @return {@code true} if the consumer closed this stream
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	void emit(final ExecutionResult<T, R> result) {
+		offer(result);
+	}
+
+	void complete(final Throwable error) {
+		if (error != null) {
+			Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+			this.failure = cause instanceof RuntimeException ? (RuntimeException) cause
+					: new TaskExecutionException("Execution failed", cause);
+		}
+		offer(END);
+	}
+
+	private void offer(final Object element) {
+		boolean interrupted = false;
+		try {
+			// the consumer may close, while the buffer is full
+			while (!this.closed) {
+				try {
+					if (this.buffer.offer(element, OFFER_MILLIS, TimeUnit.MILLISECONDS)) {
+						return;
+					}
+				} catch (InterruptedException e) {
+					// the result (or the end marker) is not lost, the consumer would wait for it
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+import com.github.dexecutor.core.task.AsyncTask;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskExecutionException;
+
+/**
+ * Execution engine which runs every task as a {@link RecursiveAction} on a {@link ForkJoinPool}. Tasks submitted from
+ * a worker of the same pool are forked on to that worker's deque, so when used with decentralized scheduling
+ * (see {@link DexecutorConfig#setDecentralizedScheduling(boolean)}) the ready children of a node run on the same core,
+ * unless they are stolen by idle workers. Results are delivered by the tasks themselves, none of them is ever joined.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class ForkJoinExecutionEngine<T, R> implements ExecutionEngine<T, R> {
+
+	private static final Logger logger = LoggerFactory.getLogger(ForkJoinExecutionEngine.class);
+
+	private final DexecutorState<T, R> state;
+	private final ForkJoinPool pool;
+	private final BlockingQueue<ExecutionResult<T, R>> completionQueue = new LinkedBlockingQueue<>();
+
+	private ExecutionListener<T, R> executionListener = new QuiteExecutionListener<>();
+	private volatile HashedWheelTimer timeoutTimer;
+	private volatile ExecutionResultHandler<T, R> resultHandler;
+
+	public ForkJoinExecutionEngine(final DexecutorState<T, R> state, final ForkJoinPool pool) {
+		this(state, pool, null);
+	}
+	/**
+	 * Creates the engine, which would run the tasks on the given pool
+	 * @param state the state
+	 * @param pool where in tasks would be executed
+	 * @param listener to notify
+	 */
+	public ForkJoinExecutionEngine(final DexecutorState<T, R> state, final ForkJoinPool pool, final ExecutionListener<T, R> listener) {
+		checkNotNull(state, "State should not be null");
+		checkNotNull(pool, "Fork Join Pool should not be null");
+		this.state = state;
+		this.pool = pool;
+		if (listener != null) {
+			this.executionListener = listener;
+		}
+	}
+
+	@Override
+	public void submit(final Task<T, R> task) {
+		logger.debug("Received Task {} ", task.getId());
+		TaskAction action = new TaskAction(task);
+		if (ForkJoinTask.getPool() == this.pool) {
+			action.fork();
+		} else {
+			this.pool.execute(action);
+		}
+
+		if (action.deadline != null) {
+			action.deadline.arm(new Runnable() {
+				public void run() {
+					boolean result = action.cancelTimedOut();
+					logger.trace("Task timed out {}, cancelled it? : {}", task, result);
+				}
+			});
+		}
+	}
+
+	@Override
+	public ExecutionResult<T, R> processResult() throws TaskExecutionException {
+		try {
+			return this.completionQueue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TaskExecutionException("Interrupted waiting for Task execution ", e);
+		}
+	}
+
+	private void deliver(final ExecutionResult<T, R> result) {
+		ExecutionResultHandler<T, R> handler = this.resultHandler;
+		if (handler == null) {
+			this.completionQueue.add(result);
+		} else {
+			handler.onResult(result);
+		}
+	}
+
+	/**
+	 * The timer thread is shared by all the deadlines, hence the result is pushed from the pool
+	 */
+	private void deliverFromTimer(final ExecutionResult<T, R> result) {
+		ExecutionResultHandler<T, R> handler = this.resultHandler;
+		if (handler == null) {
+			this.completionQueue.add(result);
+			return;
+		}
+		try {
+			this.pool.execute(() -> handler.onResult(result));
+		} catch (RejectedExecutionException e) {
+			logger.debug("Pool rejected the result of cancelled Task {}, pushing it from this thread", result.getId());
+			handler.onResult(result);
+		}
+	}
+
+	@Override
+	public boolean isDistributed() {
+		return false;
+	}
+
+	@Override
+	public boolean isAnyTaskInError() {
+		return this.state.erroredCount() > 0;
+	}
+
+	@Override
+	public void setExecutionListener(final ExecutionListener<T, R> listener) {
+		this.executionListener = listener;
+	}
+
+	@Override
+	public ExecutionListener<T, R> getExecutionListener() {
+		return this.executionListener;
+	}
+
+	@Override
+	public void setTimeoutTimer(final HashedWheelTimer timeoutTimer) {
+		this.timeoutTimer = timeoutTimer;
+	}
+
+	@Override
+	public void setResultHandler(final ExecutionResultHandler<T, R> resultHandler) {
+		this.resultHandler = resultHandler;
+	}
+
+	@Override
+	public String toString() {
+		return this.pool.toString();
+	}
+
+	/**
+	 * Runs a single task, the first of the worker and the timeout to finish the task delivers the result
+	 */
+	private final class TaskAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int NEW = 0;
+		private static final int RUNNING = 1;
+		private static final int DONE = 2;
+
+		private final Task<T, R> task;
+		private final TaskDeadline<T, R> deadline;
+		private final AtomicInteger status = new AtomicInteger(NEW);
+		private Thread runner;
+		private boolean interruptedOnTimeout;
+		private volatile CompletionStage<R> stage;
+
+		TaskAction(final Task<T, R> task) {
+			this.task = task;
+			this.deadline = TaskDeadline.of(timeoutTimer, task);
+		}
+
+		@Override
+		protected void compute() {
+			if (this.status.compareAndSet(NEW, RUNNING)) {
+				if (this.task.isAsync()) {
+					startAsync();
+				} else {
+					execute();
+				}
+			}
+		}
+
+		private void execute() {
+			synchronized (this) {
+				this.runner = Thread.currentThread();
+			}
+			R r = null;
+			Exception error = null;
+			Error fatal = null;
+			try {
+				this.task.markStart();
+				r = this.task.execute();
+			} catch (Exception e) {
+				error = e;
+			} catch (Error e) {
+				fatal = e;
+				error = new TaskExecutionException(this.task.getId() + " Task execution ", e);
+			} finally {
+				this.task.markEnd();
+				synchronized (this) {
+					this.runner = null;
+					// clears only the interrupt of the time out, the worker keeps any other
+					if (this.interruptedOnTimeout) {
+						Thread.interrupted();
+					}
+				}
+			}
+			finish(r, error);
+			// reported so that the execution does not wait for the node, yet not swallowed
+			if (fatal != null) {
+				throw fatal;
+			}
+		}
+
+		private void startAsync() {
+			try {
+				this.task.markStart();
+				this.stage = this.task.executeAsync();
+			} catch (Exception e) {
+				this.task.markEnd();
+				finish(null, e);
+				return;
+			}
+			this.stage.whenComplete((r, error) -> {
+				this.task.markEnd();
+				finish(r, error == null ? null : AsyncTask.unwrap(error));
+			});
+		}
+
+		private void finish(final R r, final Exception error) {
+			// a timed out task has already been reported as cancelled
+			if (this.status.compareAndSet(RUNNING, DONE)) {
+				if (this.deadline != null) {
+					this.deadline.finish();
+				}
+				deliver(executionResult(r, error));
+			}
+		}
+
+		private ExecutionResult<T, R> executionResult(final R r, final Exception error) {
+			ExecutionResult<T, R> result;
+			if (error == null) {
+				result = ExecutionResult.success(this.task.getId(), r);
+				result.setSpawned(this.task.getSpawned());
+				state.removeErrored(result);
+				executionListener.onSuccess(this.task);
+			} else {
+				result = ExecutionResult.errored(this.task.getId(), r, error.getMessage());
+				state.addErrored(result);
+				executionListener.onError(this.task, error);
+				logger.error("Error Execution Task # {}", this.task.getId(), error);
+			}
+			result.setTimes(this.task.getStartTime(), this.task.getEndTime());
+			return result;
+		}
+
+		boolean cancelTimedOut() {
+			int current = this.status.get();
+			if (current == DONE || !this.status.compareAndSet(current, DONE)) {
+				return false;
+			}
+			synchronized (this) {
+				if (this.runner != null) {
+					this.interruptedOnTimeout = true;
+					this.runner.interrupt();
+				}
+			}
+			CompletionStage<R> started = this.stage;
+			if (started != null) {
+				try {
+					started.toCompletableFuture().cancel(true);
+				} catch (UnsupportedOperationException e) {
+					logger.trace("Stage of Task {} can not be cancelled", this.task.getId());
+				}
+			}
+			ExecutionResult<T, R> result = ExecutionResult.cancelled(this.task.getId(), "Task cancelled");
+			state.removeErrored(result);
+			deliverFromTimer(result);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.dexecutor.core.task.Task;
+
+/**
+ * Cost model which estimates the cost of a node by its past execution durations (in microseconds), as an exponentially
+ * weighted moving average. Register it as the {@link ExecutionListener} so that it learns the durations, and reuse the
+ * instance across runs of the same graph.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class HistoricalCostModel<T, R> implements CostModel<T>, ExecutionListener<T, R> {
+
+	private static final double WEIGHT = 0.3;
+
+	private final ConcurrentMap<T, Long> costs = new ConcurrentHashMap<>();
+	private final long defaultCost;
+
+	/**
+	 * 
+	 * @param defaultCost in microseconds, for the nodes which have not been executed yet
+	 */
+	public HistoricalCostModel(final long defaultCost) {
+		this.defaultCost = defaultCost;
+	}
+
+	@Override
+	public long estimateCost(final T id) {
+		Long cost = this.costs.get(id);
+		return cost == null ? this.defaultCost : cost;
+	}
+	/**
+	 * Records an execution duration of the node
+	 * 
+	 * @param id of the node
+	 * @param duration in microseconds
+	 */
+	public void record(final T id, final long duration) {
+		this.costs.merge(id, duration, (previous, current) -> Math.round(previous + WEIGHT * (current - previous)));
+	}
+
+	@Override
+	public void onSuccess(final Task<T, R> task) {
+		onExecuted(task);
+	}
+
+	@Override
+	public void onError(final Task<T, R> task, final Exception exception) {
+		onExecuted(task);
+	}
+
+	private void onExecuted(final Task<T, R> task) {
+		if (task.getStartTime() != null && task.getEndTime() != null) {
+			record(task.getId(), ChronoUnit.MICROS.between(task.getStartTime(), task.getEndTime()));
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes the ids and results of nodes into the records of a {@link JournalingDexecutorState}, and reads them back
+ * after a restart. Compact codecs (for example ids written as ints) keep the journal small and appends cheap.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public interface JournalCodec<T, R> {
+	/**
+	 * 
+	 * @param out the record being written
+	 * @param id of the node
+	 * @throws IOException if the id can not be written
+	 */
+	void writeId(DataOutput out, T id) throws IOException;
+	/**
+	 * 
+	 * @param in the record being read
+	 * @return id of the node
+	 * @throws IOException if the id can not be read
+	 */
+	T readId(DataInput in) throws IOException;
+	/**
+	 * 
+	 * @param out the record being written
+	 * @param result of the node, may be {@code null}
+	 * @throws IOException if the result can not be written
+	 */
+	void writeResult(DataOutput out, R result) throws IOException;
+	/**
+	 * 
+	 * @param in the record being read
+	 * @return result of the node
+	 * @throws IOException if the result can not be read
+	 */
+	R readResult(DataInput in) throws IOException;
+}
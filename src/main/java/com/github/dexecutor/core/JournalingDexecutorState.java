@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dexecutor.core.concurrent.GroupCommitLog;
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionStatus;
+
+/**
+ * {@link DexecutorState} which writes ahead the result of every successful or skipped node into a journal file, before
+ * its children are released, so that the work survives a crash of the process. The journal is forced to the disk once
+ * before the next nodes are submitted, hence the results processed meanwhile share a single force.
+ * <p>
+ * A fresh execution truncates the journal. After a restart, build the same graph with a state on the same journal and
+ * call {@link Dexecutor#recoverExecution(ExecutionConfig)}: the journaled nodes are marked processed with their results,
+ * and execution resumes from the nodes whose results were not journaled.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public class JournalingDexecutorState<T, R> extends DefaultDexecutorState<T, R> {
+
+	private static final Logger logger = LoggerFactory.getLogger(JournalingDexecutorState.class);
+
+	private static final int INITIAL_CAPACITY = 1 << 20;
+	private static final byte SUCCESS = 1;
+	private static final byte SKIPPED = 2;
+
+	private final Path journalFile;
+	private final JournalCodec<T, R> codec;
+	private volatile GroupCommitLog journal;
+
+	/**
+	 * Ids and results are written with java serialization
+	 * 
+	 * @param journalFile where the node results are journaled
+	 */
+	public JournalingDexecutorState(final Path journalFile) {
+		this(journalFile, new SerializingJournalCodec<T, R>());
+	}
+
+	/**
+	 * 
+	 * @param journalFile where the node results are journaled
+	 * @param codec writes and reads the ids and results
+	 */
+	public JournalingDexecutorState(final Path journalFile, final JournalCodec<T, R> codec) {
+		checkNotNull(journalFile, "Journal file should not be null");
+		checkNotNull(codec, "Journal codec should not be null");
+		this.journalFile = journalFile;
+		this.codec = codec;
+	}
+
+	@Override
+	public void setCurrentPhase(final Phase currentPhase) {
+		if (Phase.RUNNING.equals(currentPhase) && this.journal == null) {
+			open(true);
+		}
+		super.setCurrentPhase(currentPhase);
+	}
+
+	@Override
+	public void markProcessingDone(final Node<T, R> node) {
+		if (node.isSuccess() || node.isSkipped()) {
+			// durable once synced, before any child of the node is submitted
+			journal().append(encode(node));
+		}
+		super.markProcessingDone(node);
+	}
+
+	@Override
+	public void syncProcessedNodes() {
+		GroupCommitLog log = this.journal;
+		if (log != null) {
+			log.commit(log.size());
+		}
+	}
+
+	@Override
+	public void onRecover() {
+		if (this.journal == null && open(false)) {
+			replay();
+		}
+		super.onRecover();
+	}
+
+	@Override
+	public void onTerminate() {
+		super.onTerminate();
+		GroupCommitLog log = this.journal;
+		if (log != null) {
+			log.close();
+		}
+	}
+
+	private GroupCommitLog journal() {
+		GroupCommitLog log = this.journal;
+		if (log == null) {
+			open(false);
+			log = this.journal;
+		}
+		return log;
+	}
+
+	private synchronized boolean open(final boolean truncate) {
+		if (this.journal != null) {
+			return false;
+		}
+		if (truncate) {
+			try {
+				Files.deleteIfExists(this.journalFile);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Can not truncate journal " + this.journalFile, e);
+			}
+		}
+		this.journal = new GroupCommitLog(this.journalFile, INITIAL_CAPACITY);
+		return true;
+	}
+
+	private void replay() {
+		int replayed = 0;
+		// records are in processing order, parents are replayed before their children
+		for (byte[] record : this.journal.recovered()) {
+			ExecutionResult<T, R> result = decode(record);
+			Node<T, R> node = getGraphNode(result.getId());
+			if (node == null || !shouldProcess(node)) {
+				logger.debug("Ignoring journaled result of node {}", result.getId());
+				continue;
+			}
+			node.tryClaim();
+			node.setResult(result.getResult());
+			if (result.isSkipped()) {
+				node.setSkipped();
+			} else {
+				node.setSuccess();
+			}
+			removeErrored(result);
+			super.markProcessingDone(node);
+			replayed++;
+		}
+		logger.debug("Recovered {} of {} nodes from journal {}", replayed, graphSize(), this.journalFile);
+	}
+
+	private byte[] encode(final Node<T, R> node) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(node.isSkipped() ? SKIPPED : SUCCESS);
+			this.codec.writeId(out, node.getValue());
+			this.codec.writeResult(out, node.getResult());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not journal result of node " + node.getValue(), e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private ExecutionResult<T, R> decode(final byte[] record) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+			ExecutionStatus status = in.readByte() == SKIPPED ? ExecutionStatus.SKIPPED : ExecutionStatus.SUCCESS;
+			T id = this.codec.readId(in);
+			return new ExecutionResult<T, R>(id, this.codec.readResult(in), status);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not read journal " + this.journalFile, e);
+		}
+	}
+
+	private static final class SerializingJournalCodec<T, R> implements JournalCodec<T, R> {
+
+		@Override
+		public void writeId(final DataOutput out, final T id) throws IOException {
+			write(out, id);
+		}
+
+		@Override
+		public T readId(final DataInput in) throws IOException {
+			return read(in);
+		}
+
+		@Override
+		public void writeResult(final DataOutput out, final R result) throws IOException {
+			write(out, result);
+		}
+
+		@Override
+		public R readResult(final DataInput in) throws IOException {
+			return read(in);
+		}
+
+		private void write(final DataOutput out, final Object value) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+				objects.writeObject(value);
+			}
+			out.writeInt(bytes.size());
+			out.write(bytes.toByteArray());
+		}
+
+		@SuppressWarnings("unchecked")
+		private <V> V read(final DataInput in) throws IOException {
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				return (V) objects.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+}
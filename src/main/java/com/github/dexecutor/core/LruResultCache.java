@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In memory {@link ResultCache}, which evicts the least recently used result once full
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class LruResultCache<T, R> implements ResultCache<T, R> {
+
+	private final Map<Key<T>, R> results;
+
+	/**
+	 * 
+	 * @param capacity maximum number of results cached
+	 */
+	public LruResultCache(final int capacity) {
+		checkArgument(capacity > 0, "Capacity should be positive");
+		this.results = new LinkedHashMap<Key<T>, R>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key<T>, R> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	@Override
+	public synchronized R get(final T id, final String fingerprint) {
+		return this.results.get(new Key<>(id, fingerprint));
+	}
+
+	@Override
+	public synchronized void put(final T id, final String fingerprint, final R result) {
+		if (result != null) {
+			this.results.put(new Key<>(id, fingerprint), result);
+		}
+	}
+
+	/**
+	 * 
+	 * @return number of results cached
+	 */
+	public synchronized int size() {
+		return this.results.size();
+	}
+
+	private static final class Key<T> {
+
+		private final T id;
+		private final String fingerprint;
+
+		Key(final T id, final String fingerprint) {
+			this.id = id;
+			this.fingerprint = fingerprint;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Objects.hashCode(this.id) + Objects.hashCode(this.fingerprint);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key<?> other = (Key<?>) obj;
+			return Objects.equals(this.id, other.id) && Objects.equals(this.fingerprint, other.fingerprint);
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import com.github.dexecutor.core.task.Task;
+
+/**
+ * Keeps track of the free permits of the limited resources, tasks which can't get a permit of each of their limited
+ * resources are parked, and handed back once the permits are released, rather than blocking the caller.
+ * <p>
+ * A parked task waits in the queue of one of the resources it could not get, hence a release looks only at the
+ * waiters of the released resources.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+final class ResourceLimiter<T, R> {
+
+	private final Set<String> limitedResources;
+	private final Map<String, Integer> freePermits;
+	private final Map<T, List<String>> acquired = new HashMap<>();
+	private final Map<String, Queue<Task<T, R>>> waiters = new HashMap<>();
+
+	ResourceLimiter(final Map<String, Integer> permits) {
+		this.limitedResources = Collections.unmodifiableSet(new HashSet<>(permits.keySet()));
+		this.freePermits = new HashMap<>(permits);
+	}
+
+	/**
+	 * 
+	 * @param task the task
+	 * @return {@code true} if the task uses any of the limited resources
+	 */
+	boolean isLimited(final Task<T, R> task) {
+		if (this.limitedResources.isEmpty()) {
+			return false;
+		}
+		for (String tag : task.getResourceTags()) {
+			if (this.limitedResources.contains(tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Acquires a permit of each of the limited resources of the task, or parks the task if any of them is not free
+	 * 
+	 * @param task the task
+	 * @return {@code true} if the task can be executed now, {@code false} if it was parked
+	 */
+	boolean tryAcquire(final Task<T, R> task) {
+		if (!isLimited(task)) {
+			return true;
+		}
+		synchronized (this) {
+			String busy = acquire(task);
+			if (busy == null) {
+				return true;
+			}
+			park(busy, task);
+			return false;
+		}
+	}
+
+	/**
+	 * Releases the permits acquired for the task with the given id
+	 * 
+	 * @param id the task id
+	 * @return parked tasks, which got their permits and can be executed now
+	 */
+	List<Task<T, R>> release(final T id) {
+		if (this.limitedResources.isEmpty()) {
+			return Collections.emptyList();
+		}
+		synchronized (this) {
+			List<String> tags = this.acquired.remove(id);
+			if (tags == null) {
+				return Collections.emptyList();
+			}
+			return free(tags);
+		}
+	}
+
+	/**
+	 * Acquires a permit of each of the limited resources for a duplicate attempt of the task, which is never parked
+	 * and does not go ahead of the parked tasks
+	 * 
+	 * @param task the task
+	 * @return {@code true} if the permits are acquired
+	 */
+	boolean tryAcquireDuplicate(final Task<T, R> task) {
+		if (!isLimited(task)) {
+			return true;
+		}
+		synchronized (this) {
+			List<String> tags = limitedTags(task);
+			for (String tag : tags) {
+				if (this.freePermits.get(tag) == 0 || this.waiters.containsKey(tag)) {
+					return false;
+				}
+			}
+			take(tags);
+			return true;
+		}
+	}
+
+	/**
+	 * Releases the permits acquired for a duplicate attempt of the task
+	 * 
+	 * @param task the task
+	 * @return parked tasks, which got their permits and can be executed now
+	 */
+	List<Task<T, R>> releaseDuplicate(final Task<T, R> task) {
+		if (!isLimited(task)) {
+			return Collections.emptyList();
+		}
+		synchronized (this) {
+			return free(limitedTags(task));
+		}
+	}
+
+	/**
+	 * Drops all the parked tasks
+	 * 
+	 * @return the parked tasks, which never got their permits
+	 */
+	synchronized List<Task<T, R>> drainParked() {
+		List<Task<T, R>> drained = new ArrayList<>();
+		for (Queue<Task<T, R>> queue : this.waiters.values()) {
+			drained.addAll(queue);
+		}
+		this.waiters.clear();
+		return drained;
+	}
+
+	// waiters of the tag are admitted in order, while the tag has free permits, the ones still missing another
+	// resource move on to the queue of that resource
+	private List<Task<T, R>> free(final List<String> tags) {
+		for (String tag : tags) {
+			this.freePermits.put(tag, this.freePermits.get(tag) + 1);
+		}
+		List<Task<T, R>> admitted = new ArrayList<>();
+		for (String tag : tags) {
+			wake(tag, admitted);
+		}
+		return admitted;
+	}
+
+	private void wake(final String tag, final List<Task<T, R>> admitted) {
+		Queue<Task<T, R>> queue = this.waiters.get(tag);
+		while (queue != null && !queue.isEmpty() && this.freePermits.get(tag) > 0) {
+			Task<T, R> task = queue.poll();
+			String busy = acquire(task);
+			if (busy == null) {
+				admitted.add(task);
+			} else {
+				park(busy, task);
+			}
+		}
+		if (queue != null && queue.isEmpty()) {
+			this.waiters.remove(tag);
+		}
+	}
+
+	private void park(final String tag, final Task<T, R> task) {
+		Queue<Task<T, R>> queue = this.waiters.get(tag);
+		if (queue == null) {
+			queue = new LinkedList<>();
+			this.waiters.put(tag, queue);
+		}
+		queue.add(task);
+	}
+
+	/**
+	 * 
+	 * @return {@code null} if the permits are acquired, otherwise the resource which has no free permit
+	 */
+	private String acquire(final Task<T, R> task) {
+		List<String> tags = limitedTags(task);
+		for (String tag : tags) {
+			if (this.freePermits.get(tag) == 0) {
+				return tag;
+			}
+		}
+		take(tags);
+		this.acquired.put(task.getId(), tags);
+		return null;
+	}
+
+	private void take(final List<String> tags) {
+		for (String tag : tags) {
+			this.freePermits.put(tag, this.freePermits.get(tag) - 1);
+		}
+	}
+
+	private List<String> limitedTags(final Task<T, R> task) {
+		List<String> result = new ArrayList<>();
+		for (String tag : task.getResourceTags()) {
+			if (this.limitedResources.contains(tag)) {
+				result.add(tag);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+/**
+ * Results of the nodes of earlier runs, consulted before a task is submitted for execution. A node is looked up by its
+ * id and the fingerprint of its inputs (see {@link com.github.dexecutor.core.task.Task#getInputsFingerprint()}) and of
+ * its parent results, on a hit the node is marked successful with the cached result, without being executed.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public interface ResultCache<T, R> {
+	/**
+	 * 
+	 * @param id of the node
+	 * @param fingerprint of the inputs and parent results of the node
+	 * @return the cached result, {@code null} if none
+	 */
+	R get(T id, String fingerprint);
+	/**
+	 * Caches the result of a successful execution, {@code null} results are not cached
+	 * 
+	 * @param id of the node
+	 * @param fingerprint of the inputs and parent results of the node
+	 * @param result the result
+	 */
+	void put(T id, String fingerprint, R result);
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.task.Task;
+
+/**
+ * Fingerprints of the nodes, for the {@link ResultCache}
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+final class ResultFingerprint {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private ResultFingerprint() {
+
+	}
+
+	/**
+	 * Digest of the inputs of the task, and the ids, statuses and result digests of the parents of the node (in the
+	 * order of their ids, so that the order in which dependencies were added does not matter). The status tells apart
+	 * an errored or skipped parent from a successful one, whose result is {@code null}.
+	 * 
+	 * @param node the node
+	 * @param task the task of the node, which sees the statuses of the parents
+	 * @param inputsFingerprint fingerprint of the inputs declared by the task
+	 * @param resultHasher digests the parent results
+	 * @param <T> Type of Node/Task ID
+	 * @param <R> Type of Node/Task result
+	 * @return the fingerprint, {@code null} if a parent result can not be digested
+	 */
+	static <T, R> String of(final Node<T, R> node, final Task<T, R> task, final String inputsFingerprint, final ResultHasher<R> resultHasher) {
+		List<String> parents = new ArrayList<>(node.getInComingNodes().size());
+		for (Node<T, R> parent : node.getInComingNodes()) {
+			String resultDigest = resultHasher.hash(parent.getResult());
+			if (resultDigest == null) {
+				return null;
+			}
+			parents.add(parent.getValue() + "=" + task.status(parent) + "=" + resultDigest);
+		}
+		Collections.sort(parents);
+		StringBuilder builder = new StringBuilder(inputsFingerprint);
+		for (String parent : parents) {
+			builder.append('\u0000').append(parent);
+		}
+		return digest(builder.toString());
+	}
+
+	/**
+	 * 
+	 * @param value to digest
+	 * @return hex encoded SHA-256 digest of the value
+	 */
+	static String digest(final String value) {
+		return hex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	static String hex(final byte[] digest) {
+		char[] hex = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++) {
+			hex[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+			hex[2 * i + 1] = HEX[digest[i] & 0xF];
+		}
+		return new String(hex);
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+/**
+ * Digests the results of the parents of a node, into the fingerprint by which the result of the node is cached (see
+ * {@link ResultCache}). Equal results should give equal digests across runs, and different results different ones,
+ * hence {@link Object#hashCode()} does not qualify.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <R> Type of Node/Task result
+ */
+public interface ResultHasher<R> {
+	/**
+	 * 
+	 * @param result of a parent node, may be {@code null}
+	 * @return digest of the content of the result, {@code null} if it can not be digested, in which case the children
+	 *         of the node are not cached
+	 */
+	String hash(R result);
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
+import static com.github.dexecutor.core.support.Preconditions.checkNotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+
+/**
+ * Executor on which immediate retries are submitted and the timer on which task deadlines and delayed retries are armed. Nothing is created until
+ * a retry or a timeout is actually used, and a context set through {@link DexecutorConfig#setSchedulingContext(SchedulingContext)}
+ * can be shared by any number of Dexecutor instances, in which case it is not shut down when they terminate, but by
+ * calling {@link #shutdown()}.
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public final class SchedulingContext {
+
+	private final ThreadFactory threadFactory;
+	private final int immediateRetryPoolThreadsCount;
+	private final HashedWheelTimer timeoutTimer;
+
+	private volatile ExecutorService immediateRetryExecutor;
+	private volatile boolean shutdown;
+
+	/**
+	 * Creates the context with a single threaded immediate retry executor
+	 * 
+	 * @param threadFactory creates the retry and timer threads
+	 */
+	public SchedulingContext(final ThreadFactory threadFactory) {
+		this(threadFactory, 1);
+	}
+
+	/**
+	 * 
+	 * @param threadFactory creates the retry and timer threads
+	 * @param immediateRetryPoolThreadsCount Number of threads that should process immediate retries
+	 */
+	public SchedulingContext(final ThreadFactory threadFactory, final int immediateRetryPoolThreadsCount) {
+		checkNotNull(threadFactory, "Thread Factory should not be null");
+		checkArgument(immediateRetryPoolThreadsCount > 0, "Immediate retry pool threads count should be positive");
+		this.threadFactory = threadFactory;
+		this.immediateRetryPoolThreadsCount = immediateRetryPoolThreadsCount;
+		// starts its thread with the first timeout
+		this.timeoutTimer = new HashedWheelTimer(threadFactory);
+	}
+
+	/**
+	 * 
+	 * @return the timer for task deadlines and delayed retries
+	 */
+	public HashedWheelTimer getTimeoutTimer() {
+		return this.timeoutTimer;
+	}
+
+	/**
+	 * 
+	 * @return the executor for immediate retries, created on the first call
+	 */
+	public ExecutorService getImmediateRetryExecutor() {
+		ExecutorService executor = this.immediateRetryExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				checkNotShutdown();
+				executor = this.immediateRetryExecutor;
+				if (executor == null) {
+					executor = Executors.newFixedThreadPool(this.immediateRetryPoolThreadsCount, this.threadFactory);
+					this.immediateRetryExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Shuts down the executors and the timer, which were created so far. Already submitted immediate retries are still
+	 * run, pending timeouts and delayed retries are not.
+	 */
+	public synchronized void shutdown() {
+		this.shutdown = true;
+		this.timeoutTimer.stop();
+		if (this.immediateRetryExecutor != null) {
+			this.immediateRetryExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * 
+	 * @return {@code true} if this context was shut down
+	 */
+	public boolean isShutdown() {
+		return this.shutdown;
+	}
+
+	private void checkNotShutdown() {
+		if (this.shutdown) {
+			throw new IllegalStateException("Scheduling context has been shut down");
+		}
+	}
+}
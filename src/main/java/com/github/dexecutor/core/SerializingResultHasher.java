@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link ResultHasher}, SHA-256 digest of the serialized form of the result. Results which are not
+ * {@link Serializable} can not be digested.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <R> Type of Node/Task result
+ */
+public final class SerializingResultHasher<R> implements ResultHasher<R> {
+
+	private static final Logger logger = LoggerFactory.getLogger(SerializingResultHasher.class);
+
+	private static final String NULL_RESULT = "null";
+
+	@Override
+	public String hash(final R result) {
+		if (result == null) {
+			return NULL_RESULT;
+		}
+		if (!(result instanceof Serializable)) {
+			return null;
+		}
+		MessageDigest digest = ResultFingerprint.newDigest();
+		try (ObjectOutputStream out = new ObjectOutputStream(new DigestOutputStream(new DiscardingOutputStream(), digest))) {
+			out.writeObject(result);
+		} catch (IOException e) {
+			logger.debug("Can not serialize result {}", result, e);
+			return null;
+		}
+		return ResultFingerprint.hex(digest.digest());
+	}
+
+	private static final class DiscardingOutputStream extends OutputStream {
+
+		@Override
+		public void write(final int b) {
+
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import com.github.dexecutor.core.task.Task;
+
+/**
+ * Hands out the in flight slot and the resource permits to the duplicate attempts of the speculated tasks, so that
+ * speculation stays within the limits of the execution
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public interface SpeculationGuard<T, R> {
+	/**
+	 * Called before a duplicate attempt of the task is launched, the attempt is skipped if nothing is granted
+	 * 
+	 * @param task the straggling task
+	 * @return {@code true} if the duplicate attempt got what it needs to run
+	 */
+	boolean tryAcquire(Task<T, R> task);
+
+	/**
+	 * Called once for every granted duplicate attempt, before the result of the task is handed over
+	 * 
+	 * @param task the speculated task
+	 */
+	void release(Task<T, R> task);
+}
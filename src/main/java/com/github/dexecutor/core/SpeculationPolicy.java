@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static com.github.dexecutor.core.support.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides when a running idempotent task is a straggler, that is when it has run longer than a percentile of the recent
+ * execution durations of the tasks of its type (see {@link com.github.dexecutor.core.task.Task#getType()}). A duplicate
+ * attempt of a straggler is launched, and whichever attempt finishes first is taken. Reuse the instance across runs, so
+ * that the durations learnt are not lost.
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public final class SpeculationPolicy {
+
+	private static final int SAMPLES_PER_TYPE = 128;
+
+	private final double percentile;
+	private final int minSamples;
+	private final ConcurrentMap<String, Durations> durations = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates the policy, which speculates beyond the 95th percentile, once 10 durations of a type are known
+	 */
+	public SpeculationPolicy() {
+		this(0.95, 10);
+	}
+
+	/**
+	 * 
+	 * @param percentile between 0 (exclusive) and 1 (inclusive), tasks running longer than this percentile of the durations of their type are speculated
+	 * @param minSamples number of durations of a type, which should be known before its tasks are speculated
+	 */
+	public SpeculationPolicy(final double percentile, final int minSamples) {
+		checkArgument(percentile > 0 && percentile <= 1, "Percentile should be between 0 and 1");
+		checkArgument(minSamples > 0 && minSamples <= SAMPLES_PER_TYPE, "Min samples should be between 1 and " + SAMPLES_PER_TYPE);
+		this.percentile = percentile;
+		this.minSamples = minSamples;
+	}
+
+	/**
+	 * 
+	 * @param type of the task
+	 * @return time after which a task of the type is considered a straggler, {@code null} if not enough durations are known
+	 */
+	public Duration threshold(final String type) {
+		Durations current = this.durations.get(type);
+		if (current == null) {
+			return null;
+		}
+		long nanos = current.percentile(this.percentile, this.minSamples);
+		return nanos < 0 ? null : Duration.ofNanos(nanos);
+	}
+
+	/**
+	 * Records a successful execution duration of a task
+	 * 
+	 * @param type of the task
+	 * @param nanos the duration
+	 */
+	public void record(final String type, final long nanos) {
+		Durations current = this.durations.get(type);
+		if (current == null) {
+			current = new Durations();
+			Durations existing = this.durations.putIfAbsent(type, current);
+			if (existing != null) {
+				current = existing;
+			}
+		}
+		current.add(nanos);
+	}
+
+	/**
+	 * Most recent durations of a type, in a ring buffer
+	 */
+	private static final class Durations {
+
+		private final long[] samples = new long[SAMPLES_PER_TYPE];
+		private int count;
+		private int next;
+
+		synchronized void add(final long nanos) {
+			this.samples[this.next] = nanos;
+			this.next = (this.next + 1) % this.samples.length;
+			if (this.count < this.samples.length) {
+				this.count++;
+			}
+		}
+
+		long percentile(final double percentile, final int minSamples) {
+			long[] sorted;
+			synchronized (this) {
+				if (this.count < minSamples) {
+					return -1;
+				}
+				sorted = Arrays.copyOf(this.samples, this.count);
+			}
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile * sorted.length) - 1;
+			return sorted[Math.max(index, 0)];
+		}
+	}
+}
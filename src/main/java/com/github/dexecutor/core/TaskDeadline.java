@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+import com.github.dexecutor.core.task.Task;
+
+/**
+ * Deadline of a timeout based task, armed on the {@link HashedWheelTimer} when the task is submitted and disarmed as
+ * soon as it finishes. If the task has not run for its whole timeout when the deadline expires (it may have been
+ * queued), the deadline is armed again for the remaining time.
+ *
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+final class TaskDeadline<T, R> implements Runnable {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskDeadline.class);
+
+	private final HashedWheelTimer timer;
+	private final Task<T, R> task;
+	private volatile Runnable onTimeout;
+	private volatile HashedWheelTimer.Timeout timeout;
+	private volatile boolean finished;
+
+	TaskDeadline(final HashedWheelTimer timer, final Task<T, R> task) {
+		this.timer = timer;
+		this.task = task;
+	}
+
+	/**
+	 * 
+	 * @param timer the timer, may be null
+	 * @param task the task
+	 * @param <T> Type of Node/Task ID
+	 * @param <R> Type of Node/Task result
+	 * @return the deadline, or null if either the task is not timeout based or there is no timer
+	 */
+	static <T, R> TaskDeadline<T, R> of(final HashedWheelTimer timer, final Task<T, R> task) {
+		if (timer == null || task.getTimeout() == null) {
+			return null;
+		}
+		logger.trace("Task # {}, Is Timeout based", task.getId());
+		return new TaskDeadline<>(timer, task);
+	}
+
+	/**
+	 * Arms the deadline
+	 * 
+	 * @param onTimeout run on the timer thread, if the task times out, it should only cancel the task and leave
+	 *        processing of the result to other threads
+	 */
+	void arm(final Runnable onTimeout) {
+		this.onTimeout = onTimeout;
+		schedule(this.task.getTimeout());
+	}
+
+	/**
+	 * Disarms the deadline, should be called once the task finishes
+	 */
+	void finish() {
+		this.finished = true;
+		HashedWheelTimer.Timeout current = this.timeout;
+		if (current != null) {
+			current.cancel();
+		}
+	}
+
+	@Override
+	public void run() {
+		if (this.finished || this.task.isCompleted()) {
+			logger.trace("Task already completed {}", this.task);
+		} else if (this.task.isTimedOut()) {
+			logger.trace("Task timed out {}", this.task);
+			this.onTimeout.run();
+		} else {
+			logger.trace("Task Not timed out {}, adding it back", this.task);
+			LocalDateTime start = this.task.getStartTime();
+			schedule(start == null ? this.task.getTimeout() : Duration.between(LocalDateTime.now(), start.plus(this.task.getTimeout())));
+		}
+	}
+
+	private void schedule(final Duration delay) {
+		this.timeout = this.timer.newTimeout(this, Math.max(delay.toNanos(), 0), TimeUnit.NANOSECONDS);
+		// the task may have finished, before the timeout was visible
+		if (this.finished) {
+			this.timeout.cancel();
+		}
+	}
+}
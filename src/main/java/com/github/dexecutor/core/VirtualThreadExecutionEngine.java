@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+import com.github.dexecutor.core.concurrent.ThreadPerTaskExecutor;
+import com.github.dexecutor.core.support.VirtualThreads;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskExecutionException;
+
+/**
+ * Execution engine which runs every task on its own virtual thread, suited for tasks which mostly block on I/O. The number
+ * of tasks of a run executing at the same time can be bounded, tasks over the limit wait (on their virtual thread) for their turn.
+ * On JVMs without virtual threads, tasks run on a pool of daemon platform threads instead, as many as the bound on the
+ * number of tasks executing at the same time, or as the available processors if not bounded.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class VirtualThreadExecutionEngine<T, R> implements ExecutionEngine<T, R> {
+
+	private static final long IDLE_PLATFORM_THREAD_SECONDS = 60;
+
+	private final ExecutorService executor;
+	private final DefaultExecutionEngine<T, R> delegate;
+
+	/**
+	 * Creates the engine, with no bound on the number of tasks executing at the same time on virtual threads
+	 * @param state the state
+	 */
+	public VirtualThreadExecutionEngine(final DexecutorState<T, R> state) {
+		this(state, newExecutor(0), null);
+	}
+
+	/**
+	 * Creates the engine
+	 * @param state the state
+	 * @param maxConcurrency maximum number of tasks executing at the same time
+	 */
+	public VirtualThreadExecutionEngine(final DexecutorState<T, R> state, final int maxConcurrency) {
+		this(state, maxConcurrency, null);
+	}
+
+	/**
+	 * Creates the engine
+	 * @param state the state
+	 * @param maxConcurrency maximum number of tasks executing at the same time
+	 * @param listener to notify
+	 */
+	public VirtualThreadExecutionEngine(final DexecutorState<T, R> state, final int maxConcurrency, final ExecutionListener<T, R> listener) {
+		this(state, newExecutor(checkMaxConcurrency(maxConcurrency)), listener);
+	}
+
+	private VirtualThreadExecutionEngine(final DexecutorState<T, R> state, final ExecutorService executor, final ExecutionListener<T, R> listener) {
+		this.executor = executor;
+		this.delegate = new DefaultExecutionEngine<>(state, executor, listener);
+	}
+
+	@Override
+	public void submit(final Task<T, R> task) {
+		this.delegate.submit(task);
+	}
+
+	@Override
+	public ExecutionResult<T, R> processResult() throws TaskExecutionException {
+		return this.delegate.processResult();
+	}
+
+	@Override
+	public boolean isDistributed() {
+		return false;
+	}
+
+	@Override
+	public boolean isAnyTaskInError() {
+		return this.delegate.isAnyTaskInError();
+	}
+
+	@Override
+	public void setExecutionListener(final ExecutionListener<T, R> listener) {
+		this.delegate.setExecutionListener(listener);
+	}
+
+	@Override
+	public ExecutionListener<T, R> getExecutionListener() {
+		return this.delegate.getExecutionListener();
+	}
+
+	@Override
+	public void setTimeoutTimer(final HashedWheelTimer timeoutTimer) {
+		this.delegate.setTimeoutTimer(timeoutTimer);
+	}
+
+	@Override
+	public void setResultHandler(final ExecutionResultHandler<T, R> resultHandler) {
+		this.delegate.setResultHandler(resultHandler);
+	}
+
+	@Override
+	public void setSpeculationPolicy(final SpeculationPolicy speculationPolicy) {
+		this.delegate.setSpeculationPolicy(speculationPolicy);
+	}
+
+	@Override
+	public void setSpeculationGuard(final SpeculationGuard<T, R> speculationGuard) {
+		this.delegate.setSpeculationGuard(speculationGuard);
+	}
+
+	/**
+	 * 
+	 * @return number of tasks which are either executing or waiting for their turn
+	 */
+	public int activeCount() {
+		if (this.executor instanceof ThreadPerTaskExecutor) {
+			return ((ThreadPerTaskExecutor) this.executor).activeCount();
+		}
+		ThreadPoolExecutor pool = (ThreadPoolExecutor) this.executor;
+		return pool.getActiveCount() + pool.getQueue().size();
+	}
+
+	private static int checkMaxConcurrency(final int maxConcurrency) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("maxConcurrency should be positive " + maxConcurrency);
+		}
+		return maxConcurrency;
+	}
+
+	/**
+	 * A thread per task, only if the threads are virtual, otherwise a bounded pool whose idle threads exit
+	 *
+	 * @param maxConcurrency maximum number of tasks executing at the same time, zero for no limit
+	 */
+	private static ExecutorService newExecutor(final int maxConcurrency) {
+		if (VirtualThreads.isSupported()) {
+			return maxConcurrency > 0 ? new ThreadPerTaskExecutor(VirtualThreads.newThreadFactory("dexecutor-task-"), maxConcurrency)
+					: new ThreadPerTaskExecutor(VirtualThreads.newThreadFactory("dexecutor-task-"));
+		}
+		int threads = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, IDLE_PLATFORM_THREAD_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), VirtualThreads.newThreadFactory("dexecutor-task-"));
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+
+	@Override
+	public String toString() {
+		return "VirtualThreadExecutionEngine [virtualThreads=" + VirtualThreads.isSupported() + "]";
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock free, append only log which remembers the order in which elements were added. Storage is split into
+ * chunks whose sizes double, so appending never copies already added elements.
+ * <p>
+ * Readers see the longest prefix of fully written elements, an element whose slot was reserved but not yet written
+ * would be visible on the next read.
+ *
+ * @author Nadeem Mohammad
+ *
+ * @param <E> Type of the element
+ */
+public final class AppendOnlyLog<E> {
+
+	private static final int FIRST_CHUNK_BITS = 5;
+	private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+	private static final int MAX_CHUNKS = Integer.SIZE - FIRST_CHUNK_BITS - 1;
+
+	private final AtomicInteger tail = new AtomicInteger(0);
+	private final AtomicReferenceArray<AtomicReferenceArray<E>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+	/**
+	 * Appends the element at the end of this log
+	 *
+	 * @param element to be appended, should not be null
+	 */
+	public void add(final E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		int index = this.tail.getAndIncrement();
+		int chunk = chunkIndex(index);
+		chunk(chunk).set(index - chunkStart(chunk), element);
+	}
+
+	/**
+	 *
+	 * @return number of elements added so far, including the ones being written
+	 */
+	public int size() {
+		return this.tail.get();
+	}
+
+	/**
+	 *
+	 * @return {@code true} if nothing was added so far
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 *
+	 * @return the elements in the order they were added
+	 */
+	public List<E> toList() {
+		int size = size();
+		List<E> result = new ArrayList<E>(size);
+		for (int index = 0; index < size; index++) {
+			int chunkIndex = chunkIndex(index);
+			AtomicReferenceArray<E> chunk = this.chunks.get(chunkIndex);
+			E element = chunk == null ? null : chunk.get(index - chunkStart(chunkIndex));
+			if (element == null) {
+				break;
+			}
+			result.add(element);
+		}
+		return result;
+	}
+
+	private AtomicReferenceArray<E> chunk(final int chunkIndex) {
+		AtomicReferenceArray<E> chunk = this.chunks.get(chunkIndex);
+		if (chunk == null) {
+			this.chunks.compareAndSet(chunkIndex, null, new AtomicReferenceArray<E>(FIRST_CHUNK_SIZE << chunkIndex));
+			chunk = this.chunks.get(chunkIndex);
+		}
+		return chunk;
+	}
+
+	private static int chunkIndex(final int index) {
+		return (Integer.SIZE - 1) - Integer.numberOfLeadingZeros((index >>> FIRST_CHUNK_BITS) + 1);
+	}
+
+	private static int chunkStart(final int chunkIndex) {
+		return (FIRST_CHUNK_SIZE << chunkIndex) - FIRST_CHUNK_SIZE;
+	}
+
+	@Override
+	public String toString() {
+		return toList().toString();
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size, lock free bit set, backed by an {@link AtomicLongArray}. All the operations are safe to be called
+ * from multiple threads.
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class ConcurrentBitSet {
+
+	private static final int ADDRESS_BITS_PER_WORD = 6;
+
+	private final int size;
+	private final AtomicLongArray words;
+
+	/**
+	 * Creates a bit set which can hold bits from {@code 0} to {@code size - 1}
+	 *
+	 * @param size number of bits
+	 */
+	public ConcurrentBitSet(final int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("size should not be negative " + size);
+		}
+		this.size = size;
+		this.words = new AtomicLongArray(wordIndex(size - 1) + 1);
+	}
+
+	/**
+	 *
+	 * @return number of bits this set can hold
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 *
+	 * @param index the bit index
+	 * @return {@code true} if the bit is set {@code false} otherwise
+	 */
+	public boolean get(final int index) {
+		checkIndex(index);
+		return (this.words.get(wordIndex(index)) & mask(index)) != 0;
+	}
+
+	/**
+	 * Sets the bit at the given index
+	 *
+	 * @param index the bit index
+	 * @return {@code true} if this call changed the bit, {@code false} if it was already set
+	 */
+	public boolean set(final int index) {
+		checkIndex(index);
+		int wordIndex = wordIndex(index);
+		long mask = mask(index);
+		long current;
+		do {
+			current = this.words.get(wordIndex);
+			if ((current & mask) != 0) {
+				return false;
+			}
+		} while (!this.words.compareAndSet(wordIndex, current, current | mask));
+		return true;
+	}
+
+	/**
+	 * Clears the bit at the given index
+	 *
+	 * @param index the bit index
+	 * @return {@code true} if this call changed the bit, {@code false} if it was already clear
+	 */
+	public boolean clear(final int index) {
+		checkIndex(index);
+		int wordIndex = wordIndex(index);
+		long mask = mask(index);
+		long current;
+		do {
+			current = this.words.get(wordIndex);
+			if ((current & mask) == 0) {
+				return false;
+			}
+		} while (!this.words.compareAndSet(wordIndex, current, current & ~mask));
+		return true;
+	}
+
+	/**
+	 * Clears all the bits
+	 */
+	public void clear() {
+		for (int i = 0; i < this.words.length(); i++) {
+			this.words.set(i, 0L);
+		}
+	}
+
+	/**
+	 *
+	 * @return number of bits set at this instance of time
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (int i = 0; i < this.words.length(); i++) {
+			count += Long.bitCount(this.words.get(i));
+		}
+		return count;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("index " + index + " is outside [0, " + this.size + ")");
+		}
+	}
+
+	private static int wordIndex(final int index) {
+		return index >> ADDRESS_BITS_PER_WORD;
+	}
+
+	private static long mask(final int index) {
+		return 1L << index;
+	}
+}
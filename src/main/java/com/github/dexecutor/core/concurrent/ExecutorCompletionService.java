@@ -5,9 +5,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.TimeUnit;
 
 import com.github.dexecutor.core.IdentifiableCallable;
@@ -19,9 +17,9 @@ public class ExecutorCompletionService<T, V> implements CompletionService<V> {
     /**
      * FutureTask extension to enqueue upon completion
      */
-    private class QueueingFuture extends FutureTask<Void> {
-        QueueingFuture(RunnableFuture<V> task) {
-            super(task, null);
+    private class QueueingFuture extends IdentifiableRunnableFuture<T, Void> {
+        QueueingFuture(IdentifiableRunnableFuture<T, V> task) {
+            super(task.getIdentifier(), task, null);
             this.task = task;
         }
         protected void done() { completionQueue.add(task); }
@@ -66,19 +64,19 @@ public class ExecutorCompletionService<T, V> implements CompletionService<V> {
 
     public Future<V> submit(Callable<V> task) {
         if (task == null) throw new NullPointerException();
-        RunnableFuture<V> f = newTaskFor(task);
+        IdentifiableRunnableFuture<T, V> f = newTaskFor(task);
         executor.execute(new QueueingFuture(f));
         return f;
     }
 
     public Future<V> submit(Runnable task, V result) {
         if (task == null) throw new NullPointerException();
-        RunnableFuture<V> f = newTaskFor(task, result);
+        IdentifiableRunnableFuture<T, V> f = newTaskFor(task, result);
         executor.execute(new QueueingFuture(f));
         return f;
     }
 
-    private RunnableFuture<V> newTaskFor(Callable<V> task) {
+    private IdentifiableRunnableFuture<T, V> newTaskFor(Callable<V> task) {
 
     	@SuppressWarnings("unchecked")
 		IdentifiableCallable<T, V> callable = (IdentifiableCallable<T, V>) task;
@@ -86,7 +84,7 @@ public class ExecutorCompletionService<T, V> implements CompletionService<V> {
     	return new IdentifiableRunnableFuture<T, V>(callable.getIdentifier(), callable);
     }
 
-    private RunnableFuture<V> newTaskFor(Runnable task, V result) {
+    private IdentifiableRunnableFuture<T, V> newTaskFor(Runnable task, V result) {
     	@SuppressWarnings("unchecked")
 		IdentifiableCallable<T, V> callable = (IdentifiableCallable<T, V>) task;
     	return new IdentifiableRunnableFuture<T, V>(callable.getIdentifier(), task, result);
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Durable append only log of byte records, in a memory mapped file. A record is a length, a CRC32 and the payload;
+ * the file is zero filled beyond the last record, hence reading stops at the first zero length, or at a record whose
+ * checksum does not match (a record torn by a crash).
+ * <p>
+ * Appending only copies the record into the mapping, {@link #commit(long)} forces it to the disk. Commits are grouped:
+ * a thread forcing the file makes durable everything appended so far, so threads which committed meanwhile return
+ * without forcing again.
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class GroupCommitLog implements AutoCloseable {
+
+	private static final int HEADER_SIZE = 8;
+
+	private final FileChannel channel;
+	private final Object appendLock = new Object();
+	private final Object commitLock = new Object();
+	private final List<byte[]> recovered;
+
+	private volatile MappedByteBuffer buffer;
+	private volatile long written;
+	private volatile long committed;
+
+	/**
+	 * Opens the log, creating the file if missing, records already in the file are available through {@link #recovered()}
+	 *
+	 * @param path of the log file
+	 * @param initialCapacity bytes mapped initially, doubled whenever a record does not fit
+	 */
+	public GroupCommitLog(final Path path, final int initialCapacity) {
+		if (path == null || initialCapacity <= HEADER_SIZE) {
+			throw new IllegalArgumentException("Path should not be null and capacity should be more than " + HEADER_SIZE);
+		}
+		try {
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			this.buffer = this.channel.map(MapMode.READ_WRITE, 0, Math.max(this.channel.size(), initialCapacity));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not open log " + path, e);
+		}
+		this.recovered = scan();
+		this.committed = this.written;
+	}
+
+	private List<byte[]> scan() {
+		List<byte[]> records = new ArrayList<>();
+		MappedByteBuffer mapped = this.buffer;
+		CRC32 crc = new CRC32();
+		int position = 0;
+		while (position + HEADER_SIZE <= mapped.capacity()) {
+			int length = mapped.getInt(position);
+			if (length <= 0 || length > mapped.capacity() - position - HEADER_SIZE) {
+				break;
+			}
+			byte[] record = new byte[length];
+			mapped.position(position + HEADER_SIZE);
+			mapped.get(record);
+			crc.reset();
+			crc.update(record, 0, length);
+			if ((int) crc.getValue() != mapped.getInt(position + 4)) {
+				break;
+			}
+			records.add(record);
+			position += HEADER_SIZE + length;
+		}
+		this.written = position;
+		return records;
+	}
+
+	/**
+	 *
+	 * @return records which were in the file when it was opened, in the order they were appended
+	 */
+	public List<byte[]> recovered() {
+		return this.recovered;
+	}
+
+	/**
+	 * Appends the record, which is not durable until committed
+	 *
+	 * @param record to be appended, should not be empty
+	 * @return position to commit, for the record to be durable
+	 */
+	public long append(final byte[] record) {
+		if (record == null || record.length == 0) {
+			throw new IllegalArgumentException("Record should not be empty");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(record, 0, record.length);
+		synchronized (this.appendLock) {
+			int position = (int) this.written;
+			MappedByteBuffer mapped = ensureCapacity(position + HEADER_SIZE + record.length);
+			mapped.putInt(position + 4, (int) crc.getValue());
+			mapped.position(position + HEADER_SIZE);
+			mapped.put(record);
+			// the length is written last, a reader never sees a length without its payload
+			mapped.putInt(position, record.length);
+			this.written = position + HEADER_SIZE + record.length;
+			return this.written;
+		}
+	}
+
+	private MappedByteBuffer ensureCapacity(final long required) {
+		MappedByteBuffer mapped = this.buffer;
+		if (required <= mapped.capacity()) {
+			return mapped;
+		}
+		long capacity = mapped.capacity();
+		while (capacity < required) {
+			capacity <<= 1;
+		}
+		if (capacity > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Log can not grow beyond " + Integer.MAX_VALUE + " bytes");
+		}
+		try {
+			// both mappings share the page cache, records written through the old one stay visible
+			mapped = this.channel.map(MapMode.READ_WRITE, 0, capacity);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not grow log to " + capacity + " bytes", e);
+		}
+		this.buffer = mapped;
+		return mapped;
+	}
+
+	/**
+	 * Waits until the records appended up to the position are on the disk
+	 *
+	 * @param position returned by {@link #append(byte[])}
+	 */
+	public void commit(final long position) {
+		if (this.committed >= position) {
+			return;
+		}
+		synchronized (this.commitLock) {
+			if (this.committed >= position) {
+				return;
+			}
+			// records appended while waiting for the lock are forced along
+			long target = this.written;
+			this.buffer.force();
+			this.committed = target;
+		}
+	}
+
+	/**
+	 *
+	 * @return number of bytes appended, including the ones recovered
+	 */
+	public long size() {
+		return this.written;
+	}
+
+	/**
+	 * Commits all the records and closes the file
+	 */
+	@Override
+	public void close() {
+		commit(this.written);
+		try {
+			this.channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not close log", e);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.concurrent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock free bit set without an upper bound, for indexes handed out while the set is in use. Bits are stored in
+ * {@link ConcurrentBitSet} segments whose sizes double, created on the first bit set in them, hence growing never
+ * copies (or loses) bits set concurrently.
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class GrowableBitSet {
+
+	private static final int FIRST_SEGMENT_BITS = 10;
+	private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_BITS;
+	private static final int MAX_SEGMENTS = Integer.SIZE - FIRST_SEGMENT_BITS - 1;
+
+	private final AtomicReferenceArray<ConcurrentBitSet> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+
+	/**
+	 *
+	 * @param index the bit index
+	 * @return {@code true} if the bit is set {@code false} otherwise
+	 */
+	public boolean get(final int index) {
+		int segmentIndex = segmentIndex(index);
+		ConcurrentBitSet segment = this.segments.get(segmentIndex);
+		return segment != null && segment.get(index - segmentStart(segmentIndex));
+	}
+
+	/**
+	 * Sets the bit at the given index
+	 *
+	 * @param index the bit index
+	 * @return {@code true} if this call changed the bit, {@code false} if it was already set
+	 */
+	public boolean set(final int index) {
+		int segmentIndex = segmentIndex(index);
+		return segment(segmentIndex).set(index - segmentStart(segmentIndex));
+	}
+
+	/**
+	 * Clears the bit at the given index
+	 *
+	 * @param index the bit index
+	 * @return {@code true} if this call changed the bit, {@code false} if it was already clear
+	 */
+	public boolean clear(final int index) {
+		int segmentIndex = segmentIndex(index);
+		ConcurrentBitSet segment = this.segments.get(segmentIndex);
+		return segment != null && segment.clear(index - segmentStart(segmentIndex));
+	}
+
+	/**
+	 * Clears all the bits
+	 */
+	public void clear() {
+		for (int i = 0; i < MAX_SEGMENTS; i++) {
+			ConcurrentBitSet segment = this.segments.get(i);
+			if (segment != null) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return number of bits set at this instance of time
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (int i = 0; i < MAX_SEGMENTS; i++) {
+			ConcurrentBitSet segment = this.segments.get(i);
+			if (segment != null) {
+				count += segment.cardinality();
+			}
+		}
+		return count;
+	}
+
+	private ConcurrentBitSet segment(final int segmentIndex) {
+		ConcurrentBitSet segment = this.segments.get(segmentIndex);
+		if (segment == null) {
+			this.segments.compareAndSet(segmentIndex, null, new ConcurrentBitSet(FIRST_SEGMENT_SIZE << segmentIndex));
+			segment = this.segments.get(segmentIndex);
+		}
+		return segment;
+	}
+
+	private static int segmentIndex(final int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException("index " + index + " is negative");
+		}
+		return (Integer.SIZE - 1) - Integer.numberOfLeadingZeros((index >>> FIRST_SEGMENT_BITS) + 1);
+	}
+
+	private static int segmentStart(final int segmentIndex) {
+		return (FIRST_SEGMENT_SIZE << segmentIndex) - FIRST_SEGMENT_SIZE;
+	}
+}
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timer for large number of approximate deadlines, backed by a single thread and a wheel of buckets (see Varghese and
+ * Lauck, Hashed and Hierarchical Timing Wheels). Adding and cancelling a timeout is O(1), expiry is checked once per
+ * tick, hence timeouts fire up to one tick late.
+ * <p>
+ * The timer thread and the wheel are created with the first timeout, and expired timeouts are run on the timer thread,
+ * so they should be short.
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class HashedWheelTimer {
+
+	private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+	private static final int INIT = 0;
+	private static final int STARTED = 1;
+	private static final int STOPPED = 2;
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+	private final ThreadFactory threadFactory;
+	private final long tickNanos;
+	private final int ticksPerWheel;
+	private volatile Thread worker;
+
+	private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+	private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger workerState = new AtomicInteger(INIT);
+	private final AtomicLong pending = new AtomicLong(0);
+	private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+	private volatile long startTime;
+
+	/**
+	 * Creates the timer with a tick of 10 milliseconds and a wheel of 512 buckets
+	 *
+	 * @param threadFactory creates the timer thread
+	 */
+	public HashedWheelTimer(final ThreadFactory threadFactory) {
+		this(threadFactory, 10, TimeUnit.MILLISECONDS, 512);
+	}
+
+	/**
+	 *
+	 * @param threadFactory creates the timer thread
+	 * @param tickDuration duration between the checks for expired timeouts
+	 * @param unit unit of the tick duration
+	 * @param ticksPerWheel number of buckets, rounded up to a power of two
+	 */
+	public HashedWheelTimer(final ThreadFactory threadFactory, final long tickDuration, final TimeUnit unit, final int ticksPerWheel) {
+		if (threadFactory == null || unit == null) {
+			throw new IllegalArgumentException("Thread factory and unit should not be null");
+		}
+		if (tickDuration <= 0 || ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+			throw new IllegalArgumentException("Invalid tick duration " + tickDuration + " or ticks per wheel " + ticksPerWheel);
+		}
+		this.threadFactory = threadFactory;
+		this.ticksPerWheel = Math.max(Integer.highestOneBit(ticksPerWheel - 1) << 1, 1);
+		this.tickNanos = unit.toNanos(tickDuration);
+	}
+
+	/**
+	 * Schedules the task to be run once, after the given delay
+	 *
+	 * @param task to be run on the timer thread
+	 * @param delay the delay
+	 * @param unit unit of the delay
+	 * @return handle to cancel the timeout
+	 * @throws IllegalStateException if the timer was stopped
+	 */
+	public Timeout newTimeout(final Runnable task, final long delay, final TimeUnit unit) {
+		if (task == null || unit == null) {
+			throw new IllegalArgumentException("Task and unit should not be null");
+		}
+		start();
+		long deadline = System.nanoTime() + unit.toNanos(delay) - this.startTime;
+		Timeout timeout = new Timeout(this, task, deadline);
+		this.pending.incrementAndGet();
+		this.added.add(timeout);
+		return timeout;
+	}
+
+	/**
+	 *
+	 * @return number of timeouts which neither expired nor were cancelled
+	 */
+	public long pendingTimeouts() {
+		return this.pending.get();
+	}
+
+	/**
+	 * Stops the timer thread, pending timeouts would never run
+	 */
+	public void stop() {
+		if (this.workerState.getAndSet(STOPPED) == STARTED) {
+			// if the thread is not yet visible, it notices the stop within a tick
+			Thread current = this.worker;
+			if (current != null) {
+				LockSupport.unpark(current);
+			}
+		}
+	}
+
+	private void start() {
+		switch (this.workerState.get()) {
+		case INIT:
+			if (this.workerState.compareAndSet(INIT, STARTED)) {
+				Thread thread = this.threadFactory.newThread(new Worker());
+				this.worker = thread;
+				thread.start();
+			}
+			break;
+		case STARTED:
+			break;
+		default:
+			throw new IllegalStateException("Timer has been stopped");
+		}
+		while (this.startTime == 0) {
+			try {
+				this.startTimeInitialized.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted waiting for the timer to start", e);
+			}
+		}
+	}
+
+	private final class Worker implements Runnable {
+
+		private final Bucket[] wheel = new Bucket[ticksPerWheel];
+		private final int mask = ticksPerWheel - 1;
+		private long tick;
+
+		@Override
+		public void run() {
+			for (int i = 0; i < this.wheel.length; i++) {
+				this.wheel[i] = new Bucket();
+			}
+			long now = System.nanoTime();
+			// zero marks the timer as not started
+			startTime = now == 0 ? 1 : now;
+			startTimeInitialized.countDown();
+
+			while (workerState.get() == STARTED) {
+				long deadline = waitForNextTick();
+				if (deadline > 0) {
+					removeCancelled();
+					transferAdded();
+					this.wheel[(int) (this.tick & this.mask)].expire();
+					this.tick++;
+				}
+			}
+		}
+
+		private long waitForNextTick() {
+			long deadline = tickNanos * (this.tick + 1);
+			while (true) {
+				long current = System.nanoTime() - startTime;
+				long sleepNanos = deadline - current;
+				if (sleepNanos <= 0) {
+					return current;
+				}
+				LockSupport.parkNanos(HashedWheelTimer.this, sleepNanos);
+				if (workerState.get() != STARTED) {
+					return -1;
+				}
+			}
+		}
+
+		private void transferAdded() {
+			for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+				Timeout timeout = added.poll();
+				if (timeout == null) {
+					return;
+				}
+				if (timeout.isCancelled()) {
+					continue;
+				}
+				long expiryTick = timeout.deadline / tickNanos;
+				timeout.remainingRounds = (expiryTick - this.tick) / this.wheel.length;
+				// deadlines already passed are expired with the current tick
+				long ticks = Math.max(expiryTick, this.tick);
+				this.wheel[(int) (ticks & this.mask)].add(timeout);
+			}
+		}
+
+		private void removeCancelled() {
+			Timeout timeout;
+			while ((timeout = cancelled.poll()) != null) {
+				if (timeout.bucket != null) {
+					timeout.bucket.remove(timeout);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Doubly linked list of timeouts, accessed only by the timer thread
+	 */
+	private static final class Bucket {
+
+		private Timeout head;
+		private Timeout tail;
+
+		void add(final Timeout timeout) {
+			timeout.bucket = this;
+			if (this.head == null) {
+				this.head = this.tail = timeout;
+			} else {
+				this.tail.next = timeout;
+				timeout.prev = this.tail;
+				this.tail = timeout;
+			}
+		}
+
+		void expire() {
+			Timeout timeout = this.head;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				if (timeout.remainingRounds <= 0) {
+					// the deadline falls within the tick, which just passed
+					remove(timeout);
+					timeout.expire();
+				} else if (timeout.isCancelled()) {
+					remove(timeout);
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		void remove(final Timeout timeout) {
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			if (timeout == this.head) {
+				this.head = timeout.next;
+			}
+			if (timeout == this.tail) {
+				this.tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+		}
+	}
+
+	/**
+	 * Handle to a scheduled task
+	 */
+	public static final class Timeout {
+
+		private static final int WAITING = 0;
+		private static final int CANCELLED = 1;
+		private static final int EXPIRED = 2;
+
+		// saves an object per timeout, over an AtomicInteger
+		private static final AtomicIntegerFieldUpdater<Timeout> STATUS = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "status");
+
+		private final HashedWheelTimer timer;
+		private final Runnable task;
+		private final long deadline;
+		private volatile int status = WAITING;
+
+		// accessed only by the timer thread
+		private long remainingRounds;
+		private Timeout next;
+		private Timeout prev;
+		private Bucket bucket;
+
+		private Timeout(final HashedWheelTimer timer, final Runnable task, final long deadline) {
+			this.timer = timer;
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Cancels the timeout, unless it already expired
+		 *
+		 * @return {@code true} if this call cancelled the timeout
+		 */
+		public boolean cancel() {
+			if (!STATUS.compareAndSet(this, WAITING, CANCELLED)) {
+				return false;
+			}
+			this.timer.pending.decrementAndGet();
+			// unlinked from its bucket by the timer thread, on the next tick
+			this.timer.cancelled.add(this);
+			return true;
+		}
+
+		/**
+		 *
+		 * @return {@code true} if the timeout was cancelled
+		 */
+		public boolean isCancelled() {
+			return this.status == CANCELLED;
+		}
+
+		/**
+		 *
+		 * @return {@code true} if the task was run
+		 */
+		public boolean isExpired() {
+			return this.status == EXPIRED;
+		}
+
+		private void expire() {
+			if (!STATUS.compareAndSet(this, WAITING, EXPIRED)) {
+				return;
+			}
+			this.timer.pending.decrementAndGet();
+			try {
+				this.task.run();
+			} catch (Throwable t) {
+				logger.warn("Timeout task threw an exception", t);
+			}
+		}
+	}
+}
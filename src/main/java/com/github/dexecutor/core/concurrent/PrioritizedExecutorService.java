@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Executor service which hands the tasks over to the underlying executor service in the order of their priority,
+ * instead of the order of submission. Every submission enqueues the task and asks the underlying executor to run
+ * the task with the highest priority at the time a worker becomes free.
+ * <p>
+ * Priority of {@link IdentifiableRunnableFuture}s is computed from their identifier, rest of the tasks get priority
+ * {@code 0}, tasks of same priority run in the order of submission.
+ *
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ */
+public final class PrioritizedExecutorService<T> extends AbstractExecutorService {
+
+	private final ExecutorService executorService;
+	private final ToLongFunction<T> priority;
+	private final PriorityBlockingQueue<Entry> queue = new PriorityBlockingQueue<>();
+	private final AtomicLong sequence = new AtomicLong(0);
+	private final Runnable runHighestPriority = new Runnable() {
+		@Override
+		public void run() {
+			Entry entry = queue.poll();
+			if (entry != null) {
+				entry.command.run();
+			}
+		}
+	};
+
+	/**
+	 *
+	 * @param executorService on which the tasks would run
+	 * @param priority of a task given its identifier, higher the value sooner the task runs
+	 */
+	public PrioritizedExecutorService(final ExecutorService executorService, final ToLongFunction<T> priority) {
+		if (executorService == null || priority == null) {
+			throw new NullPointerException();
+		}
+		this.executorService = executorService;
+		this.priority = priority;
+	}
+
+	@Override
+	public void execute(final Runnable command) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		this.queue.add(new Entry(priorityOf(command), this.sequence.getAndIncrement(), command));
+		this.executorService.execute(this.runHighestPriority);
+	}
+
+	@SuppressWarnings("unchecked")
+	private long priorityOf(final Runnable command) {
+		if (command instanceof IdentifiableRunnableFuture) {
+			return this.priority.applyAsLong(((IdentifiableRunnableFuture<T, ?>) command).getIdentifier());
+		}
+		return 0;
+	}
+
+	@Override
+	public void shutdown() {
+		this.executorService.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		this.executorService.shutdownNow();
+		List<Runnable> pending = new ArrayList<>();
+		Entry entry;
+		while ((entry = this.queue.poll()) != null) {
+			pending.add(entry.command);
+		}
+		return pending;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.executorService.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.executorService.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+		return this.executorService.awaitTermination(timeout, unit);
+	}
+
+	@Override
+	public String toString() {
+		return "PrioritizedExecutorService [" + this.executorService + ", queued=" + this.queue.size() + "]";
+	}
+
+	private static final class Entry implements Comparable<Entry> {
+
+		private final long priority;
+		private final long sequence;
+		private final Runnable command;
+
+		Entry(final long priority, final long sequence, final Runnable command) {
+			this.priority = priority;
+			this.sequence = sequence;
+			this.command = command;
+		}
+
+		@Override
+		public int compareTo(final Entry other) {
+			int result = Long.compare(other.priority, this.priority);
+			return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+		}
+	}
+}
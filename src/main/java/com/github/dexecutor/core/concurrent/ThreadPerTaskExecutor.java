@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor service which starts a new thread for every task, meant to be used with cheap (virtual) threads. Optionally
+ * the number of tasks running at the same time can be bounded, the permit is acquired by the new thread itself, so
+ * submitting never blocks.
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+	private final ThreadFactory threadFactory;
+	private final Semaphore permits;
+	private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+	private final CountDownLatch terminated = new CountDownLatch(1);
+	private volatile boolean shutdown = false;
+
+	/**
+	 * Creates executor which runs any number of tasks at the same time
+	 *
+	 * @param threadFactory to create the threads
+	 */
+	public ThreadPerTaskExecutor(final ThreadFactory threadFactory) {
+		this(threadFactory, null);
+	}
+
+	/**
+	 * Creates executor which runs at the most {@code maxConcurrency} tasks at the same time, rest wait for their turn
+	 * in the order they were submitted
+	 *
+	 * @param threadFactory to create the threads
+	 * @param maxConcurrency maximum number of tasks running at the same time
+	 */
+	public ThreadPerTaskExecutor(final ThreadFactory threadFactory, final int maxConcurrency) {
+		this(threadFactory, newPermits(maxConcurrency));
+	}
+
+	private ThreadPerTaskExecutor(final ThreadFactory threadFactory, final Semaphore permits) {
+		if (threadFactory == null) {
+			throw new NullPointerException();
+		}
+		this.threadFactory = threadFactory;
+		this.permits = permits;
+	}
+
+	private static Semaphore newPermits(final int maxConcurrency) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("maxConcurrency should be positive " + maxConcurrency);
+		}
+		return new Semaphore(maxConcurrency, true);
+	}
+
+	@Override
+	public void execute(final Runnable command) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		Thread thread = this.threadFactory.newThread(new Runnable() {
+			@Override
+			public void run() {
+				runTask(command);
+			}
+		});
+		synchronized (this) {
+			if (this.shutdown) {
+				throw new RejectedExecutionException("Executor has been shutdown");
+			}
+			this.threads.add(thread);
+		}
+		thread.start();
+	}
+
+	private void runTask(final Runnable command) {
+		try {
+			if (this.permits == null) {
+				command.run();
+			} else {
+				this.permits.acquire();
+				try {
+					command.run();
+				} finally {
+					this.permits.release();
+				}
+			}
+		} catch (InterruptedException e) {
+			// shutdown now, before the task got its turn
+			Thread.currentThread().interrupt();
+		} finally {
+			this.threads.remove(Thread.currentThread());
+			if (this.shutdown && this.threads.isEmpty()) {
+				this.terminated.countDown();
+			}
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		synchronized (this) {
+			this.shutdown = true;
+		}
+		if (this.threads.isEmpty()) {
+			this.terminated.countDown();
+		}
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown();
+		for (Thread thread : this.threads) {
+			thread.interrupt();
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.shutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.terminated.getCount() == 0;
+	}
+
+	@Override
+	public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+		return this.terminated.await(timeout, unit);
+	}
+
+	/**
+	 *
+	 * @return number of tasks which are either running or waiting for their turn
+	 */
+	public int activeCount() {
+		return this.threads.size();
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScheduledExecutorService} view of a {@link HashedWheelTimer}, for the code written against a scheduler. Only
+ * one shot tasks are supported, they run on the timer thread, hence should be short. The view can not be shut down,
+ * the timer is stopped by its owner.
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class TimerScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+	private final HashedWheelTimer timer;
+
+	/**
+	 *
+	 * @param timer on which the tasks are scheduled
+	 */
+	public TimerScheduledExecutorService(final HashedWheelTimer timer) {
+		if (timer == null) {
+			throw new IllegalArgumentException("Timer should not be null");
+		}
+		this.timer = timer;
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+		return schedule(Executors.callable(command), delay, unit);
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+		TimerFuture<V> future = new TimerFuture<>(callable, System.nanoTime() + unit.toNanos(delay));
+		future.timeout = this.timer.newTimeout(future, delay, unit);
+		return future;
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+		throw new UnsupportedOperationException("Periodic tasks are not supported");
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+		throw new UnsupportedOperationException("Periodic tasks are not supported");
+	}
+
+	@Override
+	public void execute(final Runnable command) {
+		schedule(command, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void shutdown() {
+		throw new UnsupportedOperationException("Timer is stopped by its owner");
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown();
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return false;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return false;
+	}
+
+	@Override
+	public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+		return false;
+	}
+
+	private static final class TimerFuture<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+		private final long deadline;
+		private volatile HashedWheelTimer.Timeout timeout;
+
+		TimerFuture(final Callable<V> callable, final long deadline) {
+			super(callable);
+			this.deadline = deadline;
+		}
+
+		@Override
+		public long getDelay(final TimeUnit unit) {
+			return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(final Delayed other) {
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			HashedWheelTimer.Timeout current = this.timeout;
+			if (cancelled && current != null) {
+				current.cancel();
+			}
+			return cancelled;
+		}
+	}
+}
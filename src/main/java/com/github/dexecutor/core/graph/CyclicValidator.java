@@ -17,8 +17,9 @@
 
 package com.github.dexecutor.core.graph;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * A {@code Validator} which does cyclic checks
@@ -29,8 +30,8 @@ import java.util.Collection;
  */
 public class CyclicValidator<T, R> implements Validator<T, R> {
 
-	private Collection<Node<T, R>> processedNodes = new ArrayList<Node<T, R>>();
-	private Collection<Node<T, R>> onStackNodes = new ArrayList<Node<T, R>>();
+	private Set<Node<T, R>> processedNodes = new HashSet<Node<T, R>>();
+	private Set<Node<T, R>> onStackNodes = new HashSet<Node<T, R>>();
 
 	public void validate(final Dag<T, R> graph) {
 		doProcess(graph.allNodes());
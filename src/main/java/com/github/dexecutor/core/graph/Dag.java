@@ -62,4 +62,11 @@ public interface Dag<T, R> extends DependencyAware<T> {
 	 * @return the root non processed nodes
 	 */
 	Set<Node<T, R>> getNonProcessedRootNodes();
+	/**
+	 * Called before nodes are added while the graph is being executed, once called the graph should be safe to read
+	 * from other threads while nodes are added (under a lock). Graphs which are not modified that way need not override this
+	 */
+	default void enableConcurrentReads() {
+
+	}
 }
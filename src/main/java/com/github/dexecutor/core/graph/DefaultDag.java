@@ -25,6 +25,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of Graph
@@ -39,7 +40,7 @@ public final class DefaultDag<T, R> implements Dag<T, R>, Serializable {
 	private static final long serialVersionUID = 1L;
 
 	//保存每个Node节点本身，方便获取node节点
-	private Map<T, Node<T, R>> nodes = new HashMap<T, Node<T, R>>();
+	private volatile Map<T, Node<T, R>> nodes = new HashMap<T, Node<T, R>>();
 	
 	@Override
 	public void addAsDependentOnAllLeafNodes(final T nodeValue) {
@@ -94,6 +95,7 @@ public final class DefaultDag<T, R> implements Dag<T, R>, Serializable {
 
 	private Node<T, R> createNode(final T value) {
 		Node<T, R> node = new Node<T, R>(value);
+		node.setIndex(this.nodes.size());
 		return node;
 	}
 
@@ -155,6 +157,21 @@ public final class DefaultDag<T, R> implements Dag<T, R>, Serializable {
 		return leafNodes;
 	}
 
+	/**
+	 * The nodes are copied to a concurrent map, readers still holding the old map see it unchanged, null node ids are
+	 * not supported from then on
+	 */
+	@Override
+	public void enableConcurrentReads() {
+		if (this.nodes instanceof ConcurrentHashMap) {
+			return;
+		}
+		if (this.nodes.containsKey(null)) {
+			throw new IllegalStateException("Nodes can't be added while running, to a graph with a null node id");
+		}
+		this.nodes = new ConcurrentHashMap<T, Node<T, R>>(this.nodes);
+	}
+
 	@Override
 	public Node<T, R> get(final T id) {
 		return this.nodes.get(id);
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the maximal linear chains of the graph, where in every node but the last has exactly one child, and every node but
+ * the first has exactly one parent. Meant to be run after the graph has been validated, it never rejects a graph.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public final class LinearChainDetector<T, R> implements Validator<T, R> {
+
+	private Map<T, List<Node<T, R>>> chains = Collections.emptyMap();
+
+	public void validate(final Dag<T, R> graph) {
+		Map<T, List<Node<T, R>>> result = new HashMap<>();
+		for (Node<T, R> node : graph.allNodes()) {
+			if (isChainHead(node)) {
+				List<Node<T, R>> chain = new ArrayList<>();
+				Node<T, R> current = node;
+				chain.add(current);
+				while (hasSingleExclusiveChild(current)) {
+					current = current.getOutGoingNodes().iterator().next();
+					chain.add(current);
+				}
+				result.put(node.getValue(), Collections.unmodifiableList(chain));
+			}
+		}
+		this.chains = Collections.unmodifiableMap(result);
+	}
+
+	private boolean isChainHead(final Node<T, R> node) {
+		return hasSingleExclusiveChild(node) && !isChainMember(node);
+	}
+
+	private boolean isChainMember(final Node<T, R> node) {
+		return node.getInComingNodes().size() == 1 && hasSingleExclusiveChild(node.getInComingNodes().iterator().next());
+	}
+
+	private boolean hasSingleExclusiveChild(final Node<T, R> node) {
+		return node.getOutGoingNodes().size() == 1 && node.getOutGoingNodes().iterator().next().getInComingNodes().size() == 1;
+	}
+	/**
+	 * 
+	 * @return chains of at least two nodes, keyed by the id of their first node, the lists are in the execution order
+	 */
+	public Map<T, List<Node<T, R>>> getChains() {
+		return this.chains;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.graph;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+import com.github.dexecutor.core.support.LongIndexMap;
+
+/**
+ * Graph of nodes with {@code long} ids, kept like {@link CompactDag}, with the ids indexed by a {@link LongIndexMap}
+ * instead of a hash map of boxed keys. The primitive methods neither box the ids nor allocate per lookup. Each id is
+ * boxed once, when the nodes are created, and that instance is shared by the tasks, their results and the state.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <R> Type of Node/Task result
+ */
+public final class LongDag<R> implements Dag<Long, R>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final LongIndexMap indexes = new LongIndexMap();
+	private final CompactDag<Long, R> graph = new CompactDag<Long, R>(new LongNodeIndexes(this.indexes));
+
+	/**
+	 * Adds the node, without any dependency
+	 * 
+	 * @param nodeValue id of the node
+	 */
+	public void addIndependent(final long nodeValue) {
+		this.graph.checkNotCompacted();
+		this.indexes.addOrGet(nodeValue);
+	}
+
+	/**
+	 * Adds both the nodes, the later one evaluated after the first one
+	 * 
+	 * @param evalFirstValue id of the node which should be evaluated first
+	 * @param evalAfterValue id of the node which should be evaluated later
+	 */
+	public void addDependency(final long evalFirstValue, final long evalAfterValue) {
+		this.graph.checkNotCompacted();
+		this.graph.addDependency(this.indexes.addOrGet(evalFirstValue), this.indexes.addOrGet(evalAfterValue));
+	}
+
+	/**
+	 * 
+	 * @param id of the node
+	 * @return the node, {@code null} if there is no node with the id
+	 */
+	public Node<Long, R> get(final long id) {
+		int index = this.indexes.indexOf(id);
+		return index < 0 ? null : this.graph.get(index);
+	}
+
+	@Override
+	public void addIndependent(final Long nodeValue) {
+		addIndependent(nodeValue.longValue());
+	}
+
+	@Override
+	public void addDependency(final Long evalFirstValue, final Long evalAfterValue) {
+		addDependency(evalFirstValue.longValue(), evalAfterValue.longValue());
+	}
+
+	@Override
+	public void addAsDependentOnAllLeafNodes(final Long nodeValue) {
+		this.graph.addAsDependentOnAllLeafNodes(nodeValue);
+	}
+
+	@Override
+	public void addAsDependencyToAllInitialNodes(final Long nodeValue) {
+		this.graph.addAsDependencyToAllInitialNodes(nodeValue);
+	}
+
+	@Override
+	public int size() {
+		return this.indexes.size();
+	}
+
+	@Override
+	public Node<Long, R> get(final Long id) {
+		return id == null ? null : get(id.longValue());
+	}
+
+	@Override
+	public Set<Node<Long, R>> getInitialNodes() {
+		return this.graph.getInitialNodes();
+	}
+
+	@Override
+	public Set<Node<Long, R>> getLeafNodes() {
+		return this.graph.getLeafNodes();
+	}
+
+	@Override
+	public Collection<Node<Long, R>> allNodes() {
+		return this.graph.allNodes();
+	}
+
+	@Override
+	public Set<Node<Long, R>> getNonProcessedRootNodes() {
+		return this.graph.getNonProcessedRootNodes();
+	}
+
+	private static final class LongNodeIndexes implements CompactDag.NodeIndexes<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final LongIndexMap indexes;
+
+		LongNodeIndexes(final LongIndexMap indexes) {
+			this.indexes = indexes;
+		}
+
+		@Override
+		public int indexOf(final Long value) {
+			return value == null ? -1 : this.indexes.indexOf(value.longValue());
+		}
+
+		@Override
+		public int addOrGet(final Long value) {
+			return this.indexes.addOrGet(value.longValue());
+		}
+
+		@Override
+		public Long valueAt(final int index) {
+			return Long.valueOf(this.indexes.keyAt(index));
+		}
+
+		@Override
+		public int size() {
+			return this.indexes.size();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LongDag [nodes=" + size() + "]";
+	}
+}
@@ -20,6 +20,8 @@ package com.github.dexecutor.core.graph;
 import java.io.Serializable;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -57,6 +59,26 @@ public final class Node<T, R> implements Serializable {
      * outgoing dependencies for this node
      */
     private Set<Node<T, R>> outGoingEdges = new LinkedHashSet<Node<T, R>>();
+    /**
+     * number of incoming dependencies, which are yet to be processed
+     */
+    private final AtomicInteger unProcessedParentsCount = new AtomicInteger(0);
+    /**
+     * number of outgoing dependencies, which are yet to consume the result of this node
+     */
+    private final AtomicInteger unConsumedChildrenCount = new AtomicInteger(0);
+    /**
+     * set once the node is handed over for execution (or skipped), so that it is scheduled only once
+     */
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+    /**
+     * set once the task of this node is provided, if its result should be kept even though all the children consumed it
+     */
+    private volatile boolean retainedOutput;
+    /**
+     * dense index of this node with in its graph, {@code -1} if the node is not part of any graph
+     */
+    private int index = -1;
     /**
      * Constructs the node with the given node Id
      * @param val the new unique id
@@ -64,19 +86,38 @@ public final class Node<T, R> implements Serializable {
     public Node(final T val) {
 		this.value = val;
 	}
+    /**
+     * Constructs the node of a graph which keeps the edges itself, the given sets are read only views of those edges
+     * @param val the new unique id
+     * @param index dense index of the node with in its graph
+     * @param inComingEdges view of the incoming dependencies
+     * @param outGoingEdges view of the outgoing dependencies
+     */
+    Node(final T val, final int index, final Set<Node<T, R>> inComingEdges, final Set<Node<T, R>> outGoingEdges) {
+    	this.value = val;
+    	this.index = index;
+    	this.inComingEdges = inComingEdges;
+    	this.outGoingEdges = outGoingEdges;
+    	this.unProcessedParentsCount.set(inComingEdges.size());
+    	this.unConsumedChildrenCount.set(outGoingEdges.size());
+    }
     /**
      * Add the given node, to the set of incoming nodes
      * @param node add as dependency to the node
      */
     public void addInComingNode(final Node<T, R> node) {	        
-        this.inComingEdges.add(node);
+        if (this.inComingEdges.add(node)) {
+        	this.unProcessedParentsCount.incrementAndGet();
+        }
     }
     /**
      * add the given to the set of out going nodes
      * @param node add as dependency to the node
      */
     public void addOutGoingNode(final Node<T, R> node) {	        
-        this.outGoingEdges.add(node);
+        if (this.outGoingEdges.add(node)) {
+        	this.unConsumedChildrenCount.incrementAndGet();
+        }
     }
     /**
      * 
@@ -92,6 +133,75 @@ public final class Node<T, R> implements Serializable {
     public Set<Node<T, R>> getOutGoingNodes() {
         return this.outGoingEdges;
     }
+    /**
+     * 
+     * @return number of incoming nodes which are yet to be processed, node is ready for execution when this reaches ZERO
+     */
+    public int getUnProcessedParentsCount() {
+    	return this.unProcessedParentsCount.get();
+    }
+    /**
+     * Should be called exactly once for each incoming node, when that incoming node is processed
+     * 
+     * @return number of incoming nodes which are still to be processed
+     */
+    public int onParentProcessed() {
+    	return this.unProcessedParentsCount.decrementAndGet();
+    }
+    /**
+     * Should be called exactly once for each outgoing node, when that outgoing node is processed
+     * 
+     * @return number of outgoing nodes which are still to consume the result of this node
+     */
+    public int onChildConsumed() {
+    	return this.unConsumedChildrenCount.decrementAndGet();
+    }
+    /**
+     * 
+     * @return {@code true} if the result should be kept even though all the children consumed it
+     */
+    public boolean isRetainedOutput() {
+    	return this.retainedOutput;
+    }
+    /**
+     * 
+     * @param retainedOutput {@code true} if the result should be kept even though all the children consumed it
+     */
+    public void setRetainedOutput(final boolean retainedOutput) {
+    	this.retainedOutput = retainedOutput;
+    }
+    /**
+     * 
+     * @return dense index of this node with in its graph, {@code -1} if the node is not part of any graph
+     */
+    public int getIndex() {
+    	return this.index;
+    }
+
+    void setIndex(final int index) {
+    	this.index = index;
+    }
+    /**
+     * Atomically claims this node for scheduling, when several threads find the node ready at the same time only one of them wins.
+     * 
+     * @return {@code true} if the caller claimed the node, {@code false} if it was already claimed
+     */
+    public boolean tryClaim() {
+    	return this.claimed.compareAndSet(false, true);
+    }
+    /**
+     * 
+     * @return {@code true} if the node has been claimed for scheduling
+     */
+    public boolean isClaimed() {
+    	return this.claimed.get();
+    }
+    /**
+     * Releases the claim of a node which was never completed, so that it can be scheduled again on recovery
+     */
+    public void releaseClaim() {
+    	this.claimed.set(false);
+    }
     /**
      * 
      * @return the node's value
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.support;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Assigns dense indexes to {@code long} keys, in the order they are added, without boxing the keys. Keys are kept in
+ * an array by index, and the hash table is open addressed with linear probing, holding only the index of the key in
+ * each slot, which takes about 16 bytes per key.
+ * <p>
+ * Lookups are safe from many threads, once the keys are added, adding keys is not thread safe.
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public final class LongIndexMap implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private static final int MIN_CAPACITY = 16;
+	// golden ratio, spreads sequential keys over the table
+	private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private long[] keys = new long[MIN_CAPACITY / 2];
+	/**
+	 * index of the key plus one, zero marks a free slot
+	 */
+	private int[] slots = new int[MIN_CAPACITY];
+	private int size;
+
+	/**
+	 * 
+	 * @param key to look up
+	 * @return index of the key, {@code -1} if the key was not added
+	 */
+	public int indexOf(final long key) {
+		int[] table = this.slots;
+		int mask = table.length - 1;
+		for (int slot = slot(key, mask);; slot = (slot + 1) & mask) {
+			int entry = table[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			if (this.keys[entry - 1] == key) {
+				return entry - 1;
+			}
+		}
+	}
+
+	/**
+	 * 
+	 * @param key to be added
+	 * @return index of the key, the next index if the key was not added before
+	 */
+	public int addOrGet(final long key) {
+		int mask = this.slots.length - 1;
+		int slot = slot(key, mask);
+		for (int entry = this.slots[slot]; entry != 0; entry = this.slots[slot]) {
+			if (this.keys[entry - 1] == key) {
+				return entry - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		int index = this.size;
+		if (index == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, index * 2);
+		}
+		this.keys[index] = key;
+		this.slots[slot] = index + 1;
+		this.size++;
+		// load factor of a half keeps the probes short
+		if (this.size * 2 > this.slots.length) {
+			rehash(this.slots.length * 2);
+		}
+		return index;
+	}
+
+	private void rehash(final int capacity) {
+		int[] table = new int[capacity];
+		int mask = capacity - 1;
+		for (int index = 0; index < this.size; index++) {
+			int slot = slot(this.keys[index], mask);
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = index + 1;
+		}
+		this.slots = table;
+	}
+
+	private static int slot(final long key, final int mask) {
+		return (int) ((key * MULTIPLIER) >>> 32) & mask;
+	}
+
+	/**
+	 * 
+	 * @param index of the key
+	 * @return the key
+	 */
+	public long keyAt(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index " + index + " of " + this.size + " keys");
+		}
+		return this.keys[index];
+	}
+
+	/**
+	 * 
+	 * @return number of keys added
+	 */
+	public int size() {
+		return this.size;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Support class for creating virtual threads, when the running JVM supports them. The code base is compiled for older
+ * JVMs, hence the virtual thread builder is looked up reflectively, on JVMs without virtual threads daemon platform threads
+ * are created instead.
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public final class VirtualThreads {
+
+	private static final boolean SUPPORTED = newVirtualThreadFactory("dexecutor-probe-") != null;
+
+	private VirtualThreads() {
+
+	}
+	/**
+	 * 
+	 * @return {@code true} if the running JVM can create virtual threads
+	 */
+	public static boolean isSupported() {
+		return SUPPORTED;
+	}
+	/**
+	 * 
+	 * @param namePrefix prefix of the thread names, followed by a counter
+	 * @return factory of virtual threads if supported, otherwise of daemon platform threads
+	 */
+	public static ThreadFactory newThreadFactory(final String namePrefix) {
+		ThreadFactory factory = SUPPORTED ? newVirtualThreadFactory(namePrefix) : null;
+		if (factory == null) {
+			factory = newPlatformThreadFactory(namePrefix);
+		}
+		return factory;
+	}
+
+	private static ThreadFactory newVirtualThreadFactory(final String namePrefix) {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Method name = builderClass.getMethod("name", String.class, long.class);
+			builder = name.invoke(builder, namePrefix, 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (Exception e) {
+			// older JVM, or virtual threads being a preview feature which is not enabled
+			return null;
+		}
+	}
+
+	private static ThreadFactory newPlatformThreadFactory(final String namePrefix) {
+		final AtomicLong counter = new AtomicLong(0);
+		return new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, namePrefix + counter.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+}
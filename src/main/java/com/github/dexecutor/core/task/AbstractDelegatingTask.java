@@ -19,6 +19,8 @@ package com.github.dexecutor.core.task;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import com.github.dexecutor.core.graph.NodeProvider;
 
@@ -109,6 +111,51 @@ abstract class AbstractDelegatingTask<T, R> extends Task<T, R> {
 		return this.task.isTimedOut();
 	}
 
+	@Override
+	public CompletionStage<R> executeAsync() {
+		return this.task.executeAsync();
+	}
+
+	@Override
+	public boolean isAsync() {
+		return this.task.isAsync();
+	}
+
+	@Override
+	public Set<String> getResourceTags() {
+		return this.task.getResourceTags();
+	}
+
+	@Override
+	public RetryPolicy getRetryPolicy() {
+		return this.task.getRetryPolicy();
+	}
+
+	@Override
+	public boolean isIdempotent() {
+		return this.task.isIdempotent();
+	}
+
+	@Override
+	public boolean isRetainedOutput() {
+		return this.task.isRetainedOutput();
+	}
+
+	@Override
+	public SubGraph<T> getSpawned() {
+		return this.task.getSpawned();
+	}
+
+	@Override
+	public String getType() {
+		return this.task.getType();
+	}
+
+	@Override
+	public String getInputsFingerprint() {
+		return this.task.getInputsFingerprint();
+	}
+
 	@Override
 	public String toString() {
 		return this.task.toString();
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.task;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Task whose execution completes asynchronously, for example a call through a non blocking client. Execution engines
+ * call {@link #executeAsync()} and treat the completion of the returned stage as the completion of the node, without
+ * holding a thread while waiting.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ * @param <R> Type of Node/Task result
+ */
+public abstract class AsyncTask<T, R> extends Task<T, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public abstract CompletionStage<R> executeAsync();
+
+	@Override
+	public final boolean isAsync() {
+		return true;
+	}
+	/**
+	 * Blocks until the stage returned by {@link #executeAsync()} completes, only for callers which can not deal with stages
+	 */
+	@Override
+	public final R execute() {
+		try {
+			return executeAsync().toCompletableFuture().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TaskExecutionException(getId() + " Task execution interrupted", e);
+		} catch (ExecutionException e) {
+			Exception cause = unwrap(e);
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new TaskExecutionException(getId() + " Task execution ", cause);
+		}
+	}
+	/**
+	 * 
+	 * @param error with which a stage completed
+	 * @return the actual cause of the error, errors which are not exceptions are wrapped in {@link TaskExecutionException}
+	 */
+	public static Exception unwrap(final Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		if (cause instanceof Exception) {
+			return (Exception) cause;
+		}
+		return new TaskExecutionException("Task execution ", cause);
+	}
+}
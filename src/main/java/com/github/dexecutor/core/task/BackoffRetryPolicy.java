@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.task;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries a node up to a number of times, with a fixed delay, an exponentially growing delay, or a decorrelated jittered
+ * delay (each delay random between the base delay and thrice the previous one), so that nodes which failed together do
+ * not retry in lockstep. Delays are capped by the max delay, and no retry is attempted once the max elapsed time since
+ * the first failure is exceeded.
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public final class BackoffRetryPolicy implements RetryPolicy {
+
+	private static final long serialVersionUID = 1L;
+
+	private enum Backoff {
+		FIXED, EXPONENTIAL, DECORRELATED_JITTER
+	}
+
+	private final Backoff backoff;
+	private final int maxRetries;
+	private final Duration baseDelay;
+	private final Duration maxDelay;
+	private final Duration maxElapsed;
+
+	private BackoffRetryPolicy(final Backoff backoff, final int maxRetries, final Duration baseDelay, final Duration maxDelay, final Duration maxElapsed) {
+		if (maxRetries < 0) {
+			throw new IllegalArgumentException("Max retries should not be negative");
+		}
+		if (baseDelay == null || baseDelay.isNegative()) {
+			throw new IllegalArgumentException("Base delay should not be null or negative");
+		}
+		if (maxDelay == null || maxDelay.compareTo(baseDelay) < 0) {
+			throw new IllegalArgumentException("Max delay should not be less than the base delay");
+		}
+		this.backoff = backoff;
+		this.maxRetries = maxRetries;
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+		this.maxElapsed = maxElapsed;
+	}
+
+	/**
+	 * 
+	 * @param maxRetries number of times the node is retried
+	 * @param delay the delay before every retry
+	 * @return policy retrying with the same delay
+	 */
+	public static BackoffRetryPolicy fixed(final int maxRetries, final Duration delay) {
+		return new BackoffRetryPolicy(Backoff.FIXED, maxRetries, delay, delay, null);
+	}
+
+	/**
+	 * 
+	 * @param maxRetries number of times the node is retried
+	 * @param baseDelay the delay before the first retry, doubled for every following retry
+	 * @param maxDelay the longest delay
+	 * @return policy retrying with an exponentially growing delay
+	 */
+	public static BackoffRetryPolicy exponential(final int maxRetries, final Duration baseDelay, final Duration maxDelay) {
+		return new BackoffRetryPolicy(Backoff.EXPONENTIAL, maxRetries, baseDelay, maxDelay, null);
+	}
+
+	/**
+	 * 
+	 * @param maxRetries number of times the node is retried
+	 * @param baseDelay the shortest delay
+	 * @param maxDelay the longest delay
+	 * @return policy retrying with a decorrelated jittered delay
+	 */
+	public static BackoffRetryPolicy decorrelatedJitter(final int maxRetries, final Duration baseDelay, final Duration maxDelay) {
+		return new BackoffRetryPolicy(Backoff.DECORRELATED_JITTER, maxRetries, baseDelay, maxDelay, null);
+	}
+
+	/**
+	 * 
+	 * @param maxElapsed no retry is attempted once this much time has passed since the first failure
+	 * @return copy of this policy, limited by the elapsed time
+	 */
+	public BackoffRetryPolicy withMaxElapsed(final Duration maxElapsed) {
+		if (maxElapsed == null || maxElapsed.isNegative()) {
+			throw new IllegalArgumentException("Max elapsed should not be null or negative");
+		}
+		return new BackoffRetryPolicy(this.backoff, this.maxRetries, this.baseDelay, this.maxDelay, maxElapsed);
+	}
+
+	/**
+	 * 
+	 * @return number of times the node is retried
+	 */
+	public int getMaxRetries() {
+		return this.maxRetries;
+	}
+
+	@Override
+	public Duration nextDelay(final int failures, final Duration elapsed, final Duration previousDelay) {
+		if (failures > this.maxRetries) {
+			return null;
+		}
+		if (this.maxElapsed != null && elapsed != null && elapsed.compareTo(this.maxElapsed) > 0) {
+			return null;
+		}
+		Duration delay;
+		switch (this.backoff) {
+		case EXPONENTIAL:
+			delay = exponentialDelay(failures);
+			break;
+		case DECORRELATED_JITTER:
+			delay = jitteredDelay(previousDelay);
+			break;
+		default:
+			delay = this.baseDelay;
+		}
+		return delay.compareTo(this.maxDelay) > 0 ? this.maxDelay : delay;
+	}
+
+	private Duration exponentialDelay(final int failures) {
+		long base = this.baseDelay.toNanos();
+		int shift = Math.min(failures - 1, 62);
+		// the shift overflowing means the cap applies anyway
+		if (base > (Long.MAX_VALUE >> shift)) {
+			return this.maxDelay;
+		}
+		return Duration.ofNanos(base << shift);
+	}
+
+	private Duration jitteredDelay(final Duration previousDelay) {
+		long base = this.baseDelay.toNanos();
+		long previous = previousDelay == null ? base : previousDelay.toNanos();
+		long upper = previous > Long.MAX_VALUE / 3 ? Long.MAX_VALUE : previous * 3;
+		upper = Math.min(upper, this.maxDelay.toNanos());
+		if (upper <= base) {
+			return this.baseDelay;
+		}
+		return Duration.ofNanos(ThreadLocalRandom.current().nextLong(base, upper + 1 > 0 ? upper + 1 : upper));
+	}
+
+	@Override
+	public String toString() {
+		return "BackoffRetryPolicy [backoff=" + this.backoff + ", maxRetries=" + this.maxRetries + ", baseDelay=" + this.baseDelay
+				+ ", maxDelay=" + this.maxDelay + ", maxElapsed=" + this.maxElapsed + "]";
+	}
+}
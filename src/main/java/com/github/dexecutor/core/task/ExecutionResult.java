@@ -47,6 +47,10 @@ public final class ExecutionResult<T, R> implements Serializable {
 	 * End time for the task
 	 */
 	private LocalDateTime endTime;
+	/**
+	 * Nodes spawned by the execution
+	 */
+	private SubGraph<T> spawned;
 
 	public ExecutionResult(final T id, final R result, final ExecutionStatus status) {
 		this(id, result, status, EMPTY);
@@ -109,6 +113,13 @@ public final class ExecutionResult<T, R> implements Serializable {
 		this.status = ExecutionStatus.SKIPPED;
 	}
 
+	/**
+	 * Drops the result, once it is no longer needed
+	 */
+	public void release() {
+		this.result = null;
+	}
+
 	/**
 	 * 
 	 * @return {@code true} if the result is success {@code false} if the result
@@ -161,6 +172,22 @@ public final class ExecutionResult<T, R> implements Serializable {
 		return endTime;
 	}
 
+	/**
+	 * 
+	 * @param spawned nodes spawned by the execution, {@code null} if none
+	 */
+	public void setSpawned(final SubGraph<T> spawned) {
+		this.spawned = spawned;
+	}
+
+	/**
+	 * 
+	 * @return nodes spawned by the execution, {@code null} if none
+	 */
+	public SubGraph<T> getSpawned() {
+		return spawned;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -18,6 +18,8 @@
 package com.github.dexecutor.core.task;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,4 +48,17 @@ class LoggerTask<T, R> extends AbstractDelegatingTask<T, R> implements Serializa
 		logger.debug("Node # {}, Execution Done!", this.getId());
 		return result;
 	}
+
+	@Override
+	public CompletionStage<R> executeAsync() {
+		logger.debug("Executing Node # {}, asynchronously", this.getId());
+		CompletionStage<R> result = this.getTargetTask().executeAsync();
+		result.whenComplete(new BiConsumer<R, Throwable>() {
+			@Override
+			public void accept(R r, Throwable error) {
+				logger.debug("Node # {}, Execution Done!", getId());
+			}
+		});
+		return result;
+	}
 }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.task;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Decides whether, and after how long, a failed node is executed again. The policy of the task (see
+ * {@link Task#getRetryPolicy()}) takes precedence over the one of the execution config.
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public interface RetryPolicy extends Serializable {
+	/**
+	 * 
+	 * @param failures number of failed executions of the node so far, at least one
+	 * @param elapsed time since the first failure of the node
+	 * @param previousDelay delay before the previous retry, {@code null} before the first retry
+	 * @return delay before the node is executed again, {@link Duration#ZERO} to retry immediately, {@code null} if the
+	 * node should not be retried
+	 */
+	Duration nextDelay(int failures, Duration elapsed, Duration previousDelay);
+}
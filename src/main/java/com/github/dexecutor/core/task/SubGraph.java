@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.task;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nodes and dependencies spawned by a task while executing, spliced into the graph as descendants of the node of the
+ * task. Spawned nodes which do not depend on another spawned node become children of that node.
+ * 
+ * @author Nadeem Mohammad
+ *
+ * @param <T> Type of Node/Task ID
+ */
+public final class SubGraph<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Map<T, List<T>> dependencies = new LinkedHashMap<>();
+
+	/**
+	 * Adds the node, as a child of the spawning node
+	 * 
+	 * @param nodeValue value of the spawned node
+	 */
+	public void addIndependent(final T nodeValue) {
+		nodeDependencies(nodeValue);
+	}
+
+	/**
+	 * Adds both the nodes, the later one evaluated after the first one
+	 * 
+	 * @param evalFirstValue value of the spawned node which should be evaluated first
+	 * @param evalAfterValue value of the spawned node which should be evaluated later
+	 */
+	public void addDependency(final T evalFirstValue, final T evalAfterValue) {
+		nodeDependencies(evalFirstValue);
+		List<T> firstValues = nodeDependencies(evalAfterValue);
+		if (!evalFirstValue.equals(evalAfterValue) && !firstValues.contains(evalFirstValue)) {
+			firstValues.add(evalFirstValue);
+		}
+	}
+
+	private List<T> nodeDependencies(final T nodeValue) {
+		if (nodeValue == null) {
+			throw new IllegalArgumentException("Node value should not be null");
+		}
+		return this.dependencies.computeIfAbsent(nodeValue, value -> new ArrayList<>(1));
+	}
+
+	/**
+	 * 
+	 * @return values of the spawned nodes, in the order they were added
+	 */
+	public Set<T> getNodes() {
+		return Collections.unmodifiableSet(this.dependencies.keySet());
+	}
+
+	/**
+	 * 
+	 * @param nodeValue value of the spawned node
+	 * @return values of the spawned nodes it depends on, empty if it is a child of the spawning node
+	 */
+	public Collection<T> getDependencies(final T nodeValue) {
+		List<T> firstValues = this.dependencies.get(nodeValue);
+		return firstValues == null ? Collections.<T>emptyList() : Collections.unmodifiableList(firstValues);
+	}
+
+	/**
+	 * 
+	 * @return {@code true} if no node was spawned
+	 */
+	public boolean isEmpty() {
+		return this.dependencies.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "SubGraph " + this.dependencies;
+	}
+}
@@ -20,6 +20,10 @@ package com.github.dexecutor.core.task;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import com.github.dexecutor.core.graph.Node;
 import com.github.dexecutor.core.graph.NodeProvider;
@@ -55,6 +59,10 @@ public abstract class Task<T, R> implements Serializable {
 	 * End time for the task
 	 */
 	private LocalDateTime end;
+	/**
+	 * Nodes spawned by this execution, created with the first one
+	 */
+	private SubGraph<T> spawned;
 
 	/**
 	 * 
@@ -119,6 +127,121 @@ public abstract class Task<T, R> implements Serializable {
 	 * @return the result of task execution
 	 */
 	public abstract R execute();
+	/**
+	 * Framework would call this method instead of {@link #execute()}, for the tasks which are {@link #isAsync()}.
+	 * The node is considered done when the returned stage completes, no thread is held meanwhile.
+	 * 
+	 * @return stage which completes with the result of task execution
+	 */
+	public CompletionStage<R> executeAsync() {
+		CompletableFuture<R> result = new CompletableFuture<>();
+		try {
+			result.complete(execute());
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+	/**
+	 * 
+	 * @return {@code true} if the framework should call {@link #executeAsync()} instead of {@link #execute()}
+	 */
+	public boolean isAsync() {
+		return false;
+	}
+	/**
+	 * Tags of the shared resources (a database, a downstream service etc) this task uses. Tasks using a resource for
+	 * which permits are configured, are admitted only while a permit of each of those resources is free.
+	 * 
+	 * @return the resource tags, none by default
+	 */
+	public Set<String> getResourceTags() {
+		return Collections.emptySet();
+	}
+	/**
+	 * Overrides the retry policy of the execution config for this node, applies unless the execution config is non
+	 * terminating.
+	 * 
+	 * @return the retry policy, {@code null} by default, to use the one of the execution config
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return null;
+	}
+	/**
+	 * Idempotent tasks can be executed more than once at the same time, without harm. When speculation is enabled, a
+	 * duplicate attempt of a straggling idempotent task is launched, and the loser is cancelled. Idempotent tasks
+	 * can't spawn nodes, see {@link #spawn(Object)}.
+	 * 
+	 * @return {@code true} if the task is idempotent, {@code false} by default
+	 */
+	public boolean isIdempotent() {
+		return false;
+	}
+	/**
+	 * Tasks of the same type are expected to take similar time, durations are learnt per type to detect stragglers.
+	 * 
+	 * @return the type of the task, its class name by default
+	 */
+	public String getType() {
+		return getClass().getName();
+	}
+	/**
+	 * Fingerprint of everything, other than the parent results, the result of this task depends on (its configuration,
+	 * the versions of the files it reads etc). When a result cache is configured, the task is not executed if a result
+	 * is cached for the same fingerprint and parent results.
+	 * 
+	 * @return the fingerprint, {@code null} by default, if the result should not be cached
+	 */
+	public String getInputsFingerprint() {
+		return null;
+	}
+	/**
+	 * When results are released once consumed, the result of a retained output is kept till the end of the run even
+	 * though all its children consumed it. Results of leaf nodes are always kept.
+	 * 
+	 * @return {@code true} if the result should be retained, {@code false} by default
+	 */
+	public boolean isRetainedOutput() {
+		return false;
+	}
+	/**
+	 * Spawns a node while executing, as a child of this node. Once this execution succeeds, spawned nodes are spliced
+	 * into the live graph and scheduled like any other node, tasks for them are provided by the {@link TaskProvider}.
+	 * Results of executions which spawned nodes are not cached, as the nodes would not be spawned on a cache hit.
+	 * 
+	 * @param nodeValue value of the spawned node, which should not be in the graph yet
+	 * @throws IllegalStateException if the task is idempotent, as its attempts may run at the same time
+	 */
+	protected void spawn(final T nodeValue) {
+		spawned().addIndependent(nodeValue);
+	}
+	/**
+	 * Spawns both the nodes while executing, the later one evaluated after the first one, see {@link #spawn(Object)}
+	 * 
+	 * @param evalFirstValue value of the spawned node which should be evaluated first
+	 * @param evalAfterValue value of the spawned node which should be evaluated later
+	 * @throws IllegalStateException if the task is idempotent, as its attempts may run at the same time
+	 */
+	protected void spawn(final T evalFirstValue, final T evalAfterValue) {
+		spawned().addDependency(evalFirstValue, evalAfterValue);
+	}
+
+	private SubGraph<T> spawned() {
+		if (isIdempotent()) {
+			throw new IllegalStateException("Idempotent Task " + getId() + " can't spawn nodes");
+		}
+		if (this.spawned == null) {
+			this.spawned = new SubGraph<T>();
+		}
+		return this.spawned;
+	}
+	/**
+	 * 
+	 * @return nodes spawned by this execution, {@code null} if none
+	 */
+	public SubGraph<T> getSpawned() {
+		return this.spawned;
+	}
 	/**
 	 * When using retry behavior, execution error should not be considered until the last retry, this would define when execution error should be considered
 	 */
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class CriticalPathPrioritizerTest {
+
+	@Test
+	public void bottomLevelIsCostliestPathToLeaf() {
+		DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+		state.addDependency(1, 2);
+		state.addDependency(2, 3);
+		state.addDependency(1, 4);
+		state.addDependency(4, 3);
+		state.addIndependent(5);
+		// cost of a node is its id
+		CriticalPathPrioritizer<Integer, Integer> prioritizer = new CriticalPathPrioritizer<>(state, id -> id);
+
+		assertThat(prioritizer.bottomLevel(3), equalTo(3L));
+		assertThat(prioritizer.bottomLevel(1), equalTo(8L));
+		assertThat(prioritizer.bottomLevel(2), equalTo(5L));
+		assertThat(prioritizer.bottomLevel(5), equalTo(5L));
+	}
+
+	@Test
+	public void deepChainsDoNotOverflowTheStack() {
+		DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+		for (int i = 0; i < 100000; i++) {
+			state.addDependency(i, i + 1);
+		}
+		CriticalPathPrioritizer<Integer, Integer> prioritizer = new CriticalPathPrioritizer<>(state, id -> 1L);
+
+		assertThat(prioritizer.bottomLevel(0), equalTo(100001L));
+	}
+
+	@Test
+	public void historicalCostIsMovingAverage() {
+		HistoricalCostModel<Integer, Integer> costModel = new HistoricalCostModel<>(7);
+		assertThat(costModel.estimateCost(1), equalTo(7L));
+
+		costModel.record(1, 100);
+		costModel.record(1, 200);
+
+		assertThat(costModel.estimateCost(1), equalTo(130L));
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.AsyncTask;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorAsyncTaskTest {
+
+	private static final int NODES = 40;
+
+	private ExecutorService executorService;
+	private ScheduledExecutorService client;
+
+	@Before
+	public void setUp() {
+		// a single worker, async tasks must not hold it while waiting
+		this.executorService = Executors.newSingleThreadExecutor();
+		this.client = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		this.executorService.shutdownNow();
+		this.client.shutdownNow();
+		this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testAsyncTasksDoNotHoldThreads() {
+		CountingListener listener = new CountingListener();
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(this.executorService, new NonBlockingTaskProvider(), listener);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+		for (int i = 0; i < NODES; i++) {
+			executor.addIndependent(i);
+		}
+
+		long start = System.nanoTime();
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(result.getSuccess()).hasSize(NODES);
+		assertThat(listener.success.get()).isEqualTo(NODES);
+		// each task takes 50 ms, sequential execution on the single worker would take 2 seconds
+		assertThat(elapsed).isLessThan(NODES * 50 / 2);
+	}
+
+	@Test
+	public void testRetryAndTimeout() {
+		CountingListener listener = new CountingListener();
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(this.executorService, new NonBlockingTaskProvider(), listener);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+		executor.addDependency(1, -1);
+		executor.addIndependent(-2);
+
+		ExecutionResults<Integer, Integer> result = executor.execute(new ExecutionConfig().immediateRetrying(2));
+
+		assertThat(result.getSuccess()).extracting("id").containsOnly(1, -1);
+		assertThat(result.getCancelled()).extracting("id").containsOnly(-2);
+		assertThat(listener.error.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testForkJoinEngine() {
+		ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(state, new ForkJoinExecutionEngine<>(state, pool), new NonBlockingTaskProvider());
+			config.setDecentralizedScheduling(true);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+			for (int i = 0; i < NODES; i++) {
+				executor.addIndependent(i);
+			}
+			executor.addDependency(0, -1);
+			executor.addIndependent(-2);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(NODES);
+			assertThat(result.getErrored()).extracting("id").containsOnly(-1);
+			assertThat(result.getCancelled()).extracting("id").containsOnly(-2);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static class CountingListener implements ExecutionListener<Integer, Integer> {
+
+		private final AtomicInteger success = new AtomicInteger();
+		private final AtomicInteger error = new AtomicInteger();
+
+		@Override
+		public void onSuccess(Task<Integer, Integer> task) {
+			success.incrementAndGet();
+		}
+
+		@Override
+		public void onError(Task<Integer, Integer> task, Exception exception) {
+			error.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Node -1 fails on its first attempt, node -2 never completes, rest complete after 50 ms
+	 */
+	private class NonBlockingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final ConcurrentHashMap<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new AsyncTask<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public CompletionStage<Integer> executeAsync() {
+					CompletableFuture<Integer> result = new CompletableFuture<>();
+					int attempt = attempts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+					if (id == -1 && attempt == 1) {
+						result.completeExceptionally(new IllegalStateException("first attempt fails"));
+					} else if (id != -2) {
+						client.schedule(() -> result.complete(id), 50, TimeUnit.MILLISECONDS);
+					}
+					return result;
+				}
+
+				@Override
+				public Duration getTimeout() {
+					return id == -2 ? Duration.ofMillis(100) : null;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorAsyncTest {
+
+	private ExecutorService executorService;
+
+	@Before
+	public void setUp() {
+		this.executorService = Executors.newFixedThreadPool(2);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		this.executorService.shutdownNow();
+		this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testExecuteAsync() throws InterruptedException, ExecutionException, TimeoutException {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(this.executorService, new ErroringTaskProvider());
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+		for (int i = 1; i < 20; i++) {
+			executor.addDependency(i, i + 1);
+			executor.addDependency(i, i + 20);
+		}
+
+		CompletableFuture<ExecutionResults<Integer, Integer>> future = executor.executeAsync(ExecutionConfig.NON_TERMINATING).toCompletableFuture();
+		ExecutionResults<Integer, Integer> result = future.get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getSuccess()).hasSize(38);
+		assertThat(result.getErrored()).hasSize(1);
+		assertThat(config.getDexecutorState().getCurrentPhase()).isEqualTo(Phase.TERMINATED);
+	}
+
+	@Test
+	public void testExecuteAsyncWithNothingToExecute() throws InterruptedException, ExecutionException, TimeoutException {
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(new DexecutorConfig<>(this.executorService, new ErroringTaskProvider()));
+
+		ExecutionResults<Integer, Integer> result = executor.executeAsync(ExecutionConfig.TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getAll()).isEmpty();
+	}
+
+	@Test
+	public void testForcedStopCompletesExceptionally() throws InterruptedException, TimeoutException {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(this.executorService, new ErroringTaskProvider());
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config) {
+			@Override
+			protected boolean shouldContinueProcessingNodes() {
+				return false;
+			}
+		};
+		executor.addDependency(1, 2);
+
+		CompletableFuture<ExecutionResults<Integer, Integer>> future = executor.executeAsync(ExecutionConfig.TERMINATING).toCompletableFuture();
+		try {
+			future.get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+		}
+		assertThat(future.isCompletedExceptionally()).isTrue();
+	}
+
+	private static class ErroringTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					if (id == 39) {
+						throw new IllegalArgumentException("Invalid task");
+					}
+					return id;
+				}
+			};
+		}
+	}
+}
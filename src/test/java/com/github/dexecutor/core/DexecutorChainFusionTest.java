@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.support.TestUtil;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorChainFusionTest {
+
+	@Test
+	public void testChainExecutedOnOneWorker() {
+		assertChainExecutedOnOneWorker(false);
+	}
+
+	@Test
+	public void testChainExecutedOnOneWorkerWithDecentralizedScheduling() {
+		assertChainExecutedOnOneWorker(true);
+	}
+
+	@Test
+	public void testErrorEndsFusedExecution() {
+		ExecutorService executorService = newExecutor();
+		try {
+			RecordingTaskProvider taskProvider = new RecordingTaskProvider(2, -1);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider, false);
+			executor.addDependency(1, 2);
+			executor.addDependency(2, 3);
+			executor.addDependency(3, 4);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+			assertThat(taskProvider.threads.keySet()).containsOnly(1, 2);
+			assertThat(result.getErrored()).hasSize(1);
+			assertThat(result.getSuccess()).hasSize(1);
+			assertThat(TestUtil.processedNodesOrder(executor)).containsExactly(new Node<Integer, Integer>(1));
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testSkippedNodeBehavesAsWithoutFusion() {
+		Set<Integer> fused = executedWithSkippedNode(true);
+		Set<Integer> unfused = executedWithSkippedNode(false);
+
+		assertThat(fused).containsOnly(1, 2, 4, 5);
+		assertThat(fused).isEqualTo(unfused);
+	}
+
+	@Test
+	public void testMembersNotifyTheListenerOfTheEngine() {
+		ExecutorService executorService = newExecutor();
+		try {
+			final AtomicInteger successCount = new AtomicInteger();
+			final AtomicInteger errorCount = new AtomicInteger();
+			RecordingTaskProvider taskProvider = new RecordingTaskProvider(4, -1);
+			DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+			ExecutionEngine<Integer, Integer> engine = new DefaultExecutionEngine<>(state, executorService, new ExecutionListener<Integer, Integer>() {
+
+				@Override
+				public void onSuccess(Task<Integer, Integer> task) {
+					successCount.incrementAndGet();
+				}
+
+				@Override
+				public void onError(Task<Integer, Integer> task, Exception exception) {
+					errorCount.incrementAndGet();
+				}
+			});
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(state, engine, taskProvider);
+			config.setChainFusion(true);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			executor.addDependency(1, 2);
+			executor.addDependency(2, 3);
+			executor.addDependency(3, 4);
+
+			executor.execute(ExecutionConfig.NON_TERMINATING);
+
+			assertThat(taskProvider.threads.get(4)).isSameAs(taskProvider.threads.get(1));
+			assertThat(successCount.get()).isEqualTo(3);
+			assertThat(errorCount.get()).isEqualTo(1);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private void assertChainExecutedOnOneWorker(boolean decentralized) {
+		ExecutorService executorService = newExecutor();
+		try {
+			RecordingTaskProvider taskProvider = new RecordingTaskProvider(-1, -1);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider, decentralized);
+			executor.addDependency(1, 2);
+			executor.addDependency(2, 3);
+			executor.addDependency(3, 4);
+			executor.addDependency(4, 5);
+			executor.addDependency(5, 6);
+			executor.addDependency(5, 7);
+			executor.addDependency(6, 8);
+			executor.addDependency(7, 8);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getAll()).hasSize(8);
+			assertThat(result.getSuccess()).hasSize(8);
+			assertThat(TestUtil.processedNodesOrder(executor)).hasSize(8);
+			Thread worker = taskProvider.threads.get(1);
+			for (int id = 2; id <= 5; id++) {
+				assertThat(taskProvider.threads.get(id)).isSameAs(worker);
+			}
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private Set<Integer> executedWithSkippedNode(boolean chainFusion) {
+		ExecutorService executorService = newExecutor();
+		try {
+			RecordingTaskProvider taskProvider = new RecordingTaskProvider(-1, 3);
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setChainFusion(chainFusion);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			executor.addDependency(1, 2);
+			executor.addDependency(2, 3);
+			executor.addDependency(3, 4);
+			executor.addDependency(4, 5);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(4);
+			assertThat(TestUtil.processedNodesOrder(executor)).hasSize(5);
+			return taskProvider.threads.keySet();
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService,
+			final TaskProvider<Integer, Integer> taskProvider, boolean decentralized) {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+		config.setChainFusion(true);
+		config.setDecentralizedScheduling(decentralized);
+		return new DefaultDexecutor<Integer, Integer>(config);
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(4);
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	private static class RecordingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Thread> threads = new ConcurrentHashMap<>();
+		private final int erroring;
+		private final int skipped;
+
+		RecordingTaskProvider(int erroring, int skipped) {
+			this.erroring = erroring;
+			this.skipped = skipped;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					threads.put(id, Thread.currentThread());
+					if (id == erroring) {
+						throw new IllegalArgumentException("Invalid task");
+					}
+					return id;
+				}
+
+				@Override
+				public boolean shouldExecute(ExecutionResults<Integer, Integer> parentResults) {
+					return id != skipped;
+				}
+			};
+		}
+	}
+}
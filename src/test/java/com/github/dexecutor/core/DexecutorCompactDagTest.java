@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.dexecutor.core.graph.Dag;
+import com.github.dexecutor.core.graph.LevelOrderTraversar;
+import com.github.dexecutor.core.graph.LongDag;
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.graph.StringTraversarAction;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorCompactDagTest {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	@After
+	public void shutdown() throws InterruptedException {
+		this.executorService.shutdownNow();
+		this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testCompactGraphIsExecuted() {
+		SummingTaskProvider taskProvider = new SummingTaskProvider();
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(taskProvider);
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+		assertThat(result.getSuccess()).hasSize(6);
+		assertThat(taskProvider.results.get(5)).isEqualTo(5 + 4 + 3 + 4);
+		assertThat(taskProvider.results.get(6)).isEqualTo(6);
+	}
+
+	@Test
+	public void testCompactGraphIsExecutedAsync() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider();
+		ExecutionResults<Integer, Integer> result = newDexecutor(taskProvider).executeAsync(ExecutionConfig.TERMINATING)
+				.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getSuccess()).hasSize(6);
+		assertThat(taskProvider.results.get(5)).isEqualTo(16);
+	}
+
+	@Test
+	public void testCompactGraphIsTraversed() {
+		StringBuilder builder = new StringBuilder();
+		newDexecutor(new SummingTaskProvider()).print(new LevelOrderTraversar<Integer, Integer>(), new StringTraversarAction<Integer, Integer>(builder));
+
+		assertThat(builder.toString()).contains("Path #0").contains("1[]").contains("5[4]");
+	}
+
+	@Test
+	public void testLongGraphIsExecuted() {
+		LongDag<Long> graph = new LongDag<>();
+		for (long id = 1; id < 1000; id++) {
+			graph.addDependency(id - 1, id);
+			graph.addDependency(id / 2, id);
+		}
+		DefaultDexecutor<Long, Long> executor = new DefaultDexecutor<>(DexecutorConfig.newLongConfig(this.executorService, new ParentCountingTaskProvider(), graph));
+
+		ExecutionResults<Long, Long> result = executor.execute(ExecutionConfig.TERMINATING);
+
+		assertThat(result.getSuccess()).hasSize(1000);
+		for (ExecutionResult<Long, Long> nodeResult : result.getSuccess()) {
+			assertThat(nodeResult.getResult()).isEqualTo(graph.get(nodeResult.getId().longValue()).getInComingNodes().size());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("unchecked")
+	public void testNodeNotIndexedByItsGraphIsRejected() {
+		// a graph from outside of the graph package can not index its nodes
+		Dag<Integer, Integer> graph = (Dag<Integer, Integer>) Proxy.newProxyInstance(Dag.class.getClassLoader(), new Class<?>[] {Dag.class},
+				(proxy, method, args) -> null);
+
+		new DefaultDexecutorState<>(graph).markProcessingDone(new Node<Integer, Integer>(1));
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final SummingTaskProvider taskProvider) {
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(DexecutorConfig.newCompactConfig(this.executorService, taskProvider));
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependency(2, 4);
+		executor.addDependency(3, 4);
+		executor.addDependency(4, 5);
+		executor.addIndependent(6);
+		return executor;
+	}
+
+	/**
+	 * Result of a node is the number of its parent results
+	 */
+	private static class ParentCountingTaskProvider implements TaskProvider<Long, Long> {
+
+		public Task<Long, Long> provideTask(final Long id) {
+
+			return new Task<Long, Long>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Long execute() {
+					return (long) getParentResults().getAll().size();
+				}
+			};
+		}
+	}
+
+	/**
+	 * Result of a node is its id plus the results of its parents
+	 */
+	private static class SummingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Integer> results = new ConcurrentHashMap<>();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					int result = id;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						result += parent.getResult();
+					}
+					results.put(id, result);
+					return result;
+				}
+			};
+		}
+	}
+}
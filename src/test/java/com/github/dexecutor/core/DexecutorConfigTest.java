@@ -38,6 +38,8 @@ public class DexecutorConfigTest {
 	}
 	
 	@Test
+	// the accessors are kept for compatibility, hence still tested
+	@SuppressWarnings("deprecation")
 	public void scheduledRetryPoolThreadsCount() {
 		DexecutorConfig<String, String> config = new DexecutorConfig<String, String>(Executors.newCachedThreadPool(), newTaskProvider());
 		config.setScheduledRetryPoolThreadsCount(1);;
@@ -51,6 +53,13 @@ public class DexecutorConfigTest {
 		config.validate();
 	}
 
+	@Test
+	public void virtualThreadConfigUsesVirtualThreadEngine() {
+		DexecutorConfig<String, String> config = DexecutorConfig.newVirtualThreadConfig(newTaskProvider(), 10);
+		config.validate();
+		assertThat(config.getExecutorEngine() instanceof VirtualThreadExecutionEngine, equalTo(true));
+	}
+
 	private TaskProvider<String, String> newTaskProvider() {
 		return new TaskProvider<String, String>() {
 			
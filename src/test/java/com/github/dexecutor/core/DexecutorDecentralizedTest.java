@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.support.TestUtil;
+import com.github.dexecutor.core.support.ThreadPoolUtil;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorDecentralizedTest {
+
+	@Test
+	public void testNonTerminatingExecution() {
+		ExecutorService executorService = newExecutor();
+		try {
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService);
+			buildGraph(executor);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+			Collection<Node<Integer, Integer>> processedNodesOrder = TestUtil.processedNodesOrder(executor);
+			assertThat(processedNodesOrder).containsAll(executionOrderExpectedResult());
+			assertThat(processedNodesOrder).size().isEqualTo(9);
+			assertThat(result.getErrored()).hasSize(1);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testTerminatingExecution() {
+		ExecutorService executorService = newExecutor();
+		try {
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService);
+			buildGraph(executor);
+
+			executor.execute(ExecutionConfig.TERMINATING);
+
+			Collection<Node<Integer, Integer>> processedNodesOrder = TestUtil.processedNodesOrder(executor);
+			assertThat(processedNodesOrder).contains(new Node<Integer, Integer>(1));
+			assertThat(processedNodesOrder).doesNotContain(new Node<Integer, Integer>(2), new Node<Integer, Integer>(7));
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testEveryNodeExecutedOnce() {
+		ExecutorService executorService = newExecutor();
+		try {
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService);
+			int layers = 20;
+			int width = 50;
+			for (int layer = 1; layer < layers; layer++) {
+				for (int i = 0; i < width; i++) {
+					// ids start after the ones of the erroring tasks
+					int child = 100 + layer * width + i;
+					executor.addDependency(child - width, child);
+					executor.addDependency(100 + (layer - 1) * width + (i + 1) % width, child);
+				}
+			}
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+			assertThat(result.getAll()).hasSize(layers * width);
+			assertThat(TestUtil.processedNodesOrder(executor)).hasSize(layers * width);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testDiscontinuedNodesAreResumedAfterRetry() {
+		ExecutorService executorService = newExecutor();
+		try {
+			// node 2 is discontinued only after the retry of node 0 succeeded
+			DexecutorState<Integer, Integer> state = new DefaultDexecutorState<Integer, Integer>() {
+				@Override
+				public void processAfterNoError(Collection<Node<Integer, Integer>> nodes) {
+					FlakyTaskProvider.sleep(150);
+					super.processAfterNoError(nodes);
+				}
+			};
+			ExecutionEngine<Integer, Integer> engine = new DefaultExecutionEngine<>(state, executorService);
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(state, engine, new FlakyTaskProvider());
+			config.setDecentralizedScheduling(true);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			executor.addIndependent(0);
+			executor.addDependency(1, 2);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(new ExecutionConfig().immediateRetrying(1));
+
+			assertThat(result.getErrored()).isEmpty();
+			assertThat(result.getSuccess()).hasSize(3);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService) {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, new ErroringTaskProvider());
+		config.setDecentralizedScheduling(true);
+		return new DefaultDexecutor<Integer, Integer>(config);
+	}
+
+	private void buildGraph(final DefaultDexecutor<Integer, Integer> executor) {
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependency(3, 4);
+		executor.addDependency(3, 5);
+		executor.addDependency(3, 6);
+		executor.addDependency(2, 7);
+		executor.addDependency(2, 9);
+		executor.addDependency(2, 8);
+		executor.addDependency(9, 10);
+		executor.addDependency(12, 13);
+		executor.addDependency(13, 4);
+		executor.addDependency(13, 14);
+		executor.addIndependent(11);
+	}
+
+	private Collection<Node<Integer, Integer>> executionOrderExpectedResult() {
+		List<Node<Integer, Integer>> result = new ArrayList<Node<Integer, Integer>>();
+		result.add(new Node<Integer, Integer>(1));
+		result.add(new Node<Integer, Integer>(11));
+		result.add(new Node<Integer, Integer>(12));
+		result.add(new Node<Integer, Integer>(3));
+		result.add(new Node<Integer, Integer>(13));
+		result.add(new Node<Integer, Integer>(5));
+		result.add(new Node<Integer, Integer>(6));
+		result.add(new Node<Integer, Integer>(4));
+		result.add(new Node<Integer, Integer>(14));
+		return result;
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(ThreadPoolUtil.ioIntesivePoolSize());
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	/**
+	 * Node 0 fails once, node 1 finishes while node 0 is errored
+	 */
+	private static class FlakyTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					if (id == 0) {
+						if (attempts.incrementAndGet() == 1) {
+							throw new IllegalArgumentException("Flaky task");
+						}
+						sleep(50);
+					} else if (id == 1) {
+						sleep(10);
+					}
+					return id;
+				}
+			};
+		}
+
+		static void sleep(int millis) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static class ErroringTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					if (id == 2) {
+						throw new IllegalArgumentException("Invalid task");
+					}
+					return id;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorDynamicTest {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@After
+	public void shutdown() throws InterruptedException {
+		this.release.countDown();
+		this.executorService.shutdownNow();
+		this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testNodesAddedWhileRunningAreExecuted() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider(-1);
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(taskProvider);
+		executor.addIndependent(1);
+
+		Future<ExecutionResults<Integer, Integer>> completion = executor.executeDynamically(ExecutionConfig.TERMINATING).toCompletableFuture();
+		awaitExecuted(taskProvider, 1);
+
+		// depends on a processed node, hence ready at once
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependencies(Arrays.asList(2, 3), 4);
+		executor.addIndependent(5);
+		executor.addAsDependentOnAllLeafNodes(6);
+		assertThat(completion.isDone()).isFalse();
+		executor.seal();
+
+		ExecutionResults<Integer, Integer> result = completion.get(5, TimeUnit.SECONDS);
+		assertThat(result.getSuccess()).hasSize(6);
+		assertThat(taskProvider.results.get(4)).isEqualTo(4 + 3 + 4);
+		assertThat(taskProvider.results.get(6)).isEqualTo(6 + 11 + 5);
+	}
+
+	@Test
+	public void testConcurrentlyAddedNodesAreExecutedOnceAfterTheirParents() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider(-1);
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(taskProvider);
+		executor.addIndependent(0);
+		Future<ExecutionResults<Integer, Integer>> completion = executor.executeDynamically(ExecutionConfig.TERMINATING).toCompletableFuture();
+
+		int planners = 4;
+		int nodesPerPlanner = 500;
+		ExecutorService plannerService = Executors.newFixedThreadPool(planners);
+		List<Future<?>> planned = new ArrayList<>();
+		for (int p = 0; p < planners; p++) {
+			final int first = 1 + p * nodesPerPlanner;
+			planned.add(plannerService.submit(() -> {
+				Random random = new Random(first);
+				executor.addDependency(0, first);
+				for (int id = first + 1; id < first + nodesPerPlanner; id++) {
+					executor.addDependencies(Arrays.asList(first + random.nextInt(id - first), first + random.nextInt(id - first)), id);
+				}
+			}));
+		}
+		for (Future<?> future : planned) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		plannerService.shutdown();
+		executor.seal();
+
+		ExecutionResults<Integer, Integer> result = completion.get(10, TimeUnit.SECONDS);
+		assertThat(result.getSuccess()).hasSize(planners * nodesPerPlanner + 1);
+		assertThat(taskProvider.executions.values()).containsOnly(1);
+		assertThat(taskProvider.missingParents).isEmpty();
+	}
+
+	@Test
+	public void testInvalidDependenciesAreRejectedWhileRunning() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider(1);
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(taskProvider);
+		executor.addIndependent(1);
+		Future<ExecutionResults<Integer, Integer>> completion = executor.executeDynamically(ExecutionConfig.TERMINATING).toCompletableFuture();
+
+		executor.addDependency(1, 2);
+		executor.addDependency(2, 3);
+		assertThatThrown(() -> executor.addDependency(3, 2), IllegalArgumentException.class);
+		// node 1 is running
+		assertThatThrown(() -> executor.addDependency(4, 1), IllegalStateException.class);
+		assertThatThrown(() -> executor.addAsDependencyToAllInitialNodes(5), IllegalStateException.class);
+
+		this.release.countDown();
+		executor.seal();
+		assertThatThrown(() -> executor.addIndependent(6), IllegalStateException.class);
+		assertThatThrown(() -> executor.seal(), IllegalStateException.class);
+
+		ExecutionResults<Integer, Integer> result = completion.get(5, TimeUnit.SECONDS);
+		assertThat(result.getSuccess()).hasSize(3);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSealIsRejectedWithoutDynamicExecution() {
+		newDexecutor(new SummingTaskProvider(-1)).seal();
+	}
+
+	private void assertThatThrown(final Runnable action, final Class<? extends Exception> expected) {
+		try {
+			action.run();
+		} catch (Exception e) {
+			assertThat(e).isInstanceOf(expected);
+			return;
+		}
+		throw new AssertionError("Expected " + expected.getSimpleName());
+	}
+
+	private void awaitExecuted(final SummingTaskProvider taskProvider, final int id) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!taskProvider.results.containsKey(id) && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		// the result is processed after the task returns
+		TimeUnit.MILLISECONDS.sleep(50);
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final SummingTaskProvider taskProvider) {
+		return new DefaultDexecutor<Integer, Integer>(new DexecutorConfig<>(this.executorService, taskProvider));
+	}
+
+	/**
+	 * Result of a node is its id plus the results of its parents, the blocking node waits for the release
+	 */
+	private class SummingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Integer> results = new ConcurrentHashMap<>();
+		private final Map<Integer, Integer> executions = new ConcurrentHashMap<>();
+		private final List<Integer> missingParents = new ArrayList<>();
+		private final int blockingNode;
+
+		SummingTaskProvider(int blockingNode) {
+			this.blockingNode = blockingNode;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executions.merge(id, 1, Integer::sum);
+					if (id == blockingNode) {
+						try {
+							release.await(5, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					int result = id;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						if (parent.getResult() == null) {
+							synchronized (missingParents) {
+								missingParents.add(id);
+							}
+							continue;
+						}
+						result += parent.getResult();
+					}
+					results.put(id, result);
+					return result;
+				}
+			};
+		}
+	}
+}
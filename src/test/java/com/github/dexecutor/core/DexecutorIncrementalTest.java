@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorIncrementalTest {
+
+	@Test
+	public void testOnlyChangedNodesAndDescendantsAreExecuted() {
+		ExecutorService executorService = newExecutor();
+		try {
+			ExecutionResults<Integer, Integer> previous = newDexecutor(executorService, new SummingTaskProvider(-1)).execute(ExecutionConfig.TERMINATING);
+
+			SummingTaskProvider taskProvider = new SummingTaskProvider(-1);
+			taskProvider.increment = 100;
+			ExecutionResults<Integer, Integer> result = newDexecutor(executorService, taskProvider)
+					.executeIncrementally(previous, Collections.singleton(3), ExecutionConfig.TERMINATING);
+
+			assertThat(taskProvider.executed).containsOnly(3, 5, 6);
+			assertThat(result.getSuccess()).hasSize(6);
+			// 5 sums the reused result of 4 and the new result of 3
+			assertThat(resultOf(result, 4)).isEqualTo(resultOf(previous, 4));
+			assertThat(resultOf(result, 5)).isEqualTo(resultOf(previous, 5) + 100);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testPreviouslyErroredNodesAreExecutedAgain() {
+		ExecutorService executorService = newExecutor();
+		try {
+			ExecutionResults<Integer, Integer> previous = newDexecutor(executorService, new SummingTaskProvider(4)).execute(ExecutionConfig.TERMINATING);
+			assertThat(previous.getErrored()).hasSize(1);
+
+			SummingTaskProvider taskProvider = new SummingTaskProvider(-1);
+			ExecutionResults<Integer, Integer> result = newDexecutor(executorService, taskProvider)
+					.executeIncrementally(previous, Collections.<Integer>emptySet(), ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(6);
+			assertThat(taskProvider.executed).contains(4, 5, 6).doesNotContain(1, 2);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testNothingIsExecutedWithoutChanges() {
+		ExecutorService executorService = newExecutor();
+		try {
+			ExecutionResults<Integer, Integer> previous = newDexecutor(executorService, new SummingTaskProvider(-1)).execute(ExecutionConfig.TERMINATING);
+
+			SummingTaskProvider taskProvider = new SummingTaskProvider(-1);
+			ExecutionResults<Integer, Integer> result = newDexecutor(executorService, taskProvider)
+					.executeIncrementally(previous, new HashSet<Integer>(), ExecutionConfig.TERMINATING);
+
+			assertThat(taskProvider.executed).isEmpty();
+			assertThat(result.getSuccess()).hasSize(6);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private Integer resultOf(final ExecutionResults<Integer, Integer> results, final Integer id) {
+		for (ExecutionResult<Integer, Integer> result : results.getAll()) {
+			if (result.getId().equals(id)) {
+				return result.getResult();
+			}
+		}
+		return null;
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService, final SummingTaskProvider taskProvider) {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependency(2, 4);
+		executor.addDependency(4, 5);
+		executor.addDependency(3, 5);
+		executor.addDependency(5, 6);
+		return executor;
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(4);
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	/**
+	 * Result of a node is its id, plus the increment, plus the results of its parents
+	 */
+	private static class SummingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Set<Integer> executed = ConcurrentHashMap.newKeySet();
+		private final int failingNode;
+		private volatile int increment;
+
+		SummingTaskProvider(int failingNode) {
+			this.failingNode = failingNode;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executed.add(id);
+					if (id == failingNode) {
+						throw new IllegalStateException("Node " + id + " fails");
+					}
+					int result = id + (id == 3 ? increment : 0);
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						result += parent.getResult();
+					}
+					return result;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorJournalTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRecoveryAfterRestartResumesFromJournaledFrontier() throws Exception {
+		Path journal = this.folder.getRoot().toPath().resolve("dexecutor.journal");
+
+		SummingTaskProvider crashing = new SummingTaskProvider(4);
+		ExecutionResults<Integer, Integer> first = execute(journal, crashing, false);
+		assertThat(first.getErrored()).hasSize(1);
+
+		// a new process, with a fresh state on the same journal
+		SummingTaskProvider restarted = new SummingTaskProvider(-1);
+		ExecutionResults<Integer, Integer> recovered = execute(journal, restarted, true);
+
+		assertThat(restarted.executed).containsOnly(4, 5, 6);
+		assertThat(recovered.getSuccess()).hasSize(6);
+		assertThat(resultOf(recovered, 3)).isEqualTo(resultOf(first, 3));
+		assertThat(resultOf(recovered, 6)).isEqualTo(22);
+	}
+
+	@Test
+	public void testFreshExecutionTruncatesJournal() throws Exception {
+		Path journal = this.folder.getRoot().toPath().resolve("dexecutor.journal");
+		execute(journal, new SummingTaskProvider(-1), false);
+
+		SummingTaskProvider second = new SummingTaskProvider(-1);
+		execute(journal, second, false);
+		assertThat(second.executed).hasSize(6);
+
+		SummingTaskProvider recovering = new SummingTaskProvider(-1);
+		execute(journal, recovering, true);
+		assertThat(recovering.executed).isEmpty();
+	}
+
+	private ExecutionResults<Integer, Integer> execute(final Path journal, final SummingTaskProvider taskProvider, final boolean recover) {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			DexecutorConfig<Integer, Integer> config = DexecutorConfig.newJournalingConfig(executorService, taskProvider, journal);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			executor.addDependency(1, 2);
+			executor.addDependency(1, 3);
+			executor.addDependency(2, 4);
+			executor.addDependency(4, 5);
+			executor.addDependency(3, 5);
+			executor.addDependency(5, 6);
+			return recover ? executor.recoverExecution(ExecutionConfig.TERMINATING) : executor.execute(ExecutionConfig.TERMINATING);
+		} finally {
+			try {
+				executorService.shutdownNow();
+				executorService.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+
+			}
+		}
+	}
+
+	private Integer resultOf(final ExecutionResults<Integer, Integer> results, final Integer id) {
+		for (ExecutionResult<Integer, Integer> result : results.getAll()) {
+			if (result.getId().equals(id)) {
+				return result.getResult();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Result of a node is its id plus the results of its parents
+	 */
+	private static class SummingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Set<Integer> executed = ConcurrentHashMap.newKeySet();
+		private final int failingNode;
+
+		SummingTaskProvider(int failingNode) {
+			this.failingNode = failingNode;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executed.add(id);
+					if (id == failingNode) {
+						throw new IllegalStateException("Node " + id + " fails");
+					}
+					int result = id;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						result += parent.getResult();
+					}
+					return result;
+				}
+			};
+		}
+	}
+}
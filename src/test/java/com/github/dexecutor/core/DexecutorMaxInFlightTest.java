@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.support.TestUtil;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorMaxInFlightTest {
+
+	private static final int MAX_IN_FLIGHT = 4;
+	private static final int WIDTH = 2000;
+
+	@Test
+	public void testTasksAreProvidedOnlyWhenSlotIsFree() {
+		assertBoundedFanOut(false);
+	}
+
+	@Test
+	public void testTasksAreProvidedOnlyWhenSlotIsFreeWithDecentralizedScheduling() {
+		assertBoundedFanOut(true);
+	}
+
+	@Test
+	public void testSkippedNodesReleaseTheirSlot() {
+		ExecutorService executorService = newExecutor();
+		try {
+			CountingTaskProvider taskProvider = new CountingTaskProvider(true);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider, false);
+			buildFanOut(executor);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(WIDTH / 2 + 2);
+			assertThat(TestUtil.processedNodesOrder(executor)).hasSize(WIDTH + 2);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldNotAllowNegativeLimit() {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(newExecutor(), new CountingTaskProvider(false));
+		config.setMaxInFlight(-1);
+		new DefaultDexecutor<Integer, Integer>(config);
+	}
+
+	private void assertBoundedFanOut(boolean decentralized) {
+		ExecutorService executorService = newExecutor();
+		try {
+			CountingTaskProvider taskProvider = new CountingTaskProvider(false);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider, decentralized);
+			buildFanOut(executor);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(WIDTH + 2);
+			assertThat(taskProvider.maxOutstanding.get()).isLessThanOrEqualTo(MAX_IN_FLIGHT);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private void buildFanOut(final DefaultDexecutor<Integer, Integer> executor) {
+		for (int i = 1; i <= WIDTH; i++) {
+			executor.addDependency(0, i);
+			executor.addDependency(i, WIDTH + 1);
+		}
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService,
+			final TaskProvider<Integer, Integer> taskProvider, boolean decentralized) {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+		config.setMaxInFlight(MAX_IN_FLIGHT);
+		config.setDecentralizedScheduling(decentralized);
+		return new DefaultDexecutor<Integer, Integer>(config);
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(8);
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	private static class CountingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final AtomicInteger outstanding = new AtomicInteger();
+		private final AtomicInteger maxOutstanding = new AtomicInteger();
+		private final boolean skipOdd;
+
+		CountingTaskProvider(boolean skipOdd) {
+			this.skipOdd = skipOdd;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+			int current = outstanding.incrementAndGet();
+			maxOutstanding.accumulateAndGet(current, Math::max);
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					outstanding.decrementAndGet();
+					return id;
+				}
+
+				@Override
+				public boolean shouldExecute(ExecutionResults<Integer, Integer> parentResults) {
+					if (skipOdd && id <= WIDTH && id % 2 == 1) {
+						outstanding.decrementAndGet();
+						return false;
+					}
+					return true;
+				}
+			};
+		}
+	}
+}
@@ -5,14 +5,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import com.github.dexecutor.core.graph.Node;
 import com.github.dexecutor.core.support.TestUtil;
 import com.github.dexecutor.core.support.ThreadPoolUtil;
+import com.github.dexecutor.core.task.ExecutionResults;
 import com.github.dexecutor.core.task.Task;
 import com.github.dexecutor.core.task.TaskProvider;
 
@@ -36,6 +40,41 @@ public class DexecutorRecoveringTest {
 		executor.recoverExecution(ExecutionConfig.NON_TERMINATING);		
 	}
 
+	@Test
+	public void testRecoverQueuedNodes() throws InterruptedException {
+		ExecutorService executorService = newExecutor();
+		CountingTaskProvider taskProvider = new CountingTaskProvider();
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+		config.setMaxInFlight(1);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config) {
+			int counter = 0;
+
+			@Override
+			protected boolean shouldContinueProcessingNodes() {
+				// paused once node 2 is running, and nodes 3, 4 and 5 are queued
+				return ++counter != 7;
+			}
+		};
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependency(1, 4);
+		executor.addDependency(1, 5);
+
+		try {
+			executor.execute(ExecutionConfig.TERMINATING);
+			throw new AssertionError("Execution should be paused");
+		} catch (IllegalStateException e) {
+			ExecutionResults<Integer, Integer> results = executor.recoverExecution(ExecutionConfig.TERMINATING);
+
+			assertThat(results.getSuccess()).hasSize(5);
+			assertThat(taskProvider.executions).containsOnlyKeys(1, 2, 3, 4, 5);
+			assertThat(taskProvider.executions.values()).containsOnly(1);
+		} finally {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		}
+	}
+
 	private DefaultDexecutor<Integer, Integer> newDexecutor() {
 		ExecutorService executorService = newExecutor();
 		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, new SleepyTaskProvider());
@@ -83,6 +122,24 @@ public class DexecutorRecoveringTest {
 		return Executors.newFixedThreadPool(ThreadPoolUtil.ioIntesivePoolSize());
 	}
 
+	private static class CountingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Integer> executions = new ConcurrentHashMap<>();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executions.merge(id, 1, Integer::sum);
+					return id;
+				}
+			};
+		}
+	}
+
 	private static class SleepyTaskProvider implements TaskProvider<Integer, Integer> {
 		
 		public Task<Integer, Integer> provideTask(final Integer id) {
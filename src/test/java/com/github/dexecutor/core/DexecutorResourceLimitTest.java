@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorResourceLimitTest {
+
+	private static final int NODES = 40;
+
+	@Test
+	public void testResourceIsNotUsedBeyondItsPermits() {
+		assertResourceLimited(false);
+	}
+
+	@Test
+	public void testResourceIsNotUsedBeyondItsPermitsWithDecentralizedScheduling() {
+		assertResourceLimited(true);
+	}
+
+	@Test
+	public void testTaskWaitsForEachOfItsResources() {
+		ExecutorService executorService = newExecutor();
+		try {
+			ResourceTaskProvider taskProvider = new ResourceTaskProvider();
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setResourcePermits("db", 4);
+			config.setResourcePermits("api", 1);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			for (int i = 0; i < NODES; i++) {
+				executor.addDependency(i, NODES + i % 4);
+			}
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(NODES + 4);
+			assertThat(taskProvider.maxUsage("db")).isLessThanOrEqualTo(4);
+			assertThat(taskProvider.maxUsage("api")).isEqualTo(1);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testParkedTasksDoNotHoldSlots() {
+		ExecutorService executorService = newExecutor();
+		try {
+			ResourceTaskProvider taskProvider = new ResourceTaskProvider();
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setResourcePermits("db", 1);
+			config.setMaxInFlight(2);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			// the db nodes come first among the initial nodes
+			for (int i = 0; i < 10; i += 2) {
+				executor.addIndependent(i);
+			}
+			for (int i = 9; i < 16; i += 2) {
+				executor.addIndependent(i);
+			}
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(9);
+			assertThat(taskProvider.maxUsage("db")).isEqualTo(1);
+			// untagged nodes do not wait behind the ones parked for the db
+			assertThat(taskProvider.started.indexOf(9)).isLessThan(taskProvider.started.indexOf(8));
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldNotAllowZeroPermits() {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(newExecutor(), new ResourceTaskProvider());
+		config.setResourcePermits("db", 0);
+	}
+
+	private void assertResourceLimited(boolean decentralized) {
+		ExecutorService executorService = newExecutor();
+		try {
+			ResourceTaskProvider taskProvider = new ResourceTaskProvider();
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setResourcePermits("db", 2);
+			config.setDecentralizedScheduling(decentralized);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			for (int i = 0; i < NODES; i++) {
+				executor.addIndependent(i);
+			}
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(NODES);
+			assertThat(taskProvider.maxUsage("db")).isEqualTo(2);
+			// untagged tasks are not held back by the limited ones
+			assertThat(taskProvider.maxUsage("")).isGreaterThan(2);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(8);
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	/**
+	 * Even ids use the db, ids multiple of four use the api as well, the rest use no resource
+	 */
+	private static class ResourceTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<String, AtomicInteger> usage = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> maxUsage = new ConcurrentHashMap<>();
+		private final List<Integer> started = new CopyOnWriteArrayList<>();
+
+		int maxUsage(String tag) {
+			AtomicInteger max = this.maxUsage.get(tag);
+			return max == null ? 0 : max.get();
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Set<String> getResourceTags() {
+					Set<String> tags = new HashSet<>();
+					if (id % 2 == 0) {
+						tags.add("db");
+					}
+					if (id % 4 == 0) {
+						tags.add("api");
+					}
+					return tags;
+				}
+
+				public Integer execute() {
+					Set<String> tags = getResourceTags().isEmpty() ? Collections.singleton("") : getResourceTags();
+					started.add(id);
+					for (String tag : tags) {
+						int current = usage.computeIfAbsent(tag, t -> new AtomicInteger()).incrementAndGet();
+						maxUsage.computeIfAbsent(tag, t -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+					}
+					try {
+						Thread.sleep(20);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					for (String tag : tags) {
+						usage.get(tag).decrementAndGet();
+					}
+					return id;
+				}
+			};
+		}
+	}
+}
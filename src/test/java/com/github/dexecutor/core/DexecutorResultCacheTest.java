@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorResultCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCachedNodesAreNotExecutedAgain() {
+		assertCached(new LruResultCache<Integer, Integer>(100));
+	}
+
+	@Test
+	public void testCachedNodesAreNotExecutedAgainAcrossDiskCaches() throws Exception {
+		assertCached(new DiskResultCache<Integer, Integer>(this.folder.getRoot().toPath()));
+		// a fresh instance over the same directory sees the results
+		CountingTaskProvider taskProvider = new CountingTaskProvider();
+		ExecutionResults<Integer, Integer> result = execute(new DiskResultCache<Integer, Integer>(this.folder.getRoot().toPath()), taskProvider);
+		assertThat(result.getSuccess()).hasSize(4);
+		assertThat(taskProvider.executions()).isEqualTo(1);
+	}
+
+	@Test
+	public void testChangedInputsInvalidateDependents() {
+		LruResultCache<Integer, Integer> cache = new LruResultCache<>(100);
+		execute(cache, new CountingTaskProvider());
+
+		CountingTaskProvider taskProvider = new CountingTaskProvider();
+		taskProvider.inputs.put(2, "v2");
+		ExecutionResults<Integer, Integer> result = execute(cache, taskProvider);
+
+		assertThat(result.getSuccess()).hasSize(4);
+		// node 2 and its child 4, whose parent result changed, and the uncacheable node 3
+		assertThat(taskProvider.executed.keySet()).containsOnly(2, 3, 4);
+		assertThat(resultOf(result, 4)).isEqualTo(1 + 2 * 10 + 4);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedResultIsEvicted() {
+		LruResultCache<Integer, Integer> cache = new LruResultCache<>(2);
+		cache.put(1, "a", 1);
+		cache.put(2, "a", 2);
+		assertThat(cache.get(1, "a")).isEqualTo(1);
+		cache.put(3, "a", 3);
+		assertThat(cache.get(2, "a")).isNull();
+		assertThat(cache.get(1, "a")).isEqualTo(1);
+		assertThat(cache.get(1, "b")).isNull();
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void testParentResultsWithEqualHashCodesAreNotConfused() {
+		assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+		LruResultCache<Integer, Object> cache = new LruResultCache<>(100);
+		ChainTaskProvider first = new ChainTaskProvider("Aa");
+		assertThat(resultOf(execute(cache, first), 2)).isEqualTo("Aa!");
+		ChainTaskProvider second = new ChainTaskProvider("BB");
+		assertThat(resultOf(execute(cache, second), 2)).isEqualTo("BB!");
+		assertThat(second.childExecutions.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testParentResultsWithoutHashCodeAreCachedAcrossDiskCaches() {
+		execute(new DiskResultCache<Integer, Object>(this.folder.getRoot().toPath()), new ChainTaskProvider(new Payload("x")));
+		ChainTaskProvider second = new ChainTaskProvider(new Payload("x"));
+		ExecutionResults<Integer, Object> result = execute(new DiskResultCache<Integer, Object>(this.folder.getRoot().toPath()), second);
+		assertThat(resultOf(result, 2)).isEqualTo("x!");
+		assertThat(second.childExecutions.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void testSkippedParentIsNotConfusedWithNullResult() {
+		LruResultCache<Integer, Object> cache = new LruResultCache<>(100);
+		assertThat(resultOf(execute(cache, new ChainTaskProvider(null)), 2)).isEqualTo("null!");
+		ChainTaskProvider skipping = new ChainTaskProvider(null);
+		skipping.skipRoot = true;
+		ExecutionResults<Integer, Object> result = execute(cache, skipping);
+		assertThat(resultOf(result, 2)).isEqualTo("SKIPPED!");
+		assertThat(skipping.childExecutions.get()).isEqualTo(1);
+	}
+
+	private void assertCached(final ResultCache<Integer, Integer> cache) {
+		CountingTaskProvider first = new CountingTaskProvider();
+		ExecutionResults<Integer, Integer> result = execute(cache, first);
+		assertThat(result.getSuccess()).hasSize(4);
+		assertThat(first.executions()).isEqualTo(4);
+
+		CountingTaskProvider second = new CountingTaskProvider();
+		result = execute(cache, second);
+		assertThat(result.getSuccess()).hasSize(4);
+		assertThat(resultOf(result, 4)).isEqualTo(1 + 2 + 4);
+		// node 3 does not declare its inputs
+		assertThat(second.executed.keySet()).containsOnly(3);
+	}
+
+	private <R> R resultOf(final ExecutionResults<Integer, R> results, final Integer id) {
+		for (ExecutionResult<Integer, R> result : results.getAll()) {
+			if (result.getId().equals(id)) {
+				return result.getResult();
+			}
+		}
+		return null;
+	}
+
+	private ExecutionResults<Integer, Integer> execute(final ResultCache<Integer, Integer> cache, final CountingTaskProvider taskProvider) {
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setResultCache(cache);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			executor.addDependency(1, 2);
+			executor.addDependency(1, 3);
+			executor.addDependency(2, 4);
+			return executor.execute(ExecutionConfig.TERMINATING);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private ExecutionResults<Integer, Object> execute(final ResultCache<Integer, Object> cache, final ChainTaskProvider taskProvider) {
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			DexecutorConfig<Integer, Object> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setResultCache(cache);
+			DefaultDexecutor<Integer, Object> executor = new DefaultDexecutor<Integer, Object>(config);
+			executor.addDependency(1, 2);
+			return executor.execute(ExecutionConfig.TERMINATING);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	/**
+	 * Every node but 3 declares its inputs, the result of a node is its id plus the results of its parents, times ten for
+	 * the inputs "v2"
+	 */
+	private static class CountingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, AtomicInteger> executed = new ConcurrentHashMap<>();
+		private final Map<Integer, String> inputs = new ConcurrentHashMap<>();
+
+		int executions() {
+			int count = 0;
+			for (AtomicInteger executions : this.executed.values()) {
+				count += executions.get();
+			}
+			return count;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executed.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+					int result = "v2".equals(inputs.get(id)) ? id * 10 : id;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						result += parent.getResult();
+					}
+					return result;
+				}
+
+				@Override
+				public String getInputsFingerprint() {
+					return id == 3 ? null : inputs.getOrDefault(id, "v1");
+				}
+			};
+		}
+	}
+
+	/**
+	 * Node 1 always executes unless skipped, node 2 appends "!" to the result of node 1, or to its status if it did not
+	 * succeed
+	 */
+	private static class ChainTaskProvider implements TaskProvider<Integer, Object> {
+
+		private final Object rootResult;
+		private final AtomicInteger childExecutions = new AtomicInteger();
+		private boolean skipRoot;
+
+		ChainTaskProvider(final Object rootResult) {
+			this.rootResult = rootResult;
+		}
+
+		public Task<Integer, Object> provideTask(final Integer id) {
+
+			return new Task<Integer, Object>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Object execute() {
+					if (id == 1) {
+						return rootResult;
+					}
+					childExecutions.incrementAndGet();
+					ExecutionResult<Integer, Object> parent = getParentResults().getFirst();
+					return (parent.isSuccess() ? parent.getResult() : parent.getStatus()) + "!";
+				}
+
+				@Override
+				public boolean shouldExecute(ExecutionResults<Integer, Object> parentResults) {
+					return id != 1 || !skipRoot;
+				}
+
+				@Override
+				public String getInputsFingerprint() {
+					return id == 1 ? null : "v1";
+				}
+			};
+		}
+	}
+
+	/**
+	 * Does not override {@link Object#hashCode()}
+	 */
+	private static final class Payload implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String value;
+
+		Payload(final String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorResultReleaseTest {
+
+	@Test
+	public void testConsumedResultsAreReleased() {
+		ExecutionResults<Integer, Integer> result = execute(true, false);
+
+		assertThat(result.getSuccess()).hasSize(5);
+		assertThat(resultOf(result, 1)).isNull();
+		assertThat(resultOf(result, 3)).isNull();
+		assertThat(resultOf(result, 4)).isNull();
+		// retained output
+		assertThat(resultOf(result, 2)).isEqualTo(3);
+		// leaf, which sums all the results on its way
+		assertThat(resultOf(result, 5)).isEqualTo(5 + 4 + 3 + 4);
+	}
+
+	@Test
+	public void testConsumedResultsAreReleasedWithDecentralizedScheduling() {
+		ExecutionResults<Integer, Integer> result = execute(true, true);
+
+		assertThat(resultOf(result, 1)).isNull();
+		assertThat(resultOf(result, 5)).isEqualTo(16);
+	}
+
+	@Test
+	public void testTasksAreProvidedOncePerNode() {
+		SummingTaskProvider taskProvider = new SummingTaskProvider();
+		execute(taskProvider, true, false);
+
+		assertThat(taskProvider.provided).containsOnlyKeys(1, 2, 3, 4, 5);
+		assertThat(taskProvider.provided.values()).containsOnly(1);
+	}
+
+	@Test
+	public void testResultsAreKeptByDefault() {
+		ExecutionResults<Integer, Integer> result = execute(false, false);
+
+		assertThat(resultOf(result, 1)).isEqualTo(1);
+		assertThat(resultOf(result, 3)).isEqualTo(4);
+		assertThat(resultOf(result, 4)).isEqualTo(11);
+	}
+
+	private ExecutionResults<Integer, Integer> execute(final boolean release, final boolean decentralized) {
+		return execute(new SummingTaskProvider(), release, decentralized);
+	}
+
+	private ExecutionResults<Integer, Integer> execute(final SummingTaskProvider taskProvider, final boolean release, final boolean decentralized) {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setReleaseConsumedResults(release);
+			config.setDecentralizedScheduling(decentralized);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			executor.addDependency(1, 2);
+			executor.addDependency(1, 3);
+			executor.addDependency(2, 4);
+			executor.addDependency(3, 4);
+			executor.addDependency(4, 5);
+			return executor.execute(ExecutionConfig.TERMINATING);
+		} finally {
+			try {
+				executorService.shutdownNow();
+				executorService.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+
+			}
+		}
+	}
+
+	private Integer resultOf(final ExecutionResults<Integer, Integer> results, final Integer id) {
+		for (ExecutionResult<Integer, Integer> result : results.getAll()) {
+			if (result.getId().equals(id)) {
+				return result.getResult();
+			}
+		}
+		throw new AssertionError("No result for " + id);
+	}
+
+	/**
+	 * Result of a node is its id plus the results of its parents, node 2 is a retained output
+	 */
+	private static class SummingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Integer> provided = new ConcurrentHashMap<>();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+			this.provided.merge(id, 1, Integer::sum);
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					int result = id;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						result += parent.getResult();
+					}
+					return result;
+				}
+
+				@Override
+				public boolean isRetainedOutput() {
+					return id == 2;
+				}
+			};
+		}
+	}
+}
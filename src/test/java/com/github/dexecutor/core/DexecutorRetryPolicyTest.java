@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.BackoffRetryPolicy;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.RetryPolicy;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorRetryPolicyTest {
+
+	@Test
+	public void testNodesAreRetriedAsPerConfigPolicy() {
+		ExecutorService executorService = newExecutor();
+		try {
+			FlakyTaskProvider taskProvider = new FlakyTaskProvider(2, null);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(new ExecutionConfig()
+					.retrying(BackoffRetryPolicy.decorrelatedJitter(3, java.time.Duration.ofMillis(5), java.time.Duration.ofMillis(50))));
+
+			assertThat(result.getSuccess()).hasSize(4);
+			assertThat(taskProvider.executions(2)).isEqualTo(3);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testTaskPolicyOverridesConfigPolicy() {
+		ExecutorService executorService = newExecutor();
+		try {
+			FlakyTaskProvider taskProvider = new FlakyTaskProvider(3, BackoffRetryPolicy.exponential(1, java.time.Duration.ofMillis(5), java.time.Duration.ofMillis(5)));
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(new ExecutionConfig().immediateRetrying(5));
+
+			assertThat(result.getErrored()).hasSize(1);
+			assertThat(taskProvider.executions(2)).isEqualTo(2);
+			assertThat(taskProvider.executions(4)).isEqualTo(0);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testTaskPolicyAppliesToTerminatingExecution() {
+		ExecutorService executorService = newExecutor();
+		try {
+			FlakyTaskProvider taskProvider = new FlakyTaskProvider(1, BackoffRetryPolicy.fixed(1, java.time.Duration.ofMillis(5)));
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(4);
+			assertThat(taskProvider.executions(2)).isEqualTo(2);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testDelayedRetriesStayWithinTheInFlightLimit() {
+		ExecutorService executorService = newExecutor();
+		try {
+			FlakyTaskProvider taskProvider = new FlakyTaskProvider(1, BackoffRetryPolicy.fixed(1, java.time.Duration.ofMillis(5)));
+			// node 3 is admitted once node 2 fails, and is still running when node 2 is due for retry
+			taskProvider.slowNode = 3;
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			config.setMaxInFlight(1);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(config);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(4);
+			assertThat(taskProvider.executions(2)).isEqualTo(2);
+			assertThat(taskProvider.maxRunning.get()).isEqualTo(1);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testTasksAreProvidedOncePerExecution() {
+		ExecutorService executorService = newExecutor();
+		try {
+			FlakyTaskProvider taskProvider = new FlakyTaskProvider(2, BackoffRetryPolicy.fixed(2, java.time.Duration.ofMillis(5)));
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider);
+
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(4);
+			assertThat(taskProvider.executions(2)).isEqualTo(3);
+			assertThat(taskProvider.provided.get(2).get()).isEqualTo(3);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService, final FlakyTaskProvider taskProvider) {
+		return newDexecutor(new DexecutorConfig<>(executorService, taskProvider));
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final DexecutorConfig<Integer, Integer> config) {
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependency(2, 4);
+		return executor;
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(4);
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	/**
+	 * Node 2 fails its first few executions
+	 */
+	private static class FlakyTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final int failures;
+		private final RetryPolicy retryPolicy;
+		private final Map<Integer, AtomicInteger> executions = new ConcurrentHashMap<>();
+		private final Map<Integer, AtomicInteger> provided = new ConcurrentHashMap<>();
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+		private volatile Integer slowNode;
+
+		FlakyTaskProvider(int failures, RetryPolicy retryPolicy) {
+			this.failures = failures;
+			this.retryPolicy = retryPolicy;
+		}
+
+		int executions(Integer id) {
+			AtomicInteger count = this.executions.get(id);
+			return count == null ? 0 : count.get();
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+			provided.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						executions.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+						if (id == 2 && executions(id) <= failures) {
+							throw new IllegalStateException("Node 2 is flaky");
+						}
+						if (id.equals(slowNode)) {
+							TimeUnit.MILLISECONDS.sleep(100);
+						}
+						return id;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException(e);
+					} finally {
+						running.decrementAndGet();
+					}
+				}
+
+				@Override
+				public RetryPolicy getRetryPolicy() {
+					return id == 2 ? retryPolicy : null;
+				}
+			};
+		}
+	}
+}
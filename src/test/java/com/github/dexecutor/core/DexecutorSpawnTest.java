@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorSpawnTest {
+
+	private static final int LIST = 1;
+	private static final int MERGE = 200;
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	@After
+	public void shutdown() throws InterruptedException {
+		this.executorService.shutdownNow();
+		this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testSpawnedNodesAreExecutedAsDescendants() {
+		PartitioningTaskProvider taskProvider = new PartitioningTaskProvider(Spawn.PARTITIONS);
+		ExecutionResults<Integer, Integer> result = newDexecutor(taskProvider).execute(ExecutionConfig.TERMINATING);
+
+		assertSpawnedNodesExecuted(taskProvider, result);
+	}
+
+	@Test
+	public void testSpawnedNodesAreExecutedWithDecentralizedScheduling() throws Exception {
+		PartitioningTaskProvider taskProvider = new PartitioningTaskProvider(Spawn.PARTITIONS);
+		ExecutionResults<Integer, Integer> result = newDexecutor(taskProvider)
+				.executeAsync(ExecutionConfig.TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertSpawnedNodesExecuted(taskProvider, result);
+	}
+
+	@Test
+	public void testNodesSpawnedByFailedAttemptsAreDiscarded() {
+		PartitioningTaskProvider taskProvider = new PartitioningTaskProvider(Spawn.PARTITIONS);
+		taskProvider.failFirstAttempt = true;
+		ExecutionResults<Integer, Integer> result = newDexecutor(taskProvider).execute(new ExecutionConfig().immediateRetrying(2));
+
+		assertThat(taskProvider.executions.get(LIST)).isEqualTo(2);
+		assertSpawnedNodesExecuted(taskProvider, result);
+	}
+
+	@Test
+	public void testResultsOfSpawningNodesAreNotCached() {
+		LruResultCache<Integer, Integer> resultCache = new LruResultCache<>(100);
+		execute(new PartitioningTaskProvider(Spawn.PARTITIONS), resultCache);
+
+		PartitioningTaskProvider taskProvider = new PartitioningTaskProvider(Spawn.PARTITIONS);
+		ExecutionResults<Integer, Integer> result = execute(taskProvider, resultCache);
+
+		// the spawned nodes are cached, once spawned again
+		assertThat(taskProvider.executions).containsOnlyKeys(LIST);
+		assertThat(result.getSuccess()).hasSize(8);
+	}
+
+	@Test
+	public void testIdempotentTasksCanNotSpawn() {
+		PartitioningTaskProvider taskProvider = new PartitioningTaskProvider(Spawn.PARTITIONS);
+		taskProvider.idempotent = true;
+		ExecutionResults<Integer, Integer> result = newDexecutor(taskProvider).execute(ExecutionConfig.TERMINATING);
+
+		assertThat(result.getErrored()).hasSize(1);
+		assertThat(taskProvider.executions).containsOnlyKeys(LIST);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpawningAnExistingNodeShouldThrowException() {
+		newDexecutor(new PartitioningTaskProvider(Spawn.EXISTING)).execute(ExecutionConfig.TERMINATING);
+	}
+
+	@Test
+	public void testSpawningCycleFailsTheExecution() throws Exception {
+		try {
+			newDexecutor(new PartitioningTaskProvider(Spawn.CYCLE))
+					.executeAsync(ExecutionConfig.TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+			return;
+		}
+		throw new AssertionError("Cycle should fail the execution");
+	}
+
+	private void assertSpawnedNodesExecuted(final PartitioningTaskProvider taskProvider, final ExecutionResults<Integer, Integer> result) {
+		assertThat(result.getSuccess()).hasSize(8);
+		assertThat(taskProvider.executions).containsOnlyKeys(LIST, 2, 101, 102, 103, 104, 105, MERGE);
+		assertThat(taskProvider.results.get(101)).isEqualTo(101 + LIST);
+		// merged after all the partitions
+		assertThat(taskProvider.results.get(MERGE)).isEqualTo(MERGE + 5 * LIST + 101 + 102 + 103 + 104 + 105);
+		for (Integer id : taskProvider.executions.keySet()) {
+			if (id != LIST) {
+				assertThat(taskProvider.executions.get(id)).isEqualTo(1);
+			}
+		}
+	}
+
+	private ExecutionResults<Integer, Integer> execute(final PartitioningTaskProvider taskProvider, final ResultCache<Integer, Integer> resultCache) {
+		taskProvider.cacheable = true;
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(this.executorService, taskProvider);
+		config.setResultCache(resultCache);
+		return newDexecutor(config).execute(ExecutionConfig.TERMINATING);
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final PartitioningTaskProvider taskProvider) {
+		return newDexecutor(new DexecutorConfig<>(this.executorService, taskProvider));
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final DexecutorConfig<Integer, Integer> config) {
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addDependency(LIST, 2);
+		return executor;
+	}
+
+	private enum Spawn {
+		PARTITIONS, EXISTING, CYCLE
+	}
+
+	/**
+	 * Node 1 lists the partitions and spawns a node per partition, followed by a merge node. Result of a node is its id
+	 * plus the results of its parents.
+	 */
+	private static class PartitioningTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Integer> results = new ConcurrentHashMap<>();
+		private final Map<Integer, Integer> executions = new ConcurrentHashMap<>();
+		private final Spawn spawn;
+		private volatile boolean failFirstAttempt;
+		private volatile boolean idempotent;
+		private volatile boolean cacheable;
+
+		PartitioningTaskProvider(final Spawn spawn) {
+			this.spawn = spawn;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public boolean isIdempotent() {
+					return idempotent;
+				}
+
+				@Override
+				public String getInputsFingerprint() {
+					return cacheable ? "v1" : null;
+				}
+
+				public Integer execute() {
+					int attempt = executions.merge(id, 1, Integer::sum);
+					if (id == LIST) {
+						spawnPartitions();
+						if (failFirstAttempt && attempt == 1) {
+							throw new IllegalStateException("Listing failed");
+						}
+					}
+					int result = id;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						result += parent.getResult();
+					}
+					results.put(id, result);
+					return result;
+				}
+
+				private void spawnPartitions() {
+					switch (spawn) {
+					case EXISTING:
+						spawn(2);
+						break;
+					case CYCLE:
+						spawn(101, 102);
+						spawn(102, 101);
+						break;
+					default:
+						for (int partition = 101; partition <= 105; partition++) {
+							spawn(partition, MERGE);
+						}
+					}
+				}
+			};
+		}
+	}
+}
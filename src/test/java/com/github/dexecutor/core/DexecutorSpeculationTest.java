@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorSpeculationTest {
+
+	@Test
+	public void testStragglerIsSpeculated() {
+		assertSpeculated(false);
+	}
+
+	@Test
+	public void testStragglerIsSpeculatedWithDecentralizedScheduling() {
+		assertSpeculated(true);
+	}
+
+	@Test
+	public void testNonIdempotentTaskIsNotSpeculated() {
+		ExecutorService executorService = newExecutor();
+		try {
+			StragglingTaskProvider taskProvider = new StragglingTaskProvider(false, 300);
+			ExecutionResults<Integer, Integer> result = newDexecutor(executorService, taskProvider, false, 0).execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(3);
+			assertThat(taskProvider.stragglerAttempts.get()).isEqualTo(1);
+			assertThat(taskProvider.interrupted.get()).isEqualTo(0);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testStragglerIsNotSpeculatedWithoutASlot() {
+		ExecutorService executorService = newExecutor();
+		try {
+			StragglingTaskProvider taskProvider = new StragglingTaskProvider(true, 300);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider, false, 1);
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(3);
+			assertThat(taskProvider.stragglerAttempts.get()).isEqualTo(1);
+			assertThat(taskProvider.interrupted.get()).isEqualTo(0);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testStragglerIsNotSpeculatedWithoutAPermit() {
+		ExecutorService executorService = newExecutor();
+		try {
+			StragglingTaskProvider taskProvider = new StragglingTaskProvider(true, 300);
+			taskProvider.resourceTags = Collections.singleton("db");
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(executorService, taskProvider, false, 0);
+			ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(3);
+			assertThat(taskProvider.stragglerAttempts.get()).isEqualTo(1);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void thresholdIsThePercentileOfRecentDurations() {
+		SpeculationPolicy policy = new SpeculationPolicy(0.9, 10);
+		for (int i = 1; i <= 9; i++) {
+			policy.record("type", i);
+		}
+		assertThat(policy.threshold("type")).isNull();
+		policy.record("type", 10);
+		assertThat(policy.threshold("type").toNanos()).isEqualTo(9);
+		assertThat(policy.threshold("other")).isNull();
+	}
+
+	private void assertSpeculated(boolean decentralized) {
+		ExecutorService executorService = newExecutor();
+		try {
+			StragglingTaskProvider taskProvider = new StragglingTaskProvider(true, 10000);
+			long start = System.nanoTime();
+			ExecutionResults<Integer, Integer> result = newDexecutor(executorService, taskProvider, decentralized, 0).execute(ExecutionConfig.TERMINATING);
+
+			assertThat(result.getSuccess()).hasSize(3);
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+			assertThat(taskProvider.stragglerAttempts.get()).isEqualTo(2);
+			// the first attempt lost, and was cancelled, it notices the interrupt asynchronously
+			awaitInterrupt(taskProvider);
+			assertThat(taskProvider.interrupted.get()).isEqualTo(1);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private void awaitInterrupt(final StragglingTaskProvider taskProvider) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (taskProvider.interrupted.get() == 0 && System.nanoTime() < deadline) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+		}
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService, final StragglingTaskProvider taskProvider, boolean decentralized, int maxInFlight) {
+		SpeculationPolicy policy = new SpeculationPolicy();
+		for (int i = 0; i < 10; i++) {
+			policy.record(StragglingTaskProvider.TYPE, TimeUnit.MILLISECONDS.toNanos(20));
+		}
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+		config.setSpeculationPolicy(policy);
+		config.setDecentralizedScheduling(decentralized);
+		config.setMaxInFlight(maxInFlight);
+		config.setResourcePermits("db", 1);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addDependency(1, 2);
+		executor.addDependency(2, 3);
+		return executor;
+	}
+
+	private ExecutorService newExecutor() {
+		return Executors.newFixedThreadPool(4);
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			
+		}
+	}
+
+	/**
+	 * The first attempt of node 2 straggles, the following ones do not
+	 */
+	private static class StragglingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		static final String TYPE = "straggling";
+
+		private final boolean idempotent;
+		private final long straggleMillis;
+		private final AtomicInteger stragglerAttempts = new AtomicInteger();
+		private final AtomicInteger interrupted = new AtomicInteger();
+		private Set<String> resourceTags = Collections.emptySet();
+
+		StragglingTaskProvider(boolean idempotent, long straggleMillis) {
+			this.idempotent = idempotent;
+			this.straggleMillis = straggleMillis;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					if (id == 2 && stragglerAttempts.incrementAndGet() == 1) {
+						try {
+							Thread.sleep(straggleMillis);
+						} catch (InterruptedException e) {
+							interrupted.incrementAndGet();
+							Thread.currentThread().interrupt();
+						}
+					}
+					return id;
+				}
+
+				@Override
+				public boolean isIdempotent() {
+					return idempotent;
+				}
+
+				@Override
+				public String getType() {
+					return TYPE;
+				}
+
+				@Override
+				public Set<String> getResourceTags() {
+					return resourceTags;
+				}
+			};
+		}
+	}
+}
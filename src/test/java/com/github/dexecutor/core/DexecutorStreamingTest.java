@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class DexecutorStreamingTest {
+
+	@Test
+	public void testResultsAreStreamedInProcessingOrder() {
+		assertStreamedInProcessingOrder(false);
+	}
+
+	@Test
+	public void testResultsAreStreamedInProcessingOrderWithDecentralizedScheduling() {
+		assertStreamedInProcessingOrder(true);
+	}
+
+	private void assertStreamedInProcessingOrder(final boolean decentralized) {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, new CountingTaskProvider());
+			config.setDecentralizedScheduling(decentralized);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(config);
+
+			List<Integer> ids = new ArrayList<>();
+			try (ExecutionResultStream<Integer, Integer> stream = executor.executeStreaming(ExecutionConfig.TERMINATING, 1, true)) {
+				while (stream.hasNext()) {
+					ExecutionResult<Integer, Integer> result = stream.next();
+					assertThat(result.isSuccess()).isTrue();
+					ids.add(result.getId());
+				}
+			}
+
+			assertThat(ids).containsOnly(1, 2, 3, 4, 5);
+			assertThat(ids.indexOf(1)).isLessThan(ids.indexOf(2)).isLessThan(ids.indexOf(4));
+			assertThat(ids.indexOf(4)).isLessThan(ids.indexOf(5));
+			assertThat(config.getDexecutorState().getExecutionResults().getSuccess()).hasSize(5);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testSlowConsumerHoldsBackExecution() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(1);
+		try {
+			CountingTaskProvider taskProvider = new CountingTaskProvider();
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+			for (int i = 1; i < 10; i++) {
+				executor.addDependency(i, i + 1);
+			}
+
+			try (ExecutionResultStream<Integer, Integer> stream = executor.executeStreaming(ExecutionConfig.TERMINATING, 2, false)) {
+				TimeUnit.MILLISECONDS.sleep(300);
+				// two results are buffered, the driver waits to hand over the third, before submitting the fourth
+				assertThat(taskProvider.executions.get()).isEqualTo(3);
+
+				int count = 0;
+				while (stream.hasNext()) {
+					stream.next();
+					count++;
+				}
+				assertThat(count).isEqualTo(10);
+			}
+			assertThat(taskProvider.executions.get()).isEqualTo(10);
+			assertThat(config.getDexecutorState().getExecutionResults().getAll()).isEmpty();
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void testClosedStreamLetsExecutionComplete() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			CountingTaskProvider taskProvider = new CountingTaskProvider();
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, taskProvider);
+			DefaultDexecutor<Integer, Integer> executor = newDexecutor(config);
+
+			ExecutionResultStream<Integer, Integer> stream = executor.executeStreaming(ExecutionConfig.TERMINATING, 1, true);
+			assertThat(stream.hasNext()).isTrue();
+			stream.close();
+			assertThat(stream.hasNext()).isFalse();
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (config.getDexecutorState().getCurrentPhase() != Phase.TERMINATED && System.nanoTime() < deadline) {
+				TimeUnit.MILLISECONDS.sleep(5);
+			}
+			assertThat(config.getDexecutorState().getCurrentPhase()).isEqualTo(Phase.TERMINATED);
+			assertThat(taskProvider.executions.get()).isEqualTo(5);
+		} finally {
+			shutdown(executorService);
+		}
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final DexecutorConfig<Integer, Integer> config) {
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		executor.addDependency(2, 4);
+		executor.addDependency(3, 4);
+		executor.addDependency(4, 5);
+		return executor;
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	private static class CountingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final AtomicInteger executions = new AtomicInteger();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executions.incrementAndGet();
+					return id;
+				}
+			};
+		}
+	}
+}
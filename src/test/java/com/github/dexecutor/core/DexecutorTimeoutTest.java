@@ -24,8 +24,11 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
@@ -87,6 +90,46 @@ public class DexecutorTimeoutTest {
 		}
 	}
 
+	@Test
+	public void testTimedOutResultIsNotProcessedOnTheTimerThread() throws Exception {
+		ExecutorService executorService = newExecutor();
+		try {
+			DefaultDexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+			assertProcessedOffTheTimer(new DexecutorConfig<>(state, new DefaultExecutionEngine<>(state, executorService), new StuckTaskProvider()));
+		} finally {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void testTimedOutResultIsNotProcessedOnTheTimerThreadOfForkJoinEngine() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			DefaultDexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+			assertProcessedOffTheTimer(new DexecutorConfig<>(state, new ForkJoinExecutionEngine<>(state, pool), new StuckTaskProvider()));
+		} finally {
+			pool.shutdownNow();
+			pool.awaitTermination(1, TimeUnit.SECONDS);
+		}
+	}
+
+	private void assertProcessedOffTheTimer(final DexecutorConfig<Integer, Integer> config) throws Exception {
+		ThreadFactory timerThreads = runnable -> new Thread(runnable, "test-timer");
+		config.setSchedulerThreadFactory(timerThreads);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addIndependent(1);
+
+		// completed by the thread which processed the last result
+		CompletionStage<String> processedBy = executor.executeAsync(ExecutionConfig.TERMINATING)
+				.thenApply(result -> {
+					assertThat(result.anyCancelled()).isTrue();
+					return Thread.currentThread().getName();
+				});
+
+		assertThat(processedBy.toCompletableFuture().get(5, TimeUnit.SECONDS)).isNotEqualTo("test-timer");
+	}
+
 	private Collection<Node<Integer, Integer>> executionOrderExpectedResult() {
 		List<Node<Integer, Integer>> result = new ArrayList<Node<Integer, Integer>>();
 		result.add(new Node<Integer, Integer>(1));
@@ -100,6 +143,31 @@ public class DexecutorTimeoutTest {
 		return Executors.newFixedThreadPool(7);
 	}
 
+	private static class StuckTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					try {
+						TimeUnit.SECONDS.sleep(10);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return id;
+				}
+
+				@Override
+				public Duration getTimeout() {
+					return Duration.ofMillis(50);
+				}
+			};
+		}
+	}
+
 	private static class SleepyTaskProvider implements TaskProvider<Integer, Integer> {
 		
 		public Task<Integer, Integer> provideTask(final Integer id) {
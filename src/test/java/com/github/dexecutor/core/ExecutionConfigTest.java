@@ -3,6 +3,8 @@ package com.github.dexecutor.core;
 import static org.junit.Assert.*;
 import static org.hamcrest.CoreMatchers.*;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
 public class ExecutionConfigTest {
@@ -19,6 +21,20 @@ public class ExecutionConfigTest {
 		assertThat(config.getExecutionBehavior(), equalTo(ExecutionBehavior.IMMEDIATE_RETRY_TERMINATING));
 	}
 	
+	@Test
+	public void terminatingIsNotRetrying() {
+		ExecutionConfig config = new ExecutionConfig().immediateRetrying(2).terminating();
+		assertThat(config.getRetryPolicy(), nullValue());
+		assertThat(config.getRetryCount(), equalTo(0));
+	}
+
+	@Test
+	public void nonTerminatingIsNotRetrying() {
+		ExecutionConfig config = new ExecutionConfig().scheduledRetrying(2, new Duration(1, TimeUnit.SECONDS)).nonTerminating();
+		assertThat(config.getRetryPolicy(), nullValue());
+		assertThat(config.shouldRetry(1), equalTo(false));
+	}
+
 	@Test
 	public void isNonterminating() {
 		ExecutionConfig config = ExecutionConfig.NON_TERMINATING;
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.dexecutor.core.graph.DefaultDag;
+import com.github.dexecutor.core.task.AsyncTask;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class ExecutionPlanTest {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	@After
+	public void shutdown() throws InterruptedException {
+		this.executorService.shutdownNow();
+		this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testConcurrentExecutionsOfAPlanAreIndependent() throws Exception {
+		DefaultDag<Integer, Integer> graph = newGraph();
+		ExecutionPlan<Integer, Integer> plan = ExecutionPlan.compile(graph);
+		// the plan is frozen
+		graph.addDependency(5, 6);
+		assertThat(plan.size()).isEqualTo(5);
+		assertThat(plan.dependencyCount()).isEqualTo(5);
+		assertThat(plan.contains(6)).isFalse();
+
+		List<CompletableFuture<ExecutionResults<Integer, Integer>>> executions = new ArrayList<>();
+		for (int offset = 0; offset < 50; offset++) {
+			executions.add(plan.execute(this.executorService, new SummingTaskProvider(offset, -1, -1), ExecutionConfig.TERMINATING).toCompletableFuture());
+		}
+		for (int offset = 0; offset < executions.size(); offset++) {
+			ExecutionResults<Integer, Integer> result = executions.get(offset).get(5, TimeUnit.SECONDS);
+			assertThat(result.getSuccess()).hasSize(5);
+			// each node adds the offset of its execution, node 4 sums both the branches
+			assertThat(resultOf(result, 5)).isEqualTo(5 + 4 + 3 + 4 + 6 * offset);
+		}
+	}
+
+	@Test
+	public void testTerminatingExecutionStopsAfterError() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider(0, 2, -1);
+		ExecutionResults<Integer, Integer> result = ExecutionPlan.compile(newGraph())
+				.execute(this.executorService, taskProvider, ExecutionConfig.TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getErrored()).hasSize(1);
+		assertThat(taskProvider.executed).doesNotContainKeys(4, 5);
+	}
+
+	@Test
+	public void testNonTerminatingExecutionContinuesAfterError() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider(0, 2, -1);
+		ExecutionResults<Integer, Integer> result = ExecutionPlan.compile(newGraph())
+				.execute(this.executorService, taskProvider, ExecutionConfig.NON_TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getErrored()).hasSize(1);
+		assertThat(result.getSuccess()).hasSize(4);
+		assertThat(taskProvider.executed).containsKeys(4, 5);
+	}
+
+	@Test
+	public void testSkippedNodesAreProcessed() throws Exception {
+		SummingTaskProvider taskProvider = new SummingTaskProvider(0, -1, 3);
+		ExecutionResults<Integer, Integer> result = ExecutionPlan.compile(newGraph())
+				.execute(this.executorService, taskProvider, ExecutionConfig.TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getSkipped()).hasSize(1);
+		assertThat(taskProvider.executed).doesNotContainKey(3);
+		assertThat(resultOf(result, 4)).isEqualTo(4 + 3);
+	}
+
+	@Test
+	public void testEmptyPlanCompletes() throws Exception {
+		ExecutionResults<Integer, Integer> result = ExecutionPlan.compile(new DefaultDag<Integer, Integer>())
+				.execute(this.executorService, new SummingTaskProvider(0, -1, -1), ExecutionConfig.TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getAll()).isEmpty();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCyclicGraphShouldNotCompile() {
+		DefaultDag<Integer, Integer> graph = newGraph();
+		graph.addDependency(5, 1);
+		ExecutionPlan.compile(graph);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRetryingConfigIsRejected() {
+		ExecutionPlan.compile(newGraph()).execute(this.executorService, new SummingTaskProvider(0, -1, -1), new ExecutionConfig().immediateRetrying(2));
+	}
+
+	@Test
+	public void testAsyncTaskThrowingSynchronouslyIsErrored() throws Exception {
+		ExecutionResults<Integer, Integer> result = ExecutionPlan.compile(newGraph()).execute(this.executorService, id -> new AsyncTask<Integer, Integer>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public CompletionStage<Integer> executeAsync() {
+				if (id == 4) {
+					throw new IllegalStateException("Failing node " + id);
+				}
+				return CompletableFuture.completedFuture(id);
+			}
+		}, ExecutionConfig.NON_TERMINATING).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getErrored()).hasSize(1);
+		assertThat(result.getSuccess()).hasSize(4);
+	}
+
+	@Test
+	public void testTaskWithTimeoutFailsTheExecution() throws Exception {
+		CompletableFuture<ExecutionResults<Integer, Integer>> execution = ExecutionPlan.compile(newGraph()).execute(this.executorService, id -> new Task<Integer, Integer>() {
+
+			private static final long serialVersionUID = 1L;
+
+			public Integer execute() {
+				return id;
+			}
+
+			@Override
+			public Duration getTimeout() {
+				return id == 3 ? Duration.ofSeconds(1) : null;
+			}
+		}, ExecutionConfig.TERMINATING).toCompletableFuture();
+
+		try {
+			execution.get(5, TimeUnit.SECONDS);
+			fail("Task with a timeout should fail the execution");
+		} catch (ExecutionException e) {
+			assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	private DefaultDag<Integer, Integer> newGraph() {
+		DefaultDag<Integer, Integer> graph = new DefaultDag<>();
+		graph.addDependency(1, 2);
+		graph.addDependency(1, 3);
+		graph.addDependency(2, 4);
+		graph.addDependency(3, 4);
+		graph.addDependency(4, 5);
+		return graph;
+	}
+
+	private Integer resultOf(final ExecutionResults<Integer, Integer> results, final Integer id) {
+		for (ExecutionResult<Integer, Integer> result : results.getAll()) {
+			if (result.getId().equals(id)) {
+				return result.getResult();
+			}
+		}
+		throw new AssertionError("No result for " + id);
+	}
+
+	/**
+	 * Result of a node is its id and the offset plus the results of its parents
+	 */
+	private static class SummingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final Map<Integer, Boolean> executed = new ConcurrentHashMap<>();
+		private final int offset;
+		private final int failingNode;
+		private final int skippedNode;
+
+		SummingTaskProvider(final int offset, final int failingNode, final int skippedNode) {
+			this.offset = offset;
+			this.failingNode = failingNode;
+			this.skippedNode = skippedNode;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					executed.put(id, true);
+					if (id == failingNode) {
+						throw new IllegalStateException("Failing node " + id);
+					}
+					int result = id + offset;
+					for (ExecutionResult<Integer, Integer> parent : getParentResults().getAll()) {
+						if (parent.isSuccess()) {
+							result += parent.getResult();
+						}
+					}
+					return result;
+				}
+
+				@Override
+				public boolean shouldExecute(final ExecutionResults<Integer, Integer> parentResults) {
+					return id != skippedNode;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.dexecutor.core.graph.Node;
+import com.github.dexecutor.core.support.TestUtil;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class ForkJoinExecutionEngineTest {
+
+	private ForkJoinPool pool;
+
+	@Before
+	public void setUp() {
+		this.pool = new ForkJoinPool(4);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		this.pool.shutdownNow();
+		this.pool.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testCoordinatedExecution() {
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(false, new QuiteExecutionListener<Integer, Integer>());
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+		assertThat(result.getSuccess()).hasSize(13);
+		assertThat(result.getErrored()).hasSize(1);
+	}
+
+	@Test
+	public void testDecentralizedExecution() {
+		final AtomicInteger successCount = new AtomicInteger();
+		final AtomicInteger errorCount = new AtomicInteger();
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(true, new ExecutionListener<Integer, Integer>() {
+
+			@Override
+			public void onSuccess(Task<Integer, Integer> task) {
+				successCount.incrementAndGet();
+			}
+
+			@Override
+			public void onError(Task<Integer, Integer> task, Exception exception) {
+				errorCount.incrementAndGet();
+			}
+		});
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+		Collection<Node<Integer, Integer>> processedNodesOrder = TestUtil.processedNodesOrder(executor);
+		assertThat(processedNodesOrder).hasSize(13);
+		assertThat(result.getSuccess()).hasSize(13);
+		assertThat(successCount.get()).isEqualTo(13);
+		assertThat(errorCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testTimedOutTaskIsCancelled() {
+		DefaultDexecutor<Integer, Integer> executor = newDexecutor(true, null);
+		executor.addDependency(13, 15);
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.NON_TERMINATING);
+
+		assertThat(result.anyCancelled()).isTrue();
+		assertThat(result.getCancelled().get(0).getId()).isEqualTo(15);
+	}
+
+	@Test
+	public void testInterruptNotCausedByTimeoutIsKept() throws Exception {
+		DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+		ForkJoinExecutionEngine<Integer, Integer> engine = new ForkJoinExecutionEngine<>(state, this.pool);
+		final CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+		engine.setResultHandler(result -> interrupted.complete(Thread.currentThread().isInterrupted()));
+
+		Task<Integer, Integer> task = new Task<Integer, Integer>() {
+
+			private static final long serialVersionUID = 1L;
+
+			public Integer execute() {
+				Thread.currentThread().interrupt();
+				return 1;
+			}
+		};
+		task.setId(1);
+		engine.submit(task);
+
+		// the result is pushed on the worker which ran the task
+		assertThat(interrupted.get(1, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final boolean decentralized, final ExecutionListener<Integer, Integer> listener) {
+		DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+		ForkJoinExecutionEngine<Integer, Integer> engine = new ForkJoinExecutionEngine<>(state, this.pool, listener);
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(state, engine, new FailingTaskProvider());
+		config.setDecentralizedScheduling(decentralized);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+		for (int i = 1; i < 10; i++) {
+			executor.addDependency(i, i + 1);
+			executor.addDependency(i, i + 5);
+		}
+		return executor;
+	}
+
+	private static class FailingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					if (id == 14) {
+						throw new IllegalArgumentException("Invalid task");
+					}
+					if (id == 15) {
+						try {
+							TimeUnit.SECONDS.sleep(10);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					return id;
+				}
+
+				@Override
+				public Duration getTimeout() {
+					return id == 15 ? Duration.ofMillis(20) : null;
+				}
+			};
+		}
+	}
+}
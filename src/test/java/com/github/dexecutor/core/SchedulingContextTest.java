@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class SchedulingContextTest {
+
+	@Test
+	public void shouldNotCreateThreadsUnlessRetriesOrTimeoutsAreUsed() {
+		CountingThreadFactory threadFactory = new CountingThreadFactory();
+		SchedulingContext context = new SchedulingContext(threadFactory);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 10; i++) {
+				ExecutionResults<Integer, Integer> result = newDexecutor(executorService, context, false).execute(ExecutionConfig.TERMINATING);
+				assertThat(result.getSuccess()).hasSize(3);
+			}
+			assertThat(threadFactory.created.get()).isEqualTo(0);
+		} finally {
+			context.shutdown();
+			shutdown(executorService);
+		}
+	}
+
+	@Test
+	public void shouldBeSharedAcrossInstances() {
+		CountingThreadFactory threadFactory = new CountingThreadFactory();
+		SchedulingContext context = new SchedulingContext(threadFactory);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 10; i++) {
+				ExecutionResults<Integer, Integer> result = newDexecutor(executorService, context, true).execute(ExecutionConfig.TERMINATING);
+				assertThat(result.anyCancelled()).isTrue();
+			}
+			assertThat(context.isShutdown()).isFalse();
+			// the timer thread, started once
+			assertThat(threadFactory.created.get()).isEqualTo(1);
+		} finally {
+			context.shutdown();
+			shutdown(executorService);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldRejectRetriesOnceShutdown() {
+		SchedulingContext context = new SchedulingContext(new CountingThreadFactory());
+		context.shutdown();
+		context.getImmediateRetryExecutor();
+	}
+
+	private DefaultDexecutor<Integer, Integer> newDexecutor(final ExecutorService executorService, final SchedulingContext context, boolean timeouts) {
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, new TimedTaskProvider(timeouts));
+		config.setSchedulingContext(context);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<Integer, Integer>(config);
+		executor.addDependency(1, 2);
+		executor.addDependency(1, 3);
+		return executor;
+	}
+
+	private void shutdown(final ExecutorService executorService) {
+		try {
+			executorService.shutdownNow();
+			executorService.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+
+		}
+	}
+
+	private static class CountingThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger created = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			this.created.incrementAndGet();
+			Thread thread = new Thread(r);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * With timeouts, node 3 sleeps beyond its timeout
+	 */
+	private static class TimedTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final boolean timeouts;
+
+		TimedTaskProvider(boolean timeouts) {
+			this.timeouts = timeouts;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					if (timeouts && id == 3) {
+						try {
+							Thread.sleep(1000);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					return id;
+				}
+
+				@Override
+				public Duration getTimeout() {
+					return timeouts ? Duration.ofMillis(50) : null;
+				}
+			};
+		}
+	}
+}
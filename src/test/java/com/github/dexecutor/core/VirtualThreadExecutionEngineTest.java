@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.github.dexecutor.core.support.VirtualThreads;
+
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class VirtualThreadExecutionEngineTest {
+
+	private static final int MAX_CONCURRENCY = 20;
+
+	@Test
+	public void testConcurrencyIsBounded() {
+		BlockingTaskProvider taskProvider = new BlockingTaskProvider();
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(DexecutorConfig.newVirtualThreadConfig(taskProvider, MAX_CONCURRENCY));
+		for (int i = 0; i < 200; i++) {
+			executor.addIndependent(i);
+		}
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+		assertThat(result.getSuccess()).hasSize(200);
+		assertThat(taskProvider.maxRunning.get()).isLessThanOrEqualTo(MAX_CONCURRENCY);
+	}
+
+	@Test
+	public void testDecentralizedExecution() {
+		DexecutorConfig<Integer, Integer> config = DexecutorConfig.newVirtualThreadConfig(new BlockingTaskProvider(), MAX_CONCURRENCY);
+		config.setDecentralizedScheduling(true);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+		for (int i = 0; i < 50; i++) {
+			executor.addDependency(i, i + 1);
+			executor.addDependency(i, i + 50);
+		}
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+		assertThat(result.getSuccess()).hasSize(100);
+	}
+
+	@Test
+	public void testPlatformThreadsAreBoundedWithoutVirtualThreads() {
+		Assume.assumeFalse(VirtualThreads.isSupported());
+		BlockingTaskProvider taskProvider = new BlockingTaskProvider();
+		DexecutorState<Integer, Integer> state = new DefaultDexecutorState<>();
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(new DexecutorConfig<>(state, new VirtualThreadExecutionEngine<>(state), taskProvider));
+		for (int i = 0; i < 200; i++) {
+			executor.addIndependent(i);
+		}
+
+		ExecutionResults<Integer, Integer> result = executor.execute(ExecutionConfig.TERMINATING);
+
+		assertThat(result.getSuccess()).hasSize(200);
+		assertThat(taskProvider.threads.size()).isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors());
+	}
+
+	private static class BlockingTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+		private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					threads.add(Thread.currentThread());
+					int current = running.incrementAndGet();
+					maxRunning.accumulateAndGet(current, Math::max);
+					try {
+						TimeUnit.MILLISECONDS.sleep(5);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						running.decrementAndGet();
+					}
+					return id;
+				}
+			};
+		}
+	}
+}
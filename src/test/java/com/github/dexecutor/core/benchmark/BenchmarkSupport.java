@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.benchmark;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Support class for benchmarks, which are plain {@code main} programs and are not run as part of the build
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+final class BenchmarkSupport {
+
+	private BenchmarkSupport() {
+
+	}
+
+	/**
+	 * Test logging configuration is at trace level, which would otherwise dominate the measurements
+	 */
+	static void quietLogging() {
+		Logger logger = (Logger) LoggerFactory.getLogger("com.github.dexecutor");
+		logger.setLevel(Level.WARN);
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dexecutor.core.DefaultDexecutor;
+import com.github.dexecutor.core.DexecutorConfig;
+import com.github.dexecutor.core.ExecutionConfig;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * Compares the makespan of FIFO scheduling with critical path scheduling, on random graphs whose task durations are
+ * skewed (a few long tasks among many short ones) and executed on a saturated pool. Tasks sleep for their cost, and the
+ * critical path scheduler is given the exact costs as hints.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.CriticalPathBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class CriticalPathBenchmark {
+
+	private static final int NODES = 300;
+	private static final int WORKERS = 4;
+	private static final int MAX_PARENTS = 3;
+	private static final int SEEDS = 5;
+	private static final int PARENT_WINDOW = 30;
+
+	private CriticalPathBenchmark() {
+
+	}
+
+	public static void main(String[] args) {
+		BenchmarkSupport.quietLogging();
+		// warm up
+		run(new RandomGraph(0), false);
+		run(new RandomGraph(0), true);
+
+		System.out.println(String.format("%6s %12s %12s %12s %12s %10s", "seed", "bound(ms)", "critical(ms)", "fifo(ms)", "cp-sched(ms)", "reduction"));
+		long totalFifo = 0;
+		long totalCriticalPath = 0;
+		for (int seed = 1; seed <= SEEDS; seed++) {
+			RandomGraph graph = new RandomGraph(seed);
+			long fifo = run(graph, false);
+			long criticalPath = run(graph, true);
+			totalFifo += fifo;
+			totalCriticalPath += criticalPath;
+			System.out.println(String.format("%6d %12d %12d %12d %12d %9.1f%%", seed, graph.lowerBound(), graph.criticalPathLength(), fifo, criticalPath,
+					100.0 * (fifo - criticalPath) / fifo));
+		}
+		System.out.println(String.format("%6s %12s %12s %12d %12d %9.1f%%", "total", "", "", totalFifo, totalCriticalPath,
+				100.0 * (totalFifo - totalCriticalPath) / totalFifo));
+	}
+
+	private static long run(final RandomGraph graph, final boolean criticalPath) {
+		ExecutorService executorService = Executors.newFixedThreadPool(WORKERS);
+		try {
+			DexecutorConfig<Integer, Integer> config = criticalPath
+					? DexecutorConfig.newCriticalPathConfig(executorService, graph, id -> graph.costs[id])
+					: new DexecutorConfig<>(executorService, graph);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+			graph.build(executor);
+
+			long start = System.nanoTime();
+			executor.execute(ExecutionConfig.TERMINATING);
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Nodes are numbered in a topological order, every node depends on up to {@link #MAX_PARENTS} of the
+	 * {@link #PARENT_WINDOW} preceding nodes, which yields deep graphs with long chains. Roughly
+	 * one in twenty tasks is long (20 to 60 ms), rest take a millisecond.
+	 */
+	private static final class RandomGraph implements TaskProvider<Integer, Integer> {
+
+		private final long[] costs = new long[NODES];
+		private final int[][] parents = new int[NODES][];
+
+		RandomGraph(final long seed) {
+			Random random = new Random(seed);
+			for (int i = 0; i < NODES; i++) {
+				this.costs[i] = random.nextInt(20) == 0 ? 20 + random.nextInt(41) : 1;
+				int count = i == 0 ? 0 : random.nextInt(MAX_PARENTS + 1);
+				this.parents[i] = new int[count];
+				for (int p = 0; p < count; p++) {
+					this.parents[i][p] = i - 1 - random.nextInt(Math.min(i, PARENT_WINDOW));
+				}
+			}
+		}
+
+		void build(final DefaultDexecutor<Integer, Integer> executor) {
+			for (int i = 0; i < NODES; i++) {
+				if (this.parents[i].length == 0) {
+					executor.addIndependent(i);
+				}
+				for (int parent : this.parents[i]) {
+					executor.addDependency(parent, i);
+				}
+			}
+		}
+
+		/**
+		 * @return makespan no schedule can beat, the larger of critical path length and total work per worker
+		 */
+		long lowerBound() {
+			long work = 0;
+			for (long cost : this.costs) {
+				work += cost;
+			}
+			return Math.max(criticalPathLength(), work / WORKERS);
+		}
+
+		long criticalPathLength() {
+			long[] finish = new long[NODES];
+			long max = 0;
+			for (int i = 0; i < NODES; i++) {
+				long start = 0;
+				for (int parent : this.parents[i]) {
+					start = Math.max(start, finish[parent]);
+				}
+				finish[i] = start + this.costs[i];
+				max = Math.max(max, finish[i]);
+			}
+			return max;
+		}
+
+		@Override
+		public Task<Integer, Integer> provideTask(final Integer id) {
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Integer execute() {
+					try {
+						TimeUnit.MILLISECONDS.sleep(costs[id]);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return id;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+import com.github.dexecutor.core.graph.CompactDag;
+import com.github.dexecutor.core.graph.Dag;
+import com.github.dexecutor.core.graph.DefaultDag;
+import com.github.dexecutor.core.graph.LongDag;
+import com.github.dexecutor.core.graph.Node;
+
+/**
+ * Measures the retained heap of graphs of 500k nodes with {@code long} ids, kept by {@link DefaultDag}, by
+ * {@link CompactDag} and by {@link LongDag} once compacted, without dependencies and with 5 parents per node. Also
+ * measures the bytes allocated per lookup of a node by its id. The heap used after a full gc is sampled, hence run it
+ * with enough heap and nothing else going on.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.DagMemoryBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class DagMemoryBenchmark {
+
+	private static final int NODES = 500000;
+	private static final int PARENTS = 5;
+	// ids beyond the cache of boxed longs
+	private static final long FIRST_ID = 1L << 32;
+
+	private DagMemoryBenchmark() {
+
+	}
+
+	public static void main(String[] args) {
+		BenchmarkSupport.quietLogging();
+		System.out.println(String.format("%-10s %12s %12s %12s %16s", "graph", "MB", "bytes/node", "bytes/edge", "bytes/lookup"));
+		for (int i = 0; i < 2; i++) {
+			for (String kind : new String[] {"default", "compact", "long"}) {
+				long nodesOnly = measure(kind, 0)[0];
+				long[] withEdges = measure(kind, PARENTS);
+				long edges = (long) (NODES - PARENTS) * PARENTS;
+				System.out.println(String.format("%-10s %12.1f %12.1f %12.1f %16.1f", kind, withEdges[0] / (1024.0 * 1024.0),
+						nodesOnly / (double) NODES, (withEdges[0] - nodesOnly) / (double) edges, withEdges[1] / (double) NODES));
+			}
+		}
+	}
+
+	private static long[] measure(String kind, int parents) {
+		long before = usedHeap();
+		Dag<Long, Long> graph = build(kind, parents);
+		// compacts, and creates the nodes
+		graph.getInitialNodes();
+		long used = usedHeap() - before;
+		if (graph.size() != NODES) {
+			throw new IllegalStateException("Graph of " + graph.size() + " nodes");
+		}
+		long allocated = allocatedBytes();
+		int found = 0;
+		for (int i = 0; i < NODES; i++) {
+			long id = FIRST_ID + i;
+			Node<Long, Long> node = graph instanceof LongDag ? ((LongDag<Long>) graph).get(id) : graph.get(id);
+			found += node == null ? 0 : 1;
+		}
+		allocated = allocatedBytes() - allocated;
+		if (found != NODES) {
+			throw new IllegalStateException("Found " + found + " nodes");
+		}
+		return new long[] {used, allocated};
+	}
+
+	private static Dag<Long, Long> build(String kind, int parents) {
+		if ("long".equals(kind)) {
+			LongDag<Long> graph = new LongDag<Long>();
+			for (int i = 0; i < NODES; i++) {
+				graph.addIndependent(FIRST_ID + i);
+			}
+			for (int i = PARENTS; i < NODES; i++) {
+				for (int p = 1; p <= parents; p++) {
+					graph.addDependency(FIRST_ID + i - p, FIRST_ID + i);
+				}
+			}
+			return graph;
+		}
+		Dag<Long, Long> graph = "compact".equals(kind) ? new CompactDag<Long, Long>() : new DefaultDag<Long, Long>();
+		for (int i = 0; i < NODES; i++) {
+			graph.addIndependent(FIRST_ID + i);
+		}
+		for (int i = PARENTS; i < NODES; i++) {
+			for (int p = 1; p <= parents; p++) {
+				graph.addDependency(FIRST_ID + i - p, FIRST_ID + i);
+			}
+		}
+		return graph;
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.github.dexecutor.core.DefaultDexecutor;
+import com.github.dexecutor.core.DexecutorConfig;
+import com.github.dexecutor.core.ExecutionConfig;
+import com.github.dexecutor.core.ExecutionPlan;
+import com.github.dexecutor.core.graph.DefaultDag;
+import com.github.dexecutor.core.graph.DependencyAware;
+import com.github.dexecutor.core.task.ExecutionResults;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * Measures runs of the same graph of 2000 no-op tasks, rebuilding and validating a {@link DefaultDexecutor} per run,
+ * against executions of a plan compiled once. Runs are measured one at a time, and with 8 runs in flight.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.ExecutionPlanBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class ExecutionPlanBenchmark {
+
+	private static final int NODES = 2000;
+	private static final int RUNS = 200;
+
+	private ExecutionPlanBenchmark() {
+
+	}
+
+	public static void main(String[] args) throws Exception {
+		BenchmarkSupport.quietLogging();
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		ExecutorService requests = Executors.newFixedThreadPool(8);
+		try {
+			DefaultDag<Integer, Integer> graph = new DefaultDag<>();
+			build(graph);
+			ExecutionPlan<Integer, Integer> plan = ExecutionPlan.compile(graph);
+			System.out.println(String.format("%-10s %-12s %14s", "in flight", "executor", "micros/run"));
+			for (int inFlight : new int[] {1, 8}) {
+				// warm up
+				run(executorService, requests, plan, inFlight, false, false);
+				run(executorService, requests, plan, inFlight, true, false);
+				run(executorService, requests, plan, inFlight, false, true);
+				run(executorService, requests, plan, inFlight, true, true);
+			}
+		} finally {
+			requests.shutdownNow();
+			executorService.shutdownNow();
+		}
+	}
+
+	private static void run(ExecutorService executorService, ExecutorService requests, ExecutionPlan<Integer, Integer> plan,
+			int inFlight, boolean compiled, boolean print) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i += inFlight) {
+			List<CompletableFuture<ExecutionResults<Integer, Integer>>> runs = new ArrayList<>();
+			for (int j = 0; j < inFlight; j++) {
+				if (compiled) {
+					runs.add(plan.execute(executorService, new NoOpTaskProvider(), ExecutionConfig.TERMINATING).toCompletableFuture());
+				} else {
+					runs.add(CompletableFuture.supplyAsync(() -> rebuildAndExecute(executorService), requests));
+				}
+			}
+			for (CompletableFuture<ExecutionResults<Integer, Integer>> run : runs) {
+				run.get();
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (print) {
+			System.out.println(String.format("%-10d %-12s %14.2f", inFlight, compiled ? "plan" : "dexecutor", elapsed / 1000.0 / RUNS));
+		}
+	}
+
+	private static ExecutionResults<Integer, Integer> rebuildAndExecute(ExecutorService executorService) {
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(new DexecutorConfig<>(executorService, new NoOpTaskProvider()));
+		build(executor);
+		return executor.execute(ExecutionConfig.TERMINATING);
+	}
+
+	// layered graph, each node depends on two nodes of the previous layer of 50
+	private static void build(DependencyAware<Integer> graph) {
+		Random random = new Random(7);
+		int width = 50;
+		for (int i = 0; i < width; i++) {
+			graph.addIndependent(i);
+		}
+		for (int i = width; i < NODES; i++) {
+			int layer = i / width;
+			graph.addDependency((layer - 1) * width + random.nextInt(width), i);
+			graph.addDependency((layer - 1) * width + random.nextInt(width), i);
+		}
+	}
+
+	private static class NoOpTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					return id;
+				}
+			};
+		}
+	}
+}
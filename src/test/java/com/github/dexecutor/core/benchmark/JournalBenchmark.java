@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.benchmark;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.github.dexecutor.core.DefaultDexecutor;
+import com.github.dexecutor.core.DefaultDexecutorState;
+import com.github.dexecutor.core.DefaultExecutionEngine;
+import com.github.dexecutor.core.DexecutorConfig;
+import com.github.dexecutor.core.DexecutorState;
+import com.github.dexecutor.core.ExecutionConfig;
+import com.github.dexecutor.core.JournalCodec;
+import com.github.dexecutor.core.JournalingDexecutorState;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * Measures the journaling overhead per node, of a graph of no-op tasks, without a journal, with a journal using java
+ * serialization and with one using a compact int codec. Nodes processed between two submissions share a force of the
+ * journal, hence the overhead is reported for centralized and decentralized scheduling, with a single thread and with a
+ * pool of 8.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.JournalBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class JournalBenchmark {
+
+	private static final int NODES = 5000;
+
+	private JournalBenchmark() {
+
+	}
+
+	public static void main(String[] args) throws IOException {
+		BenchmarkSupport.quietLogging();
+		Path journal = Files.createTempFile("dexecutor", ".journal");
+		try {
+			System.out.println(String.format("%-15s %-10s %-14s %14s", "scheduling", "threads", "state", "micros/node"));
+			for (boolean decentralized : new boolean[] {false, true}) {
+				for (int threads : new int[] {1, 8}) {
+					ExecutorService executorService = Executors.newFixedThreadPool(threads);
+					try {
+						// warm up
+						run(executorService, threads, decentralized, journal, "serializing", false);
+						for (String state : new String[] {"in memory", "serializing", "int codec"}) {
+							run(executorService, threads, decentralized, journal, state, true);
+						}
+					} finally {
+						executorService.shutdownNow();
+					}
+				}
+			}
+		} finally {
+			Files.deleteIfExists(journal);
+		}
+	}
+
+	private static void run(ExecutorService executorService, int threads, boolean decentralized, Path journal, String stateName, boolean print) {
+		DexecutorState<Integer, Integer> state = newState(stateName, journal);
+		DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(state, new DefaultExecutionEngine<>(state, executorService), new NoOpTaskProvider());
+		config.setDecentralizedScheduling(decentralized);
+		DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+		// wide, three level graph, so that many nodes finish concurrently and most of them release a child
+		for (int i = 1; i <= NODES / 2; i++) {
+			executor.addDependency(0, i);
+			if (i + NODES / 2 < NODES) {
+				executor.addDependency(i, i + NODES / 2);
+			}
+		}
+		long start = System.nanoTime();
+		executor.execute(ExecutionConfig.TERMINATING);
+		long elapsed = System.nanoTime() - start;
+		if (print) {
+			System.out.println(String.format("%-15s %-10d %-14s %14.2f", decentralized ? "decentralized" : "centralized", threads,
+					stateName, elapsed / 1000.0 / NODES));
+		}
+	}
+
+	private static DexecutorState<Integer, Integer> newState(String name, Path journal) {
+		if ("in memory".equals(name)) {
+			return new DefaultDexecutorState<>();
+		} else if ("serializing".equals(name)) {
+			return new JournalingDexecutorState<>(journal);
+		}
+		return new JournalingDexecutorState<>(journal, new IntCodec());
+	}
+
+	private static class IntCodec implements JournalCodec<Integer, Integer> {
+
+		@Override
+		public void writeId(DataOutput out, Integer id) throws IOException {
+			out.writeInt(id);
+		}
+
+		@Override
+		public Integer readId(DataInput in) throws IOException {
+			return in.readInt();
+		}
+
+		@Override
+		public void writeResult(DataOutput out, Integer result) throws IOException {
+			out.writeInt(result);
+		}
+
+		@Override
+		public Integer readResult(DataInput in) throws IOException {
+			return in.readInt();
+		}
+	}
+
+	private static class NoOpTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					return id;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.benchmark;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dexecutor.core.DefaultDexecutor;
+import com.github.dexecutor.core.DexecutorConfig;
+import com.github.dexecutor.core.ExecutionConfig;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * Measures coordinator time for fan-in heavy layered graphs of growing size, with no-op tasks so that
+ * readiness tracking dominates. Time per edge should stay flat as the edge count grows.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.ReadinessBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class ReadinessBenchmark {
+
+	private static final int FAN_IN = 8;
+	private static final int LAYER_WIDTH = 1000;
+
+	private ReadinessBenchmark() {
+
+	}
+
+	public static void main(String[] args) {
+		BenchmarkSupport.quietLogging();
+		// warm up
+		run(5);
+		System.out.println(String.format("%10s %10s %10s %12s", "nodes", "edges", "millis", "ns/edge"));
+		for (int layers = 10; layers <= 80; layers *= 2) {
+			run(layers);
+		}
+	}
+
+	private static void run(int layers) {
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, new NoOpTaskProvider());
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+			int edges = buildLayeredGraph(executor, layers);
+
+			long start = System.nanoTime();
+			executor.execute(ExecutionConfig.TERMINATING);
+			long elapsed = System.nanoTime() - start;
+
+			System.out.println(String.format("%10d %10d %10d %12d", layers * LAYER_WIDTH, edges,
+					TimeUnit.NANOSECONDS.toMillis(elapsed), elapsed / edges));
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private static int buildLayeredGraph(DefaultDexecutor<Integer, Integer> executor, int layers) {
+		Random random = new Random(layers);
+		int edges = 0;
+		for (int layer = 1; layer < layers; layer++) {
+			for (int i = 0; i < LAYER_WIDTH; i++) {
+				int child = layer * LAYER_WIDTH + i;
+				Set<Integer> parents = new HashSet<>();
+				while (parents.size() < FAN_IN) {
+					parents.add((layer - 1) * LAYER_WIDTH + random.nextInt(LAYER_WIDTH));
+				}
+				for (Integer parent : parents) {
+					executor.addDependency(parent, child);
+				}
+				edges += parents.size();
+			}
+		}
+		return edges;
+	}
+
+	private static class NoOpTaskProvider implements TaskProvider<Integer, Integer> {
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					return id;
+				}
+			};
+		}
+	}
+}
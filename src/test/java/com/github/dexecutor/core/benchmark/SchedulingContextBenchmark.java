@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dexecutor.core.DefaultDexecutor;
+import com.github.dexecutor.core.DexecutorConfig;
+import com.github.dexecutor.core.ExecutionConfig;
+import com.github.dexecutor.core.SchedulingContext;
+import com.github.dexecutor.core.task.Task;
+import com.github.dexecutor.core.task.TaskProvider;
+
+/**
+ * Measures the latency of many small (10 node) graphs, with and without timeout based tasks, when each instance
+ * creates its own retry executors and timer, and when they share one {@link SchedulingContext}.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.SchedulingContextBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class SchedulingContextBenchmark {
+
+	private static final int RUNS = 5000;
+	private static final int NODES = 10;
+
+	private SchedulingContextBenchmark() {
+
+	}
+
+	public static void main(String[] args) {
+		BenchmarkSupport.quietLogging();
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		SchedulingContext sharedContext = new SchedulingContext(Executors.defaultThreadFactory());
+		try {
+			// warm up
+			for (int i = 0; i < 3; i++) {
+				run(executorService, null, true, false);
+				run(executorService, sharedContext, true, false);
+			}
+			System.out.println(String.format("%-12s %-10s %12s", "context", "timeouts", "micros/run"));
+			for (boolean timeouts : new boolean[] {false, true}) {
+				run(executorService, null, timeouts, true);
+				run(executorService, sharedContext, timeouts, true);
+			}
+		} finally {
+			sharedContext.shutdown();
+			executorService.shutdownNow();
+		}
+	}
+
+	private static void run(ExecutorService executorService, SchedulingContext context, boolean timeouts, boolean print) {
+		long start = System.nanoTime();
+		for (int run = 0; run < RUNS; run++) {
+			DexecutorConfig<Integer, Integer> config = new DexecutorConfig<>(executorService, new NoOpTaskProvider(timeouts));
+			config.setSchedulingContext(context);
+			DefaultDexecutor<Integer, Integer> executor = new DefaultDexecutor<>(config);
+			for (int i = 1; i < NODES; i++) {
+				executor.addDependency(i / 2, i);
+			}
+			executor.execute(ExecutionConfig.TERMINATING);
+		}
+		long elapsed = System.nanoTime() - start;
+		if (print) {
+			System.out.println(String.format("%-12s %-10s %12d", context == null ? "per instance" : "shared", timeouts,
+					TimeUnit.NANOSECONDS.toMicros(elapsed) / RUNS));
+		}
+	}
+
+	private static class NoOpTaskProvider implements TaskProvider<Integer, Integer> {
+
+		private final boolean timeouts;
+
+		NoOpTaskProvider(boolean timeouts) {
+			this.timeouts = timeouts;
+		}
+
+		public Task<Integer, Integer> provideTask(final Integer id) {
+
+			return new Task<Integer, Integer>() {
+
+				private static final long serialVersionUID = 1L;
+
+				public Integer execute() {
+					return id;
+				}
+
+				@Override
+				public Duration getTimeout() {
+					return timeouts ? Duration.ofSeconds(10) : null;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.benchmark;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dexecutor.core.concurrent.HashedWheelTimer;
+
+/**
+ * Measures the cost of arming and disarming the deadlines of one million timeout based tasks, with a
+ * {@link ScheduledThreadPoolExecutor} (which timeouts were scheduled on earlier) and with the {@link HashedWheelTimer}.
+ * Deadlines are far in the future, as tasks usually finish well within their timeout.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.dexecutor.core.benchmark.TimeoutTimerBenchmark}
+ *
+ * @author Nadeem Mohammad
+ *
+ */
+public final class TimeoutTimerBenchmark {
+
+	private static final int TASKS = 1000000;
+	private static final long TIMEOUT_SECONDS = 60;
+
+	private TimeoutTimerBenchmark() {
+
+	}
+
+	public static void main(String[] args) {
+		BenchmarkSupport.quietLogging();
+		// warm up
+		scheduledExecutor(TASKS / 10, false);
+		wheelTimer(TASKS / 10, false);
+
+		System.out.println(String.format("%-22s %12s %12s %12s", "timer", "arm ns/task", "disarm ns", "heap MB"));
+		scheduledExecutor(TASKS, true);
+		wheelTimer(TASKS, true);
+	}
+
+	private static void scheduledExecutor(int tasks, boolean print) {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2, Executors.defaultThreadFactory());
+		executor.setRemoveOnCancelPolicy(true);
+		try {
+			Runnable noop = noop();
+			long heapBefore = usedHeap();
+			@SuppressWarnings("unchecked")
+			ScheduledFuture<Void>[] futures = new ScheduledFuture[tasks];
+			long start = System.nanoTime();
+			for (int i = 0; i < tasks; i++) {
+				futures[i] = (ScheduledFuture<Void>) executor.schedule(noop, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			}
+			long armed = System.nanoTime();
+			long heap = usedHeap() - heapBefore;
+			for (int i = 0; i < tasks; i++) {
+				futures[i].cancel(false);
+			}
+			long disarmed = System.nanoTime();
+			print(print, "ScheduledExecutor", tasks, start, armed, disarmed, heap);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void wheelTimer(int tasks, boolean print) {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory());
+		try {
+			Runnable noop = noop();
+			long heapBefore = usedHeap();
+			HashedWheelTimer.Timeout[] timeouts = new HashedWheelTimer.Timeout[tasks];
+			long start = System.nanoTime();
+			for (int i = 0; i < tasks; i++) {
+				timeouts[i] = timer.newTimeout(noop, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			}
+			long armed = System.nanoTime();
+			long heap = usedHeap() - heapBefore;
+			for (int i = 0; i < tasks; i++) {
+				timeouts[i].cancel();
+			}
+			long disarmed = System.nanoTime();
+			print(print, "HashedWheelTimer", tasks, start, armed, disarmed, heap);
+		} finally {
+			timer.stop();
+		}
+	}
+
+	private static void print(boolean print, String name, int tasks, long start, long armed, long disarmed, long heap) {
+		if (print) {
+			System.out.println(String.format("%-22s %12d %12d %12d", name, (armed - start) / tasks,
+					(disarmed - armed) / tasks, heap / (1024 * 1024)));
+		}
+	}
+
+	private static long usedHeap() {
+		System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static Runnable noop() {
+		return new Runnable() {
+			@Override
+			public void run() {
+
+			}
+		};
+	}
+}
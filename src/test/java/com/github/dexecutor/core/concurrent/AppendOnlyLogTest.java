@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AppendOnlyLogTest {
+
+	@Test
+	public void elementsAreReportedInInsertionOrder() {
+		AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+		for (int i = 0; i < 1000; i++) {
+			log.add(i);
+		}
+		List<Integer> elements = log.toList();
+		assertThat(elements).hasSize(1000);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(elements.get(i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void concurrentAppendsAreNotLost() throws InterruptedException {
+		AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 10000; i++) {
+			final int value = i;
+			executorService.execute(() -> log.add(value));
+		}
+		executorService.shutdown();
+		executorService.awaitTermination(10, TimeUnit.SECONDS);
+		assertThat(log.toList()).hasSize(10000);
+		assertThat(log.size()).isEqualTo(10000);
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ConcurrentBitSetTest {
+
+	@Test
+	public void setIsReportedOnlyOnce() {
+		ConcurrentBitSet bitSet = new ConcurrentBitSet(130);
+		assertThat(bitSet.set(129), equalTo(true));
+		assertThat(bitSet.set(129), equalTo(false));
+		assertThat(bitSet.get(129), equalTo(true));
+		assertThat(bitSet.get(128), equalTo(false));
+	}
+
+	@Test
+	public void clearResetsTheBits() {
+		ConcurrentBitSet bitSet = new ConcurrentBitSet(64);
+		bitSet.set(0);
+		bitSet.set(63);
+		assertThat(bitSet.cardinality(), equalTo(2));
+		assertThat(bitSet.clear(0), equalTo(true));
+		assertThat(bitSet.clear(0), equalTo(false));
+		bitSet.clear();
+		assertThat(bitSet.cardinality(), equalTo(0));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void shouldThrowIndexOutOfBoundsException() {
+		new ConcurrentBitSet(10).set(10);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GroupCommitLogTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void recordsAreRecoveredInAppendOrderAcrossGrowth() throws Exception {
+		Path path = this.folder.newFile().toPath();
+		try (GroupCommitLog log = new GroupCommitLog(path, 64)) {
+			assertThat(log.recovered()).isEmpty();
+			for (int i = 0; i < 1000; i++) {
+				log.commit(log.append(bytes("record-" + i)));
+			}
+		}
+		try (GroupCommitLog log = new GroupCommitLog(path, 64)) {
+			List<byte[]> records = log.recovered();
+			assertThat(records).hasSize(1000);
+			for (int i = 0; i < 1000; i++) {
+				assertThat(new String(records.get(i), StandardCharsets.UTF_8)).isEqualTo("record-" + i);
+			}
+			// appends continue after the recovered records
+			log.append(bytes("next"));
+		}
+		try (GroupCommitLog log = new GroupCommitLog(path, 64)) {
+			assertThat(log.recovered()).hasSize(1001);
+		}
+	}
+
+	@Test
+	public void recoveryStopsAtTornRecord() throws Exception {
+		Path path = this.folder.newFile().toPath();
+		long end;
+		try (GroupCommitLog log = new GroupCommitLog(path, 1024)) {
+			log.append(bytes("first"));
+			end = log.append(bytes("second"));
+		}
+		try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+			file.seek(end - 1);
+			file.write('X');
+		}
+		try (GroupCommitLog log = new GroupCommitLog(path, 1024)) {
+			assertThat(log.recovered()).hasSize(1);
+			assertThat(log.size()).isEqualTo(8 + "first".length());
+		}
+	}
+
+	@Test
+	public void concurrentCommitsAreNotLost() throws Exception {
+		Path path = this.folder.newFile().toPath();
+		try (GroupCommitLog log = new GroupCommitLog(path, 1024)) {
+			ExecutorService executorService = Executors.newFixedThreadPool(4);
+			for (int i = 0; i < 2000; i++) {
+				final int value = i;
+				executorService.execute(() -> log.commit(log.append(bytes(Integer.toString(value)))));
+			}
+			executorService.shutdown();
+			assertThat(executorService.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		}
+		try (GroupCommitLog log = new GroupCommitLog(path, 1024)) {
+			assertThat(log.recovered()).hasSize(2000);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyRecordsAreRejected() throws Exception {
+		try (GroupCommitLog log = new GroupCommitLog(this.folder.newFile().toPath(), 1024)) {
+			log.append(new byte[0]);
+		}
+	}
+
+	private static byte[] bytes(final String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+	@Test
+	public void shouldRunTimeoutsAfterTheirDelay() throws InterruptedException {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 1, TimeUnit.MILLISECONDS, 8);
+		try {
+			final CountDownLatch expired = new CountDownLatch(100);
+			long start = System.nanoTime();
+			for (int i = 0; i < 100; i++) {
+				// spans many rounds of the small wheel
+				timer.newTimeout(countDown(expired), 20 + i % 30, TimeUnit.MILLISECONDS);
+			}
+
+			assertThat(expired.await(5, TimeUnit.SECONDS), equalTo(true));
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 20);
+			assertThat(timer.pendingTimeouts(), equalTo(0L));
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	public void shouldNotRunCancelledTimeouts() throws InterruptedException {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 1, TimeUnit.MILLISECONDS, 8);
+		try {
+			final AtomicInteger runs = new AtomicInteger();
+			Runnable task = new Runnable() {
+				@Override
+				public void run() {
+					runs.incrementAndGet();
+				}
+			};
+			HashedWheelTimer.Timeout cancelled = timer.newTimeout(task, 20, TimeUnit.MILLISECONDS);
+			CountDownLatch expired = new CountDownLatch(1);
+			HashedWheelTimer.Timeout later = timer.newTimeout(countDown(expired), 40, TimeUnit.MILLISECONDS);
+
+			assertThat(cancelled.cancel(), equalTo(true));
+			assertThat(cancelled.cancel(), equalTo(false));
+			assertThat(expired.await(5, TimeUnit.SECONDS), equalTo(true));
+			assertThat(runs.get(), equalTo(0));
+			assertThat(later.isExpired(), equalTo(true));
+			assertThat(later.cancel(), equalTo(false));
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldRejectTimeoutsOnceStopped() {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory());
+		timer.stop();
+		timer.newTimeout(countDown(new CountDownLatch(1)), 1, TimeUnit.SECONDS);
+	}
+
+	private Runnable countDown(final CountDownLatch latch) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		};
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class PrioritizedExecutorServiceTest {
+
+	@Test
+	public void shouldRunHighestPriorityFirst() throws InterruptedException {
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		PrioritizedExecutorService<Integer> prioritized = new PrioritizedExecutorService<>(executorService, id -> id);
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final List<Integer> order = new CopyOnWriteArrayList<>();
+		try {
+			prioritized.execute(new IdentifiableRunnableFuture<Integer, Void>(100, () -> await(blocked), null));
+			for (final Integer id : Arrays.asList(1, 3, 2, 3)) {
+				prioritized.execute(new IdentifiableRunnableFuture<Integer, Void>(id, () -> order.add(id), null));
+			}
+			blocked.countDown();
+		} finally {
+			prioritized.shutdown();
+			prioritized.awaitTermination(5, TimeUnit.SECONDS);
+		}
+
+		assertThat(order, equalTo(Arrays.asList(3, 3, 2, 1)));
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ThreadPerTaskExecutorTest {
+
+	@Test
+	public void shouldTerminateOnceTasksAreDone() throws InterruptedException {
+		ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 1);
+		final CountDownLatch release = new CountDownLatch(1);
+		for (int i = 0; i < 3; i++) {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+		}
+		executor.shutdown();
+
+		assertThat(executor.isTerminated(), equalTo(false));
+		release.countDown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), equalTo(true));
+		assertThat(executor.activeCount(), equalTo(0));
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void shouldRejectAfterShutdown() {
+		ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(Executors.defaultThreadFactory());
+		executor.shutdown();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNonPositiveConcurrency() {
+		new ThreadPerTaskExecutor(Executors.defaultThreadFactory(), 0);
+	}
+}
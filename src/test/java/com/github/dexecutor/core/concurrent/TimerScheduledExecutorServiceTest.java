@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.github.dexecutor.core.ExecutionEngine;
+import com.github.dexecutor.core.ExecutionListener;
+import com.github.dexecutor.core.task.ExecutionResult;
+import com.github.dexecutor.core.task.Task;
+
+public class TimerScheduledExecutorServiceTest {
+
+	@Test
+	public void shouldRunScheduledTasksOnTheTimer() throws Exception {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 1, TimeUnit.MILLISECONDS, 8);
+		try {
+			ScheduledExecutorService scheduler = new TimerScheduledExecutorService(timer);
+			ScheduledFuture<Integer> future = scheduler.schedule(() -> 42, 10, TimeUnit.MILLISECONDS);
+
+			assertThat(future.get(5, TimeUnit.SECONDS), equalTo(42));
+			assertThat(future.getDelay(TimeUnit.NANOSECONDS) <= 0, equalTo(true));
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	public void shouldNotRunCancelledTasks() throws Exception {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 1, TimeUnit.MILLISECONDS, 8);
+		try {
+			ScheduledExecutorService scheduler = new TimerScheduledExecutorService(timer);
+			AtomicInteger runs = new AtomicInteger();
+			ScheduledFuture<?> cancelled = scheduler.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+			ScheduledFuture<?> later = scheduler.schedule(runs::incrementAndGet, 40, TimeUnit.MILLISECONDS);
+
+			assertThat(cancelled.cancel(false), equalTo(true));
+			later.get(5, TimeUnit.SECONDS);
+			assertThat(runs.get(), equalTo(1));
+			assertThat(timer.pendingTimeouts(), equalTo(0L));
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	public void enginesWhichPredateTheTimerShouldGetAScheduler() {
+		HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory());
+		LegacyExecutionEngine engine = new LegacyExecutionEngine();
+		engine.setTimeoutTimer(timer);
+
+		assertThat(engine.timeoutExecutor.get(), notNullValue());
+	}
+
+	/**
+	 * Implements the timeout scheduler only, as engines did before the timer
+	 */
+	private static final class LegacyExecutionEngine implements ExecutionEngine<Integer, Integer> {
+
+		private final AtomicReference<ScheduledExecutorService> timeoutExecutor = new AtomicReference<>();
+
+		@Override
+		public void submit(final Task<Integer, Integer> task) {
+
+		}
+
+		@Override
+		public ExecutionResult<Integer, Integer> processResult() {
+			return null;
+		}
+
+		@Override
+		public boolean isDistributed() {
+			return false;
+		}
+
+		@Override
+		public boolean isAnyTaskInError() {
+			return false;
+		}
+
+		@Override
+		public void setExecutionListener(final ExecutionListener<Integer, Integer> listener) {
+
+		}
+
+		@Override
+		@SuppressWarnings("deprecation")
+		public void setTimeoutScheduler(final ScheduledExecutorService timeoutExecutor) {
+			this.timeoutExecutor.set(timeoutExecutor);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class CompactDagTest {
+
+	@Test
+	public void testGraphIsSameAsDefaultDag() {
+		Dag<Integer, Integer> expected = new DefaultDag<Integer, Integer>();
+		Dag<Integer, Integer> graph = new CompactDag<Integer, Integer>();
+		Random random = new Random(11);
+		for (int i = 0; i < 2000; i++) {
+			int first = random.nextInt(500);
+			int later = 500 + random.nextInt(500);
+			expected.addDependency(first, later);
+			graph.addDependency(first, later);
+		}
+		expected.addIndependent(2000);
+		graph.addIndependent(2000);
+		expected.addAsDependentOnAllLeafNodes(3000);
+		graph.addAsDependentOnAllLeafNodes(3000);
+		expected.addAsDependencyToAllInitialNodes(-1);
+		graph.addAsDependencyToAllInitialNodes(-1);
+
+		assertThat(graph.size()).isEqualTo(expected.size());
+		assertThat(values(graph.getInitialNodes())).containsOnlyElementsOf(values(expected.getInitialNodes()));
+		assertThat(values(graph.getLeafNodes())).containsOnlyElementsOf(values(expected.getLeafNodes()));
+		for (Node<Integer, Integer> node : expected.allNodes()) {
+			Node<Integer, Integer> compactNode = graph.get(node.getValue());
+			assertThat(values(compactNode.getInComingNodes())).hasSameSizeAs(node.getInComingNodes()).containsOnlyElementsOf(values(node.getInComingNodes()));
+			assertThat(values(compactNode.getOutGoingNodes())).hasSameSizeAs(node.getOutGoingNodes()).containsOnlyElementsOf(values(node.getOutGoingNodes()));
+			assertThat(compactNode.getUnProcessedParentsCount()).isEqualTo(node.getUnProcessedParentsCount());
+		}
+	}
+
+	@Test
+	public void testRepeatedAndSelfDependenciesAreIgnored() {
+		Dag<Integer, Integer> graph = new CompactDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.addDependency(1, 2);
+		graph.addDependency(1, 1);
+		graph.addDependency(1, 3);
+
+		assertThat(graph.size()).isEqualTo(3);
+		assertThat(values(graph.get(1).getOutGoingNodes())).containsExactly(2, 3);
+		assertThat(graph.get(1).getInComingNodes()).isEmpty();
+		assertThat(values(graph.get(2).getInComingNodes())).containsExactly(1);
+		assertThat(graph.get(4)).isNull();
+	}
+
+	@Test
+	public void testNonProcessedRootNodes() {
+		Dag<Integer, Integer> graph = new CompactDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.addDependency(1, 3);
+		graph.addDependency(2, 4);
+		graph.addDependency(3, 4);
+		graph.addIndependent(5);
+
+		graph.get(1).setSuccess();
+		graph.get(2).setSuccess();
+
+		assertThat(values(graph.getNonProcessedRootNodes())).containsExactlyInAnyOrder(3, 5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCycleIsDetected() {
+		Dag<Integer, Integer> graph = new CompactDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.addDependency(2, 3);
+		graph.addDependency(3, 1);
+		new CyclicValidator<Integer, Integer>().validate(graph);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNodesCanNotBeAddedOnceRead() {
+		Dag<Integer, Integer> graph = new CompactDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.getInitialNodes();
+		graph.addDependency(2, 3);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testEdgesAreReadOnly() {
+		Dag<Integer, Integer> graph = new CompactDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.get(1).addOutGoingNode(new Node<Integer, Integer>(3));
+	}
+
+	private List<Integer> values(final Collection<Node<Integer, Integer>> nodes) {
+		List<Integer> values = new ArrayList<>();
+		for (Node<Integer, Integer> node : nodes) {
+			values.add(node.getValue());
+		}
+		return values;
+	}
+}
@@ -217,4 +217,33 @@ public class DefaultDagTest {
 		assertThat(initialNodes.size()).isEqualTo(2);
 		assertThat(initialNodes).containsSequence(new Node<Integer, Integer>(2), new Node<Integer, Integer>(3));
 	}
+
+	@Test
+	public void testNullNodeId() {
+		Dag<Integer, Integer> graph = new DefaultDag<Integer, Integer>();
+		graph.addIndependent(null);
+		graph.addIndependent(1);
+
+		assertThat(graph.size()).isEqualTo(2);
+		assertThat(graph.get(null)).isNotNull();
+	}
+
+	@Test
+	public void testNodesAreAddedAfterConcurrentReadsAreEnabled() {
+		Dag<Integer, Integer> graph = new DefaultDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.enableConcurrentReads();
+		graph.addDependency(2, 3);
+
+		assertThat(graph.size()).isEqualTo(3);
+		assertThat(graph.get(3).getIndex()).isEqualTo(2);
+		assertThat(graph.getInitialNodes()).containsExactly(graph.get(1));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testConcurrentReadsWithNullNodeIdShouldThrowException() {
+		Dag<Integer, Integer> graph = new DefaultDag<Integer, Integer>();
+		graph.addIndependent(null);
+		graph.enableConcurrentReads();
+	}
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class LinearChainDetectorTest {
+
+	@Test
+	public void shouldDetectMaximalChains() {
+		Dag<Integer, Integer> graph = new DefaultDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.addDependency(2, 3);
+		graph.addDependency(3, 4);
+		graph.addDependency(3, 5);
+		graph.addDependency(5, 6);
+		graph.addDependency(6, 7);
+		graph.addDependency(4, 7);
+
+		LinearChainDetector<Integer, Integer> detector = new LinearChainDetector<Integer, Integer>();
+		detector.validate(graph);
+		Map<Integer, List<Node<Integer, Integer>>> chains = detector.getChains();
+
+		assertThat(chains).containsOnlyKeys(1, 5);
+		assertThat(chains.get(1)).containsExactly(new Node<Integer, Integer>(1), new Node<Integer, Integer>(2),
+				new Node<Integer, Integer>(3));
+		assertThat(chains.get(5)).containsExactly(new Node<Integer, Integer>(5), new Node<Integer, Integer>(6));
+	}
+
+	@Test
+	public void shouldNotDetectChainsInFanOut() {
+		Dag<Integer, Integer> graph = new DefaultDag<Integer, Integer>();
+		graph.addDependency(1, 2);
+		graph.addDependency(1, 3);
+		graph.addIndependent(4);
+
+		LinearChainDetector<Integer, Integer> detector = new LinearChainDetector<Integer, Integer>();
+		detector.validate(graph);
+
+		assertThat(detector.getChains()).isEmpty();
+	}
+}
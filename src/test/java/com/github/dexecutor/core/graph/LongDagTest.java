@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class LongDagTest {
+
+	@Test
+	public void testPrimitiveAndBoxedIdsBuildTheSameGraph() {
+		LongDag<Integer> graph = new LongDag<Integer>();
+		graph.addDependency(1L << 40, 2);
+		graph.addDependency(Long.valueOf(1L << 40), Long.valueOf(3));
+		graph.addDependency(2, 4);
+		graph.addDependency(3, 4);
+		graph.addIndependent(-5);
+		graph.addAsDependentOnAllLeafNodes(6L);
+		graph.addAsDependencyToAllInitialNodes(0L);
+
+		assertThat(graph.size()).isEqualTo(7);
+		assertThat(values(graph.getInitialNodes())).containsExactly(0L);
+		assertThat(values(graph.getLeafNodes())).containsExactly(6L);
+		assertThat(values(graph.get(1L << 40).getOutGoingNodes())).containsExactly(2L, 3L);
+		assertThat(values(graph.get(Long.valueOf(6)).getInComingNodes())).containsOnly(4L, -5L);
+		assertThat(graph.get(7)).isNull();
+		assertThat(graph.get((Long) null)).isNull();
+	}
+
+	@Test
+	public void testIdsAreBoxedOncePerNode() {
+		LongDag<Integer> graph = new LongDag<Integer>();
+		graph.addDependency(1000, 2000);
+
+		assertThat(graph.get(1000).getValue()).isSameAs(graph.get(Long.valueOf(1000)).getValue());
+		assertThat(graph.get(2000).getInComingNodes().iterator().next()).isSameAs(graph.get(1000));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNodesCanNotBeAddedOnceRead() {
+		LongDag<Integer> graph = new LongDag<Integer>();
+		graph.addDependency(1, 2);
+		graph.get(1);
+		graph.addIndependent(3);
+	}
+
+	private List<Long> values(final Collection<Node<Long, Integer>> nodes) {
+		List<Long> values = new ArrayList<>();
+		for (Node<Long, Integer> node : nodes) {
+			values.add(node.getValue());
+		}
+		return values;
+	}
+}
@@ -67,4 +67,25 @@ public class NodeTest {
 		assertThat(node.isSuccess(), equalTo(false));
 	}
 
+	@Test
+	public void testUnProcessedParentsCount() {
+		Node<Integer, Integer> node = new  Node<Integer, Integer>(1);
+		node.addInComingNode(new Node<Integer, Integer>(2));
+		node.addInComingNode(new Node<Integer, Integer>(2));
+		node.addInComingNode(new Node<Integer, Integer>(3));
+		assertThat(node.getUnProcessedParentsCount(), equalTo(2));
+		assertThat(node.onParentProcessed(), equalTo(1));
+		assertThat(node.onParentProcessed(), equalTo(0));
+	}
+
+	@Test
+	public void testUnConsumedChildrenCount() {
+		Node<Integer, Integer> node = new Node<Integer, Integer>(1);
+		Node<Integer, Integer> child = new Node<Integer, Integer>(2);
+		node.addOutGoingNode(child);
+		node.addOutGoingNode(child);
+		node.addOutGoingNode(new Node<Integer, Integer>(3));
+		assertThat(node.onChildConsumed(), equalTo(1));
+		assertThat(node.onChildConsumed(), equalTo(0));
+	}
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dexecutor.core.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class LongIndexMapTest {
+
+	@Test
+	public void testKeysAreIndexedInOrderOfAddition() {
+		LongIndexMap map = new LongIndexMap();
+		long[] keys = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, 42};
+		for (int i = 0; i < keys.length; i++) {
+			assertThat(map.addOrGet(keys[i])).isEqualTo(i);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			assertThat(map.addOrGet(keys[i])).isEqualTo(i);
+			assertThat(map.indexOf(keys[i])).isEqualTo(i);
+			assertThat(map.keyAt(i)).isEqualTo(keys[i]);
+		}
+		assertThat(map.size()).isEqualTo(keys.length);
+		assertThat(map.indexOf(7)).isEqualTo(-1);
+	}
+
+	@Test
+	public void testMapIsSameAsHashMapWhileGrowing() {
+		LongIndexMap map = new LongIndexMap();
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(3);
+		for (int i = 0; i < 100000; i++) {
+			// sequential, strided and random keys
+			long key = i % 3 == 0 ? i : i % 3 == 1 ? (long) i << 20 : random.nextLong();
+			Integer index = expected.get(key);
+			if (index == null) {
+				index = expected.size();
+				expected.put(key, index);
+			}
+			assertThat(map.addOrGet(key)).isEqualTo(index);
+		}
+		assertThat(map.size()).isEqualTo(expected.size());
+		for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+			assertThat(map.indexOf(entry.getKey())).isEqualTo(entry.getValue());
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testKeyAtUnknownIndexShouldThrowException() {
+		LongIndexMap map = new LongIndexMap();
+		map.addOrGet(1);
+		map.keyAt(1);
+	}
+}
@@ -13,7 +13,7 @@ public class TestUtil {
 
 	public static Collection<Node<Integer, Integer>> processedNodesOrder(DefaultDexecutor<Integer, Integer> executor) {
 		DefaultDexecutorState<Integer, Integer> state = Deencapsulation.getField(executor, "state");
-		return Deencapsulation.getField(state, "processedNodes");
+		return state.getProcessedNodes();
 	}
 	
 	public static Dag<Integer, Integer> getGraph(DefaultDexecutor<Integer, Integer> executor) {
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.dexecutor.core.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author Nadeem Mohammad
+ *
+ */
+public class BackoffRetryPolicyTest {
+
+	@Test
+	public void fixedDelayIsSameForEveryRetry() {
+		BackoffRetryPolicy policy = BackoffRetryPolicy.fixed(2, Duration.ofMillis(5));
+		assertThat(policy.nextDelay(1, Duration.ZERO, null)).isEqualTo(Duration.ofMillis(5));
+		assertThat(policy.nextDelay(2, Duration.ZERO, Duration.ofMillis(5))).isEqualTo(Duration.ofMillis(5));
+		assertThat(policy.nextDelay(3, Duration.ZERO, Duration.ofMillis(5))).isNull();
+	}
+
+	@Test
+	public void exponentialDelayDoublesUpToTheMaxDelay() {
+		BackoffRetryPolicy policy = BackoffRetryPolicy.exponential(100, Duration.ofMillis(10), Duration.ofMillis(50));
+		assertThat(policy.nextDelay(1, Duration.ZERO, null)).isEqualTo(Duration.ofMillis(10));
+		assertThat(policy.nextDelay(2, Duration.ZERO, null)).isEqualTo(Duration.ofMillis(20));
+		assertThat(policy.nextDelay(3, Duration.ZERO, null)).isEqualTo(Duration.ofMillis(40));
+		assertThat(policy.nextDelay(4, Duration.ZERO, null)).isEqualTo(Duration.ofMillis(50));
+		assertThat(policy.nextDelay(100, Duration.ZERO, null)).isEqualTo(Duration.ofMillis(50));
+	}
+
+	@Test
+	public void jitteredDelayIsBetweenBaseAndThricePrevious() {
+		BackoffRetryPolicy policy = BackoffRetryPolicy.decorrelatedJitter(1000, Duration.ofMillis(10), Duration.ofSeconds(1));
+		Duration previous = null;
+		for (int failures = 1; failures <= 1000; failures++) {
+			Duration delay = policy.nextDelay(failures, Duration.ZERO, previous);
+			long upper = Math.min(previous == null ? Duration.ofMillis(30).toNanos() : previous.toNanos() * 3, Duration.ofSeconds(1).toNanos());
+			assertThat(delay.toNanos()).isBetween(Duration.ofMillis(10).toNanos(), upper);
+			previous = delay;
+		}
+	}
+
+	@Test
+	public void shouldNotRetryOnceMaxElapsedIsExceeded() {
+		BackoffRetryPolicy policy = BackoffRetryPolicy.fixed(10, Duration.ofMillis(5)).withMaxElapsed(Duration.ofSeconds(1));
+		assertThat(policy.nextDelay(1, Duration.ofMillis(999), null)).isNotNull();
+		assertThat(policy.nextDelay(1, Duration.ofMillis(1001), null)).isNull();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldNotAllowMaxDelayLessThanBaseDelay() {
+		BackoffRetryPolicy.exponential(1, Duration.ofSeconds(2), Duration.ofSeconds(1));
+	}
+}